@@ -0,0 +1,91 @@
+package com.example.hrcore.benchmark;
+
+import com.example.hrcore.dto.AbsenceRequestFilterDto;
+import com.example.hrcore.entity.AbsenceRequest;
+import com.example.hrcore.entity.User;
+import com.example.hrcore.entity.enums.AbsenceRequestStatus;
+import com.example.hrcore.entity.enums.AbsenceRequestType;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.specification.AbsenceRequestSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Criteria predicate building for the absence request search, without executing the query.
+ * Uses a Hibernate session factory over an in-memory H2 database so the metamodel matches production.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AbsenceRequestSpecificationBenchmark {
+
+    @Param({"none", "typical", "all"})
+    public String filters;
+
+    @Param({"EMPLOYEE", "MANAGER"})
+    public UserRole role;
+
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder criteriaBuilder;
+    private AbsenceRequestFilterDto filterDto;
+    private final UUID currentUserId = UUID.randomUUID();
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(AbsenceRequest.class)
+                .setProperty("hibernate.connection.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1")
+                .setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect")
+                .setProperty("hibernate.boot.allow_jdbc_metadata_access", "false")
+                .setProperty("hibernate.hbm2ddl.auto", "none")
+                .buildSessionFactory();
+        criteriaBuilder = sessionFactory.getCriteriaBuilder();
+        filterDto = switch (filters) {
+            case "none" -> null;
+            case "typical" -> AbsenceRequestFilterDto.builder()
+                    .status(AbsenceRequestStatus.PENDING)
+                    .startDateFrom(LocalDate.of(2025, 1, 1))
+                    .build();
+            default -> AbsenceRequestFilterDto.builder()
+                    .search("Family")
+                    .userId(UUID.randomUUID())
+                    .status(AbsenceRequestStatus.APPROVED)
+                    .type(AbsenceRequestType.VACATION)
+                    .startDateFrom(LocalDate.of(2025, 1, 1))
+                    .startDateTo(LocalDate.of(2025, 12, 31))
+                    .endDateFrom(LocalDate.of(2025, 1, 1))
+                    .endDateTo(LocalDate.of(2025, 12, 31))
+                    .approverId(UUID.randomUUID())
+                    .createdById(UUID.randomUUID())
+                    .managerId(UUID.randomUUID())
+                    .hasRejectionReason(false)
+                    .build();
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    public Predicate withFilters() {
+        CriteriaQuery<AbsenceRequest> query = criteriaBuilder.createQuery(AbsenceRequest.class);
+        Root<AbsenceRequest> root = query.from(AbsenceRequest.class);
+        return AbsenceRequestSpecification.withFilters(filterDto, currentUserId, role)
+                .toPredicate(root, query, criteriaBuilder);
+    }
+}
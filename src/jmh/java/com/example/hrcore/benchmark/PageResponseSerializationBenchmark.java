@@ -0,0 +1,76 @@
+package com.example.hrcore.benchmark;
+
+import com.example.hrcore.dto.NamedUserDto;
+import com.example.hrcore.dto.PageResponse;
+import com.example.hrcore.dto.UserDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a paged profile search response, the largest payload on the hot path.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PageResponse<UserDto> page;
+
+    @Setup
+    public void setUp() {
+        // Same modules Spring Boot registers on its ObjectMapper (JavaTimeModule, Jdk8Module, ...)
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+        NamedUserDto manager = NamedUserDto.builder()
+                .id(UUID.randomUUID())
+                .firstName("Jane")
+                .lastName("Manager")
+                .email("jane.manager@hrcore.com")
+                .build();
+        List<UserDto> content = new ArrayList<>();
+        for (int i = 0; i < pageSize; i++) {
+            content.add(UserDto.builder()
+                    .id(UUID.randomUUID())
+                    .firstName("Employee" + i)
+                    .lastName("Surname" + i)
+                    .email("employee" + i + "@hrcore.com")
+                    .phone("+40 721 000 000")
+                    .department("Engineering")
+                    .role("EMPLOYEE")
+                    .managerId(manager.getId())
+                    .manager(manager)
+                    .createdAt(LocalDateTime.of(2024, 1, 15, 9, 0))
+                    .updatedAt(LocalDateTime.of(2025, 3, 1, 12, 30))
+                    .build());
+        }
+        page = PageResponse.<UserDto>builder()
+                .content(content)
+                .page(0)
+                .size(pageSize)
+                .totalElements(1000)
+                .totalPages(1000 / pageSize)
+                .first(true)
+                .last(false)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.hrcore.benchmark;
+
+import com.example.hrcore.util.SanitizationUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sanitization of free-text fields such as feedback content and absence reasons.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SanitizationBenchmark {
+
+    @Param({"plain", "markup"})
+    public String shape;
+
+    private String input;
+
+    @Setup
+    public void setUp() {
+        String sentence = "Great collaboration on the Q3 release, always helpful in code reviews. ";
+        String markup = "<b>Great</b> collaboration on the \"Q3\" release & <script>alert('x');</script> reviews; ";
+        input = ("plain".equals(shape) ? sentence : markup).repeat(8);
+    }
+
+    @Benchmark
+    public String sanitizeForHtml() {
+        return SanitizationUtils.sanitizeForHtml(input);
+    }
+
+    @Benchmark
+    public String sanitizeForJavaScript() {
+        return SanitizationUtils.sanitizeForJavaScript(input);
+    }
+
+    @Benchmark
+    public String sanitizeForSql() {
+        return SanitizationUtils.sanitizeForSql(input);
+    }
+}
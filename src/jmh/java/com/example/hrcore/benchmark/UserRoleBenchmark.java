@@ -0,0 +1,27 @@
+package com.example.hrcore.benchmark;
+
+import com.example.hrcore.entity.enums.UserRole;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Role parsing is used for every role claim and request parameter that names a role.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserRoleBenchmark {
+
+    @Param({"SUPER_ADMIN", "employee", "unknown"})
+    public String input;
+
+    @Benchmark
+    public Optional<UserRole> fromString() {
+        return UserRole.fromString(input);
+    }
+}
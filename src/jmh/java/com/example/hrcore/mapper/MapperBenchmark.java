@@ -0,0 +1,106 @@
+package com.example.hrcore.mapper;
+
+import com.example.hrcore.dto.AbsenceRequestDto;
+import com.example.hrcore.dto.UserDto;
+import com.example.hrcore.entity.AbsenceRequest;
+import com.example.hrcore.entity.User;
+import com.example.hrcore.entity.enums.AbsenceRequestStatus;
+import com.example.hrcore.entity.enums.AbsenceRequestType;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MapStruct entity-to-DTO mapping for a page of results.
+ * The absence request mapper resolves user names through {@link UserRepository}; it is stubbed
+ * here so the numbers show the mapping cost alone, not database latency.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private UserMapper userMapper;
+    private AbsenceRequestMapper absenceRequestMapper;
+    private List<User> users;
+    private List<AbsenceRequest> absenceRequests;
+
+    @Setup
+    public void setUp() {
+        User manager = user("Jane", "Manager", UserRole.MANAGER, null);
+        users = new ArrayList<>();
+        absenceRequests = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            User employee = user("Employee" + i, "Surname" + i, UserRole.EMPLOYEE, manager);
+            users.add(employee);
+            absenceRequests.add(AbsenceRequest.builder()
+                    .id((long) i)
+                    .userId(employee.getId())
+                    .startDate(LocalDate.of(2025, 7, 1))
+                    .endDate(LocalDate.of(2025, 7, 14))
+                    .reason("Summer vacation")
+                    .type(AbsenceRequestType.VACATION)
+                    .status(AbsenceRequestStatus.APPROVED)
+                    .approverId(manager.getId())
+                    .createdById(employee.getId())
+                    .build());
+        }
+
+        userMapper = new UserMapperImpl();
+        absenceRequestMapper = new AbsenceRequestMapperImpl();
+        absenceRequestMapper.userRepository = stubUserRepository(manager);
+    }
+
+    @Benchmark
+    public List<UserDto> userToDtoList() {
+        return userMapper.toDtoList(users);
+    }
+
+    @Benchmark
+    public List<AbsenceRequestDto> absenceRequestToDtoList() {
+        return absenceRequestMapper.toDtoList(absenceRequests);
+    }
+
+    private static User user(String firstName, String lastName, UserRole role, User manager) {
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .email(firstName.toLowerCase() + "." + lastName.toLowerCase() + "@hrcore.com")
+                .firstName(firstName)
+                .lastName(lastName)
+                .phone("+40 721 000 000")
+                .department("Engineering")
+                .role(role)
+                .build();
+        user.setManager(manager);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 15, 9, 0));
+        user.setUpdatedAt(LocalDateTime.of(2025, 3, 1, 12, 30));
+        return user;
+    }
+
+    private static UserRepository stubUserRepository(User user) {
+        Optional<User> found = Optional.of(user);
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if ("findById".equals(method.getName())) {
+                        return found;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.hrcore.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JTI extraction runs on every authenticated request before the token lookup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExtractJtiBenchmark {
+
+    private String keycloakToken;
+    private String tokenWithoutJti;
+
+    @Setup
+    public void setUp() {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header = encoder.encodeToString("{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"hrcore-key\"}"
+                .getBytes(StandardCharsets.UTF_8));
+        // Shaped like a Keycloak access token: the jti sits after the time claims
+        String payload = "{\"exp\":1893456000,\"iat\":1893452400,\"jti\":\"" + UUID.randomUUID() + "\","
+                + "\"iss\":\"http://localhost:8180/realms/hrcore\",\"aud\":\"account\","
+                + "\"sub\":\"" + UUID.randomUUID() + "\",\"typ\":\"Bearer\",\"azp\":\"hrcore-client\","
+                + "\"realm_access\":{\"roles\":[\"offline_access\",\"uma_authorization\",\"MANAGER\"]},"
+                + "\"scope\":\"openid email profile\",\"email_verified\":true,"
+                + "\"preferred_username\":\"jane.manager@hrcore.com\",\"email\":\"jane.manager@hrcore.com\"}";
+        String signature = encoder.encodeToString(new byte[256]);
+
+        keycloakToken = header + "." + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + "." + signature;
+        tokenWithoutJti = header + "." + encoder.encodeToString("{\"sub\":\"anonymous\"}".getBytes(StandardCharsets.UTF_8))
+                + "." + signature;
+    }
+
+    @Benchmark
+    public String keycloakToken() {
+        return JwtAuthenticationFilter.extractJti(keycloakToken);
+    }
+
+    @Benchmark
+    public String tokenWithoutJti() {
+        return JwtAuthenticationFilter.extractJti(tokenWithoutJti);
+    }
+}
@@ -1,42 +1,158 @@
 package com.example.hrcore.aspect;
 
+import com.example.hrcore.metrics.RequestMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
-import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletResponse;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every controller call as {@code api.request} and breaks it down into SQL statements, DB time,
+ * Redis time and remote HTTP time ({@code api.request.sql.statements}, {@code api.request.db},
+ * {@code api.request.redis}, {@code api.request.remote}), all tagged by class and method.
+ * The same breakdown is returned in a {@code Server-Timing} header and left in the
+ * {@link RequestMetrics#REQUEST_ATTRIBUTE} request attribute for the slow-request log.
+ * <p>
+ * The breakdown is collected from {@link com.example.hrcore.metrics.RequestMetricsFilter} on, so it includes
+ * the security filters and interceptors that run before the controller; calls made after the controller
+ * returns are not counted. Outside an HTTP request the aspect collects around the controller call itself.
+ * <p>
+ * Meters are built once per endpoint and cached. Request timers publish a percentile histogram and
+ * the SLO buckets from {@code metrics.api.slo-boundaries}.
+ */
 @Aspect
 @Component
-@RequiredArgsConstructor
 public class MetricsAspect {
 
+    private static final double[] SQL_STATEMENT_BUCKETS = {1, 5, 10, 25, 50, 100};
+
+    /** Set while a controller call is being timed, so nested controller calls are not recorded twice. */
+    private static final ThreadLocal<Boolean> TIMING = new ThreadLocal<>();
+
     private final MeterRegistry meterRegistry;
+    private final Duration[] sloBoundaries;
+    private final boolean percentileHistogram;
+    private final Map<EndpointKey, EndpointMeters> meters = new ConcurrentHashMap<>();
+
+    public MetricsAspect(MeterRegistry meterRegistry,
+                         @Value("${metrics.api.slo-boundaries:50ms,100ms,250ms,500ms,1s,2s,5s}") Duration[] sloBoundaries,
+                         @Value("${metrics.api.percentile-histogram:true}") boolean percentileHistogram) {
+        this.meterRegistry = meterRegistry;
+        this.sloBoundaries = sloBoundaries;
+        this.percentileHistogram = percentileHistogram;
+    }
 
     @Around("@within(org.springframework.web.bind.annotation.RestController)")
     public Object recordMetrics(ProceedingJoinPoint joinPoint) throws Throwable {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        
-        Timer.Sample sample = Timer.start(meterRegistry);
-        
+        EndpointMeters endpoint = meters.computeIfAbsent(
+                new EndpointKey(joinPoint.getTarget().getClass().getSimpleName(), joinPoint.getSignature().getName()),
+                this::createMeters);
+
+        if (TIMING.get() != null) {
+            return joinPoint.proceed();
+        }
+        RequestMetrics current = RequestMetrics.current();
+        RequestMetrics breakdown = current != null ? current : RequestMetrics.begin();
+        TIMING.set(Boolean.TRUE);
+        long start = System.nanoTime();
+        boolean success = false;
         try {
             Object result = joinPoint.proceed();
-            sample.stop(Timer.builder("api.request")
-                    .tag("class", className)
-                    .tag("method", methodName)
-                    .tag("status", "success")
-                    .register(meterRegistry));
+            success = true;
             return result;
-        } catch (Exception e) {
-            sample.stop(Timer.builder("api.request")
-                    .tag("class", className)
-                    .tag("method", methodName)
-                    .tag("status", "error")
-                    .register(meterRegistry));
-            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            TIMING.remove();
+            if (current == null) {
+                RequestMetrics.end();
+            }
+            endpoint.record(elapsed, success, breakdown);
+            publish(elapsed, breakdown);
+        }
+    }
+
+    private EndpointMeters createMeters(EndpointKey key) {
+        return new EndpointMeters(
+                requestTimer(key, "success"),
+                requestTimer(key, "error"),
+                DistributionSummary.builder("api.request.sql.statements")
+                        .description("SQL statements executed per request")
+                        .tag("class", key.className())
+                        .tag("method", key.methodName())
+                        .serviceLevelObjectives(SQL_STATEMENT_BUCKETS)
+                        .register(meterRegistry),
+                breakdownTimer("api.request.db", "Time spent executing SQL per request", key),
+                breakdownTimer("api.request.redis", "Time spent in Redis per request", key),
+                breakdownTimer("api.request.remote", "Time spent in outgoing HTTP calls per request", key));
+    }
+
+    private Timer requestTimer(EndpointKey key, String status) {
+        return Timer.builder("api.request")
+                .tag("class", key.className())
+                .tag("method", key.methodName())
+                .tag("status", status)
+                .publishPercentileHistogram(percentileHistogram)
+                .serviceLevelObjectives(sloBoundaries)
+                .register(meterRegistry);
+    }
+
+    private Timer breakdownTimer(String name, String description, EndpointKey key) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("class", key.className())
+                .tag("method", key.methodName())
+                .publishPercentileHistogram(percentileHistogram)
+                .register(meterRegistry);
+    }
+
+    private static void publish(long elapsedNanos, RequestMetrics breakdown) {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return;
+        }
+        attributes.getRequest().setAttribute(RequestMetrics.REQUEST_ATTRIBUTE, breakdown);
+        HttpServletResponse response = attributes.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        response.addHeader("Server-Timing", String.format(Locale.ROOT,
+                "db;dur=%.1f;desc=\"%d statements\", redis;dur=%.1f, remote;dur=%.1f, app;dur=%.1f",
+                millis(breakdown.getDbNanos()), breakdown.getSqlStatements(),
+                millis(breakdown.getRedisNanos()), millis(breakdown.getRemoteNanos()), millis(elapsedNanos)));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record EndpointKey(String className, String methodName) {
+    }
+
+    private record EndpointMeters(Timer success,
+                                  Timer error,
+                                  DistributionSummary sqlStatements,
+                                  Timer db,
+                                  Timer redis,
+                                  Timer remote) {
+
+        void record(long elapsedNanos, boolean successful, RequestMetrics breakdown) {
+            (successful ? success : error).record(elapsedNanos, TimeUnit.NANOSECONDS);
+            sqlStatements.record(breakdown.getSqlStatements());
+            db.record(breakdown.getDbNanos(), TimeUnit.NANOSECONDS);
+            redis.record(breakdown.getRedisNanos(), TimeUnit.NANOSECONDS);
+            remote.record(breakdown.getRemoteNanos(), TimeUnit.NANOSECONDS);
         }
     }
 }
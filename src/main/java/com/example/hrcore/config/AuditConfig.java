@@ -1,16 +1,22 @@
 package com.example.hrcore.config;
 
+import com.example.hrcore.entity.DeletedRecordListener;
 import com.example.hrcore.security.SecurityUtils;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.jdbc.core.JdbcTemplate;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import java.util.UUID;
 
 @Configuration
-@EnableJpaAuditing(auditorAwareRef = "auditorProvider")
+@EnableJpaAuditing(auditorAwareRef = "auditorProvider", dateTimeProviderRef = "auditingDateTimeProvider")
 public class AuditConfig {
 
     @Bean
@@ -23,4 +29,22 @@ public class AuditConfig {
             }
         };
     }
+
+    /**
+     * Audit timestamps at the database's microsecond precision, so an entity's in-memory
+     * {@code updatedAt} equals the stored one and can be used as a change feed cursor.
+     */
+    @Bean
+    public DateTimeProvider auditingDateTimeProvider() {
+        return () -> Optional.of(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+    }
+
+    /**
+     * Hands the listener that writes deletion tombstones its {@link JdbcTemplate}; Hibernate creates
+     * entity listeners without constructor arguments.
+     */
+    @Bean
+    public InitializingBean deletedRecordListenerBinding(JdbcTemplate jdbcTemplate) {
+        return () -> DeletedRecordListener.bind(jdbcTemplate);
+    }
 }
@@ -1,9 +1,12 @@
 package com.example.hrcore.config;
 
+import com.example.hrcore.dto.TeamCalendarDto;
+import com.example.hrcore.metrics.TimedCacheManager;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
@@ -16,6 +19,7 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -66,8 +70,14 @@ public class CacheConfig {
         return template;
     }
 
+    /**
+     * Redis-backed caches. Setting {@code spring.cache.type} to anything else (e.g. caffeine)
+     * falls back to Spring Boot's cache auto-configuration, for running without Redis.
+     * Cache calls are timed into the per-request Redis time.
+     */
     @Bean
     @Primary
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis", matchIfMissing = true)
     public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
                                       ObjectMapper redisObjectMapper) {
         GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(redisObjectMapper);
@@ -91,16 +101,32 @@ public class CacheConfig {
         // Absence requests - cache for 10 minutes (frequently updated)
         cacheConfigurations.put("absenceRequests", defaultConfig.entryTtl(Duration.ofMinutes(10)));
         
+        // Team calendar months - evicted when a request in them changes or a reporting line changes
+        cacheConfigurations.put("teamCalendar", teamCalendarConfig(defaultConfig, redisObjectMapper));
+        
         // Manager relationships - cache for 1 hour (rarely changes)
         cacheConfigurations.put("managerReports", defaultConfig.entryTtl(Duration.ofHours(1)));
         
         // Permissions - cache for 5 minutes (security-sensitive)
         cacheConfigurations.put("permissions", defaultConfig.entryTtl(Duration.ofMinutes(5)));
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(cacheConfigurations)
                 .transactionAware()
                 .build();
+        redisCacheManager.afterPropertiesSet();
+        return new TimedCacheManager(redisCacheManager);
+    }
+
+    /**
+     * The generic serializer writes no type information, so it reads entries back as maps. Team calendar
+     * months are always a {@link TeamCalendarDto}, so their values use a serializer bound to that type.
+     */
+    static RedisCacheConfiguration teamCalendarConfig(RedisCacheConfiguration defaultConfig, ObjectMapper redisObjectMapper) {
+        Jackson2JsonRedisSerializer<TeamCalendarDto> serializer =
+                new Jackson2JsonRedisSerializer<>(redisObjectMapper, TeamCalendarDto.class);
+        return defaultConfig.entryTtl(Duration.ofMinutes(10))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(serializer));
     }
 }
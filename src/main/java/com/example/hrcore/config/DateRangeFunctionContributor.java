@@ -0,0 +1,31 @@
+package com.example.hrcore.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers {@code date_range_overlaps(start, end, otherStart, otherEnd)} for JPQL: true when the two
+ * inclusive date ranges share at least one day.
+ * <p>
+ * On PostgreSQL it renders as {@code daterange(..., '[]') && daterange(..., '[]')}, the expression indexed by
+ * the {@code absence_requests_no_overlap} exclusion constraint (V13), so overlap queries use its GiST index.
+ * Other databases (H2 in tests) get the equivalent pair of comparisons.
+ * Registered through {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class DateRangeFunctionContributor implements FunctionContributor {
+
+    public static final String OVERLAPS = "date_range_overlaps";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        String pattern = functionContributions.getDialect() instanceof PostgreSQLDialect
+                ? "(daterange(?1, ?2, '[]') && daterange(?3, ?4, '[]'))"
+                : "(?1 <= ?4 and ?2 >= ?3)";
+        functionContributions.getFunctionRegistry().registerPattern(
+                OVERLAPS,
+                pattern,
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.hrcore.config;
+
+import com.example.hrcore.notification.NotificationBroker;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Subscribes this node to the notification channel, so events raised on any replica reach the
+ * SSE connections held here. The container is not started with the context, so an unreachable Redis
+ * does not stop the application; {@link com.example.hrcore.notification.NotificationSubscriber} starts it
+ * once Redis answers. After that the container re-subscribes on its own after a Redis outage.
+ */
+@Configuration
+@ConditionalOnProperty(name = "notifications.redis.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationConfig {
+
+    @Bean
+    public RedisMessageListenerContainer notificationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       NotificationBroker broker) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer() {
+            @Override
+            public boolean isAutoStartup() {
+                return false;
+            }
+        };
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(broker, new ChannelTopic(broker.getChannel()));
+        return container;
+    }
+}
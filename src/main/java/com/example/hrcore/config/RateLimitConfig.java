@@ -1,29 +1,62 @@
 package com.example.hrcore.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
-import org.springframework.context.annotation.Bean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Node-local rate limit buckets, keyed by client.
+ * The registry is bounded: at most {@code rate-limit.max-clients} buckets are kept and
+ * a bucket idle for {@code rate-limit.idle-expiry-ms} is dropped. The idle expiry is never
+ * shorter than the refill period, so an evicted client would have had a full bucket anyway.
+ */
 @Configuration
+@Getter
 public class RateLimitConfig {
 
-    @Bean
-    public Map<String, Bucket> rateLimitBuckets() {
-        return new ConcurrentHashMap<>();
+    private final long capacity;
+    private final long refillPeriodMs;
+    private final Cache<String, Bucket> rateLimitBuckets;
+
+    public RateLimitConfig(
+            @Value("${rate-limit.capacity:100}") long capacity,
+            @Value("${rate-limit.refill-period-ms:60000}") long refillPeriodMs,
+            @Value("${rate-limit.max-clients:100000}") long maxClients,
+            @Value("${rate-limit.idle-expiry-ms:120000}") long idleExpiryMs,
+            MeterRegistry meterRegistry) {
+        this.capacity = capacity;
+        this.refillPeriodMs = refillPeriodMs;
+        this.rateLimitBuckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofMillis(Math.max(idleExpiryMs, refillPeriodMs)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rateLimitBuckets, "rateLimitBuckets");
     }
 
     public Bucket resolveBucket(String key) {
-        return rateLimitBuckets().computeIfAbsent(key, k -> createNewBucket());
+        return resolveBucket(key, capacity, refillPeriodMs);
+    }
+
+    /**
+     * Bucket for a client whose tier has its own quota. The capacity only applies when the
+     * bucket is created; an existing bucket keeps its size until it is evicted.
+     */
+    public Bucket resolveBucket(String key, long capacity, long refillPeriodMs) {
+        return rateLimitBuckets.get(key, k -> createNewBucket(capacity, refillPeriodMs));
     }
 
-    private Bucket createNewBucket() {
-        Bandwidth limit = Bandwidth.classic(100, Refill.intervally(100, Duration.ofMinutes(1)));
+    private static Bucket createNewBucket(long capacity, long refillPeriodMs) {
+        Bandwidth limit = Bandwidth.classic(capacity, Refill.intervally(capacity, Duration.ofMillis(refillPeriodMs)));
         return Bucket.builder()
                 .addLimit(limit)
                 .build();
@@ -0,0 +1,57 @@
+package com.example.hrcore.config;
+
+import com.example.hrcore.metrics.QueryCountInspector;
+import com.example.hrcore.metrics.TimedCache;
+import com.example.hrcore.metrics.TimedDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.actuate.metrics.cache.RedisCacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCache;
+
+import javax.sql.DataSource;
+
+/**
+ * Wiring for the per-request DB/Redis/remote time breakdown collected by {@code RequestMetricsFilter}
+ * and the per-request query counts checked by {@code QueryCountFilter}.
+ */
+@Configuration
+public class RequestMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor timedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof TimedDataSource)
+                        ? new TimedDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    /**
+     * Keeps the Redis cache meters working for caches wrapped in {@link TimedCache}.
+     */
+    @Bean
+    public CacheMeterBinderProvider<TimedCache> timedCacheMeterBinderProvider() {
+        RedisCacheMeterBinderProvider redisProvider = new RedisCacheMeterBinderProvider();
+        return (cache, tags) -> {
+            Cache target = cache.getTarget();
+            if (target instanceof TransactionAwareCacheDecorator decorator) {
+                target = decorator.getTargetCache();
+            }
+            return target instanceof RedisCache redisCache ? redisProvider.getMeterBinder(redisCache, tags) : null;
+        };
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.hrcore.config;
 
+import com.example.hrcore.metrics.RemoteCallMetricsInterceptor;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,6 +16,7 @@ public class RestTemplateConfig {
         return builder
                 .setConnectTimeout(Duration.ofSeconds(10))
                 .setReadTimeout(Duration.ofSeconds(30))
+                .additionalInterceptors(new RemoteCallMetricsInterceptor())
                 .build();
     }
 }
@@ -1,5 +1,6 @@
 package com.example.hrcore.config;
 
+import com.example.hrcore.interceptor.ConcurrencyLimitInterceptor;
 import com.example.hrcore.interceptor.LoggingInterceptor;
 import com.example.hrcore.interceptor.RateLimitInterceptor;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +14,7 @@ public class WebConfig implements WebMvcConfigurer {
 
     private final LoggingInterceptor loggingInterceptor;
     private final RateLimitInterceptor rateLimitInterceptor;
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
@@ -28,5 +30,9 @@ public class WebConfig implements WebMvcConfigurer {
                         "/swagger-ui/**",
                         "/v3/api-docs/**"
                 );
+
+        // After rate limiting, so rejected clients never hold a concurrency slot
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/api/**");
     }
 }
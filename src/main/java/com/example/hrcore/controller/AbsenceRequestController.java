@@ -1,17 +1,28 @@
 package com.example.hrcore.controller;
 
+import com.example.hrcore.dto.AbsenceBalanceDto;
 import com.example.hrcore.dto.AbsenceRequestDto;
 import com.example.hrcore.dto.AbsenceRequestFilterDto;
 import com.example.hrcore.dto.AbsenceRequestOperationContext;
+import com.example.hrcore.dto.BulkAbsenceDecisionRequest;
+import com.example.hrcore.dto.BulkAbsenceDecisionResultDto;
+import com.example.hrcore.dto.ChangeFeedDto;
 import com.example.hrcore.dto.ManagerAbsenceUpdateDto;
 import com.example.hrcore.dto.PageResponse;
+import com.example.hrcore.dto.TeamCalendarDto;
 import com.example.hrcore.entity.User;
 import com.example.hrcore.entity.enums.AbsenceRequestStatus;
 import com.example.hrcore.entity.enums.AbsenceRequestType;
+import com.example.hrcore.idempotency.Idempotent;
 import com.example.hrcore.security.annotation.RequireAuthenticated;
 import com.example.hrcore.security.annotation.RequireManagerOrAbove;
+import com.example.hrcore.security.annotation.RequireSuperAdmin;
+import com.example.hrcore.service.AbsenceBalanceService;
+import com.example.hrcore.service.AbsenceRequestBulkService;
 import com.example.hrcore.service.AbsenceRequestService;
 import com.example.hrcore.service.AuthenticationService;
+import com.example.hrcore.service.ChangeFeedService;
+import com.example.hrcore.service.TeamCalendarService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -28,6 +39,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -39,6 +51,10 @@ import java.util.UUID;
 public class AbsenceRequestController {
 
     private final AbsenceRequestService absenceRequestService;
+    private final AbsenceRequestBulkService absenceRequestBulkService;
+    private final TeamCalendarService teamCalendarService;
+    private final AbsenceBalanceService absenceBalanceService;
+    private final ChangeFeedService changeFeedService;
     private final AuthenticationService authenticationService;
 
     /**
@@ -95,6 +111,7 @@ public class AbsenceRequestController {
      */
     @RequireAuthenticated
     @PostMapping
+    @Idempotent
     @Operation(
         summary = "Submit new absence request",
         description = "Create a new absence request. Employees can create for themselves, managers can create for their team."
@@ -133,6 +150,7 @@ public class AbsenceRequestController {
      */
     @RequireManagerOrAbove
     @PutMapping("/{requestId}/approve")
+    @Idempotent
     @Operation(
         summary = "Approve absence request",
         description = "Approve a pending absence request. Requires MANAGER role or above."
@@ -165,6 +183,7 @@ public class AbsenceRequestController {
      */
     @RequireManagerOrAbove
     @PutMapping("/{requestId}/reject")
+    @Idempotent
     public ResponseEntity<AbsenceRequestDto> rejectRequest(
             @PathVariable Long requestId,
             @RequestParam String reason,
@@ -183,6 +202,38 @@ public class AbsenceRequestController {
         return ResponseEntity.ok(request);
     }
 
+    /**
+     * Approve or reject several absence requests at once (Manager+ only)
+     */
+    @RequireManagerOrAbove
+    @PostMapping("/bulk-decision")
+    @Idempotent
+    @Operation(
+        summary = "Bulk approve or reject absence requests",
+        description = "Applies APPROVE or REJECT to up to 200 requests and returns an outcome per request ID: APPROVED, REJECTED, NOT_FOUND, FORBIDDEN or NOT_PENDING. Requests that cannot be decided do not fail the others."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Decision applied; see the per-request outcomes"),
+        @ApiResponse(responseCode = "400", description = "Invalid action, missing rejection reason or too many IDs", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires MANAGER role", content = @Content)
+    })
+    public ResponseEntity<List<BulkAbsenceDecisionResultDto>> bulkDecide(
+            @Parameter(description = "Request IDs and decision") @Valid @RequestBody BulkAbsenceDecisionRequest decision,
+            Authentication authentication) {
+        
+        User currentUser = authenticationService.getCurrentUser(authentication);
+        log.info("Bulk {} of {} absence requests by {}", 
+            decision.getAction(), decision.getRequestIds().size(), currentUser.getEmail());
+        
+        AbsenceRequestOperationContext context = AbsenceRequestOperationContext.builder()
+                .currentUserId(currentUser.getId())
+                .currentUserRole(currentUser.getRole())
+                .build();
+        
+        return ResponseEntity.ok(absenceRequestBulkService.decide(decision, context));
+    }
+
     @RequireAuthenticated
     @PostMapping("/conflicts")
     @Operation(
@@ -215,11 +266,126 @@ public class AbsenceRequestController {
         return ResponseEntity.ok(conflicts);
     }
 
+    /**
+     * Team absence calendar (Manager+ only)
+     */
+    @RequireManagerOrAbove
+    @GetMapping("/calendar")
+    @Operation(
+        summary = "Team absence calendar",
+        description = "Per-day absent counts and who is out for a manager's direct reports or a department. Defaults to the current user's team. Managers see their own team and department; super admins any."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved calendar"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range or both managerId and department given", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Forbidden - another team or department", content = @Content)
+    })
+    public ResponseEntity<TeamCalendarDto> getTeamCalendar(
+            @Parameter(description = "Start date") @RequestParam LocalDate startDate,
+            @Parameter(description = "End date") @RequestParam LocalDate endDate,
+            @Parameter(description = "Manager whose direct reports to show") @RequestParam(required = false) UUID managerId,
+            @Parameter(description = "Department to show") @RequestParam(required = false) String department,
+            Authentication authentication) {
+        
+        User currentUser = authenticationService.getCurrentUser(authentication);
+        
+        AbsenceRequestOperationContext context = AbsenceRequestOperationContext.builder()
+                .currentUserId(currentUser.getId())
+                .currentUserRole(currentUser.getRole())
+                .build();
+        
+        return ResponseEntity.ok(teamCalendarService.getCalendar(managerId, department, startDate, endDate, context));
+    }
+
+    /**
+     * Absence balances of a user for one year
+     */
+    @RequireAuthenticated
+    @GetMapping("/balances/{userId}")
+    @Operation(
+        summary = "Get absence balances",
+        description = "Requested, pending and approved days per absence type for one year (defaults to the current year). Employees see their own balances, managers and above anyone's."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved balances"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Forbidden - another user's balances", content = @Content)
+    })
+    public ResponseEntity<List<AbsenceBalanceDto>> getBalances(
+            @Parameter(description = "User ID") @PathVariable UUID userId,
+            @Parameter(description = "Year (defaults to the current year)") @RequestParam(required = false) Integer year,
+            Authentication authentication) {
+        
+        User currentUser = authenticationService.getCurrentUser(authentication);
+        
+        AbsenceRequestOperationContext context = AbsenceRequestOperationContext.builder()
+                .currentUserId(currentUser.getId())
+                .currentUserRole(currentUser.getRole())
+                .build();
+        
+        int balanceYear = year != null ? year : LocalDate.now().getYear();
+        return ResponseEntity.ok(absenceBalanceService.getBalances(userId, balanceYear, context));
+    }
+
+    /**
+     * Rebuild the absence balance ledger from all requests (Super Admin only)
+     */
+    @RequireSuperAdmin
+    @PostMapping("/balances/rebuild")
+    @Operation(
+        summary = "Rebuild absence balances",
+        description = "Recomputes every absence balance from the absence requests, as the nightly job does. Returns the number of balance rows written, or -1 if a rebuild is already running."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Balances rebuilt"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires SUPER_ADMIN role", content = @Content)
+    })
+    public ResponseEntity<Integer> rebuildBalances() {
+        log.info("Rebuilding absence balances on request");
+        return ResponseEntity.ok(absenceBalanceService.rebuild());
+    }
+
+    /**
+     * Overlapping absences across a manager's team (Manager+ only)
+     */
+    @RequireManagerOrAbove
+    @GetMapping("/team-conflicts")
+    @Operation(
+        summary = "Check team conflicts",
+        description = "Pending and approved absences of a manager's direct reports overlapping a date range. Managers see their own team; super admins may pass any managerId."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully checked for team conflicts"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Forbidden - another manager's team", content = @Content)
+    })
+    public ResponseEntity<List<AbsenceRequestDto>> checkTeamConflicts(
+            @Parameter(description = "Start date") @RequestParam LocalDate startDate,
+            @Parameter(description = "End date") @RequestParam LocalDate endDate,
+            @Parameter(description = "Manager whose team to check (defaults to the current user)") @RequestParam(required = false) UUID managerId,
+            Authentication authentication) {
+        
+        User currentUser = authenticationService.getCurrentUser(authentication);
+        log.debug("Checking team conflicts for manager {} between {} and {}", 
+            managerId != null ? managerId : currentUser.getId(), startDate, endDate);
+        
+        AbsenceRequestOperationContext context = AbsenceRequestOperationContext.builder()
+                .currentUserId(currentUser.getId())
+                .currentUserRole(currentUser.getRole())
+                .build();
+        
+        return ResponseEntity.ok(absenceRequestService.checkTeamConflicts(managerId, startDate, endDate, context));
+    }
+
     /**
      * Manager update of absence request (Manager+ only)
      */
     @RequireManagerOrAbove
     @PatchMapping("/{requestId}/manager-update")
+    @Idempotent
     public ResponseEntity<AbsenceRequestDto> managerUpdateAbsenceRequest(
             @PathVariable Long requestId,
             @Valid @RequestBody ManagerAbsenceUpdateDto updateDto,
@@ -239,4 +405,25 @@ public class AbsenceRequestController {
         log.info("Absence request {} updated successfully", requestId);
         return ResponseEntity.ok(request);
     }
+
+    /**
+     * Absence requests changed since a cursor, for incremental sync (Super Admin only)
+     */
+    @RequireSuperAdmin
+    @GetMapping("/changes")
+    @Operation(
+        summary = "Get absence request changes",
+        description = "Absence requests created or updated since the cursor, oldest first, plus the ids of those deleted since. Omit since for a full initial sync, then pass nextCursor while hasMore is true and on each later sync."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved changes"),
+        @ApiResponse(responseCode = "400", description = "Malformed or expired cursor, or invalid limit", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires SUPER_ADMIN role", content = @Content)
+    })
+    public ResponseEntity<ChangeFeedDto<AbsenceRequestDto>> getChanges(
+            @Parameter(description = "Cursor from a previous response") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum rows and maximum tombstones per response") @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(changeFeedService.getAbsenceRequestChanges(since, limit));
+    }
 }
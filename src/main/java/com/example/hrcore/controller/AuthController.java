@@ -146,7 +146,7 @@ public class AuthController {
             
             // Register the token as valid with id_token
             Jwt jwt = keycloakService.createJwtFromToken(accessToken);
-            tokenService.registerToken(jwt, user.getId(), user.getRole(), idToken);
+            tokenService.registerToken(jwt, user.getId(), user.getRole(), user.getDepartment(), idToken);
             log.info("Token registered in database for user: {}", user.getId());
 
             AuthResponse response = AuthResponse.builder()
@@ -198,7 +198,7 @@ public class AuthController {
                         return userRepository.save(newUser);
                     });
             
-            tokenService.registerToken(jwt, user.getId(), user.getRole(), null);
+            tokenService.registerToken(jwt, user.getId(), user.getRole(), user.getDepartment(), null);
             
             AuthResponse response = AuthResponse.builder()
                     .token(request.getToken())
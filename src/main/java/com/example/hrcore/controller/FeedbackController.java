@@ -1,16 +1,23 @@
 package com.example.hrcore.controller;
 
 import com.example.hrcore.config.FeatureFlagConstants;
+import com.example.hrcore.dto.BulkFeedbackModerationRequest;
+import com.example.hrcore.dto.BulkFeedbackModerationResultDto;
+import com.example.hrcore.dto.ChangeFeedDto;
 import com.example.hrcore.dto.FeedbackDto;
 import com.example.hrcore.dto.FeedbackFilterDto;
 import com.example.hrcore.dto.FeedbackOperationContext;
 import com.example.hrcore.dto.PageResponse;
 import com.example.hrcore.entity.User;
 import com.example.hrcore.entity.enums.FeedbackStatus;
+import com.example.hrcore.idempotency.Idempotent;
 import com.example.hrcore.security.annotation.RequireAuthenticated;
 import com.example.hrcore.security.annotation.RequireFeature;
 import com.example.hrcore.security.annotation.RequireManagerOrAbove;
+import com.example.hrcore.security.annotation.RequireSuperAdmin;
 import com.example.hrcore.service.AuthenticationService;
+import com.example.hrcore.service.ChangeFeedService;
+import com.example.hrcore.service.FeedbackModerationService;
 import com.example.hrcore.service.FeedbackService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -19,6 +26,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -26,6 +34,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @Slf4j
@@ -37,6 +46,8 @@ import java.util.UUID;
 public class FeedbackController {
 
     private final FeedbackService feedbackService;
+    private final FeedbackModerationService feedbackModerationService;
+    private final ChangeFeedService changeFeedService;
     private final AuthenticationService authenticationService;
 
     @RequireAuthenticated
@@ -118,6 +129,7 @@ public class FeedbackController {
 
     @RequireManagerOrAbove
     @PutMapping("/{feedbackId}/approve")
+    @Idempotent
     public ResponseEntity<FeedbackDto> approveFeedback(
             @PathVariable Long feedbackId,
             Authentication authentication) {
@@ -138,6 +150,7 @@ public class FeedbackController {
 
     @RequireManagerOrAbove
     @PutMapping("/{feedbackId}/reject")
+    @Idempotent
     public ResponseEntity<FeedbackDto> rejectFeedback(
             @PathVariable Long feedbackId,
             Authentication authentication) {
@@ -156,6 +169,35 @@ public class FeedbackController {
         return ResponseEntity.ok(feedback);
     }
 
+    @RequireManagerOrAbove
+    @PostMapping("/bulk-moderation")
+    @Idempotent
+    @Operation(
+        summary = "Bulk approve or reject feedback",
+        description = "Applies APPROVE or REJECT to up to 200 pending feedback items and returns an outcome per feedback ID: APPROVED, REJECTED, NOT_FOUND, FORBIDDEN or NOT_PENDING. Items already moderated by someone else are reported as NOT_PENDING."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Moderation applied; see the per-item outcomes"),
+        @ApiResponse(responseCode = "400", description = "Invalid action or too many IDs", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires MANAGER role", content = @Content)
+    })
+    public ResponseEntity<List<BulkFeedbackModerationResultDto>> bulkModerate(
+            @Parameter(description = "Feedback IDs and decision") @Valid @RequestBody BulkFeedbackModerationRequest moderation,
+            Authentication authentication) {
+        
+        User currentUser = authenticationService.getCurrentUser(authentication);
+        log.info("Bulk {} of {} feedback items by {}", 
+            moderation.getAction(), moderation.getFeedbackIds().size(), currentUser.getEmail());
+        
+        FeedbackOperationContext context = FeedbackOperationContext.builder()
+                .currentUserId(currentUser.getId())
+                .currentUserRole(currentUser.getRole())
+                .build();
+        
+        return ResponseEntity.ok(feedbackModerationService.moderate(moderation, context));
+    }
+
     @RequireManagerOrAbove
     @RequireFeature(FeatureFlagConstants.FEEDBACK_AI_POLISH)
     @PostMapping("/{feedbackId}/polish")
@@ -176,4 +218,25 @@ public class FeedbackController {
         log.info("Feedback {} polished successfully", feedbackId);
         return ResponseEntity.ok(feedback);
     }
+
+    /**
+     * Feedback changed since a cursor, for incremental sync (Super Admin only)
+     */
+    @RequireSuperAdmin
+    @GetMapping("/changes")
+    @Operation(
+        summary = "Get feedback changes",
+        description = "Feedback items created or updated since the cursor, oldest first, plus the ids of those deleted since. Omit since for a full initial sync, then pass nextCursor while hasMore is true and on each later sync."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved changes"),
+        @ApiResponse(responseCode = "400", description = "Malformed or expired cursor, or invalid limit", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(responseCode = "403", description = "Forbidden - requires SUPER_ADMIN role", content = @Content)
+    })
+    public ResponseEntity<ChangeFeedDto<FeedbackDto>> getChanges(
+            @Parameter(description = "Cursor from a previous response") @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum rows and maximum tombstones per response") @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(changeFeedService.getFeedbackChanges(since, limit));
+    }
 }
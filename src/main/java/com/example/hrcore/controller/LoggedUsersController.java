@@ -1,7 +1,7 @@
 package com.example.hrcore.controller;
 
-import com.example.hrcore.entity.User;
-import java.util.UUID;
+import com.example.hrcore.dto.ActiveSessionStatsDto;
+import com.example.hrcore.dto.LoggedUserDto;
 import com.example.hrcore.entity.ValidToken;
 import java.util.UUID;
 import com.example.hrcore.repository.ValidTokenRepository;
@@ -9,18 +9,25 @@ import java.util.UUID;
 import com.example.hrcore.repository.UserRepository;
 import java.util.UUID;
 import com.example.hrcore.service.TokenService;
+import com.example.hrcore.session.ActiveSessionCounter;
 import java.util.UUID;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import java.util.UUID;
 import org.springframework.security.access.prepost.PreAuthorize;
 import java.util.UUID;
 import org.springframework.web.bind.annotation.*;
-import java.util.UUID;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.time.LocalDateTime;
-import java.util.UUID;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.UUID;
 import java.util.List;
@@ -38,28 +45,76 @@ public class LoggedUsersController {
     private final TokenService tokenService;
     private final ValidTokenRepository validTokenRepository;
     private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final ActiveSessionCounter activeSessionCounter;
 
     @GetMapping
     @PreAuthorize("hasRole('SUPER_ADMIN')")
-    public ResponseEntity<List<Map<String, Object>>> getAllLoggedInUsers() {
-        List<ValidToken> activeTokens = validTokenRepository.findByExpiresAtAfter(LocalDateTime.now());
-        
-        List<Map<String, Object>> loggedUsers = activeTokens.stream()
-                .map(token -> {
-                    User user = userRepository.findById(token.getUserId()).orElse(null);
-                    Map<String, Object> map = new HashMap<>();
-                    map.put("tokenId", token.getId());
-                    map.put("userId", token.getUserId());
-                    map.put("email", user != null ? user.getEmail() : "N/A");
-                    map.put("firstName", user != null ? user.getFirstName() : "N/A");
-                    map.put("lastName", user != null ? user.getLastName() : "N/A");
-                    map.put("issuedAt", token.getIssuedAt());
-                    map.put("expiresAt", token.getExpiresAt());
-                    return map;
-                })
+    public ResponseEntity<List<Map<String, Object>>> getAllLoggedInUsers(
+            @RequestParam(required = false) Integer page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "issuedAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection) {
+        Page<LoggedUserDto> sessions = tokenService.getLoggedInUsers(page, size, sortBy, sortDirection);
+
+        List<Map<String, Object>> loggedUsers = sessions.getContent().stream()
+                .map(LoggedUsersController::toResponse)
                 .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(loggedUsers);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page != null) {
+            response.header("X-Total-Count", String.valueOf(sessions.getTotalElements()));
+        }
+        return response.body(loggedUsers);
+    }
+
+    /**
+     * Same rows as {@link #getAllLoggedInUsers}, written as newline-delimited JSON while they are read,
+     * so the full session list never has to fit in memory.
+     */
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamLoggedInUsers(
+            @RequestParam(defaultValue = "issuedAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDirection) {
+        Sort sort = tokenService.loggedUserSort(sortBy, sortDirection);
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            tokenService.forEachLoggedInUser(sort, session -> {
+                try {
+                    objectMapper.writeValue(generator, toResponse(session));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            generator.writeRaw('\n');
+            generator.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    private static Map<String, Object> toResponse(LoggedUserDto session) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("tokenId", session.getTokenId());
+        map.put("userId", session.getUserId());
+        map.put("email", session.getEmail() != null ? session.getEmail() : "N/A");
+        map.put("firstName", session.getFirstName() != null ? session.getFirstName() : "N/A");
+        map.put("lastName", session.getLastName() != null ? session.getLastName() : "N/A");
+        map.put("issuedAt", session.getIssuedAt());
+        map.put("expiresAt", session.getExpiresAt());
+        return map;
+    }
+
+    /**
+     * Active session counts in total, per role and per department, read from counters rather than valid_tokens.
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ActiveSessionStatsDto> getLoggedInUserStats() {
+        return ResponseEntity.ok(activeSessionCounter.getStats());
     }
 
     @GetMapping("/user/{userId}")
@@ -95,8 +150,11 @@ public class LoggedUsersController {
     @DeleteMapping("/cleanup")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
     public ResponseEntity<Map<String, String>> cleanupExpiredTokens() {
-        tokenService.cleanupExpiredTokens();
-        return ResponseEntity.ok(Map.of("message", "Expired tokens cleaned up"));
+        if (tokenService.isCleanupRunning()) {
+            return ResponseEntity.accepted().body(Map.of("message", "Expired token cleanup already in progress"));
+        }
+        tokenService.cleanupExpiredTokensAsync();
+        return ResponseEntity.accepted().body(Map.of("message", "Expired token cleanup started"));
     }
 }
 
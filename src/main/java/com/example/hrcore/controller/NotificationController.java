@@ -0,0 +1,45 @@
+package com.example.hrcore.controller;
+
+import com.example.hrcore.entity.User;
+import com.example.hrcore.notification.NotificationService;
+import com.example.hrcore.security.annotation.RequireAuthenticated;
+import com.example.hrcore.service.AuthenticationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/v1/notifications")
+@RequiredArgsConstructor
+@Tag(name = "Notifications", description = "Server-sent event notifications")
+@SecurityRequirement(name = "bearer-jwt")
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final AuthenticationService authenticationService;
+
+    @RequireAuthenticated
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+        summary = "Subscribe to notifications",
+        description = "Server-sent events for the current user: status-changed when one of their absence requests or feedback items is decided, and for managers and above pending-counts with the number of pending absence requests and feedback items, sent on connect and whenever it changes. A comment is sent every 25 seconds to keep the connection open."
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+    })
+    public SseEmitter stream(Authentication authentication) {
+        User currentUser = authenticationService.getCurrentUser(authentication);
+        return notificationService.subscribe(currentUser.getId(), currentUser.getRole());
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.hrcore.controller;
 
+import com.example.hrcore.dto.ChangeFeedDto;
 import com.example.hrcore.dto.UserDto;
 import com.example.hrcore.entity.User;
 import com.example.hrcore.entity.enums.UserRole;
@@ -9,6 +10,7 @@ import com.example.hrcore.security.annotation.RequireAuthenticated;
 import com.example.hrcore.security.annotation.RequireManagerOrAbove;
 import com.example.hrcore.security.annotation.RequireSuperAdmin;
 import com.example.hrcore.service.AuthenticationService;
+import com.example.hrcore.service.ChangeFeedService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -28,6 +30,7 @@ public class UserController {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final AuthenticationService authenticationService;
+    private final ChangeFeedService changeFeedService;
 
     @RequireManagerOrAbove
     @GetMapping
@@ -39,6 +42,18 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * Users changed since a cursor, plus the ids of users deleted since. Omit {@code since} for a full
+     * initial sync, then pass {@code nextCursor} while {@code hasMore} is true and on each later sync.
+     */
+    @RequireSuperAdmin
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeFeedDto<UserDto>> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(changeFeedService.getUserChanges(since, limit));
+    }
+
     @RequireAuthenticated
     @GetMapping("/{id}")
     public ResponseEntity<UserDto> getUser(@PathVariable UUID id, Authentication authentication) {
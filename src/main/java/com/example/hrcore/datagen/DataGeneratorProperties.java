@@ -0,0 +1,37 @@
+package com.example.hrcore.datagen;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shape of the synthetic organisation, bound from {@code datagen.*}.
+ */
+@Data
+public class DataGeneratorProperties {
+
+    private int users = 50_000;
+    private int levels = 8;
+    private double absencesPerUser = 40;
+    private double feedbackPerUser = 40;
+    private int historyMonths = 24;
+    private int batchSize = 5_000;
+    private int parallelism = 4;
+    private long seed = 42;
+    private String emailDomain = "datagen.hrcore.local";
+    /** Delete users previously generated for the same email domain, with their absences and feedback. */
+    private boolean replaceExisting = true;
+    private boolean exitOnCompletion = true;
+    /** Relative department sizes; departments are assigned per subtree, so actual headcounts vary around these. */
+    private Map<String, Integer> departmentWeights = new LinkedHashMap<>(Map.of(
+            "Engineering", 35,
+            "Sales", 20,
+            "Support", 15,
+            "Operations", 10,
+            "Marketing", 8,
+            "Finance", 6,
+            "HR", 4,
+            "Legal", 2
+    ));
+}
@@ -0,0 +1,45 @@
+package com.example.hrcore.datagen;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills the configured database with a synthetic organisation when the {@code datagen} profile is active,
+ * then shuts the application down. See {@code application-datagen.properties} for the knobs.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@RequiredArgsConstructor
+public class DataGeneratorRunner implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Environment environment;
+    private final ApplicationContext applicationContext;
+
+    @Override
+    public void run(String... args) {
+        DataGeneratorProperties properties = Binder.get(environment)
+                .bind("datagen", DataGeneratorProperties.class)
+                .orElseGet(DataGeneratorProperties::new);
+        log.info("Generating {} users over {} levels ({} absences and {} feedback per user on average)",
+                properties.getUsers(), properties.getLevels(),
+                properties.getAbsencesPerUser(), properties.getFeedbackPerUser());
+
+        GeneratedOrg org = new OrgDataGenerator(jdbcTemplate, properties).generate();
+        log.info("Generated {} users, {} absence requests and {} feedback entries in {} ms",
+                org.users().size(), org.absences(), org.feedback(), org.durationMs());
+
+        if (properties.isExitOnCompletion()) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.hrcore.datagen;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Summary of a generator run, with the generated users for callers that drive load against them.
+ */
+public record GeneratedOrg(List<GeneratedUser> users, long absences, long feedback, long durationMs) {
+
+    public List<GeneratedUser> withRole(String role) {
+        return users.stream().filter(user -> user.role().equals(role)).toList();
+    }
+
+    public record GeneratedUser(UUID id, String email, String role, String department, int level, UUID managerId) {
+    }
+}
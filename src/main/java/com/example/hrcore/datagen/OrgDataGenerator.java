@@ -0,0 +1,485 @@
+package com.example.hrcore.datagen;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk-loads a synthetic organisation: a management tree of configurable depth, absence requests
+ * and feedback, all through JDBC batches.
+ * <p>
+ * The tree grows geometrically so the last level holds most employees. Children are assigned to
+ * managers with log-normal weights, which gives uneven spans of control, and each subtree below the
+ * first wide enough level shares one department drawn from {@link DataGeneratorProperties#getDepartmentWeights()}.
+ * Absences follow a per-user timeline without overlaps, lean towards summer and December and start on
+ * weekdays; their status depends on whether they are in the past or future. Feedback mostly flows
+ * between managers, their reports and peers.
+ */
+@Slf4j
+public class OrgDataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Carlos", "Ana",
+            "Andrei", "Ioana", "Mihai", "Elena", "Wei", "Mei", "Arjun", "Priya", "Omar", "Fatima"};
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Popescu", "Ionescu", "Popa", "Dumitru", "Chen", "Wang", "Patel", "Sharma", "Khan", "Ali"};
+    private static final String[] ABSENCE_REASONS = {
+            "Family vacation", "Medical appointment", "Flu", "Moving house", "Wedding", "Conference",
+            "Child care", "Personal matters", "Summer holiday", "Winter holidays", null};
+    private static final String[] FEEDBACK_SNIPPETS = {
+            "Great collaboration on the last release.", "Always ready to help the team with reviews.",
+            "Could communicate blockers earlier in stand-ups.", "Delivered the migration ahead of schedule.",
+            "Very thorough documentation of the new process.", "Handled the customer escalation calmly.",
+            "Should involve stakeholders sooner when scope changes.", "Mentored two new joiners effectively."};
+    private static final String EXECUTIVE_DEPARTMENT = "Executive";
+
+    private static final String INSERT_USER = "INSERT INTO users (id, email, first_name, last_name, phone, department, role, "
+            + "manager_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ABSENCE = "INSERT INTO absence_requests (user_id, start_date, end_date, reason, type, "
+            + "status, approver_id, rejection_reason, created_by_id, created_at, updated_at, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_FEEDBACK = "INSERT INTO feedback (from_user_id, to_user_id, content, status, "
+            + "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataGeneratorProperties properties;
+
+    public OrgDataGenerator(JdbcTemplate jdbcTemplate, DataGeneratorProperties properties) {
+        if (properties.getUsers() < properties.getLevels() || properties.getLevels() < 2) {
+            throw new IllegalArgumentException("Need at least 2 levels and one user per level");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    public GeneratedOrg generate() {
+        long start = System.nanoTime();
+        if (properties.isReplaceExisting()) {
+            deleteExisting();
+        }
+
+        Org org = buildOrg(new Random(properties.getSeed()));
+        insertUsers(org);
+        long usersDone = System.nanoTime();
+        log.info("Inserted {} users in {} ms", org.size(), (usersDone - start) / 1_000_000);
+
+        AtomicLong absences = new AtomicLong();
+        AtomicLong feedback = new AtomicLong();
+        runPartitioned(org, (worker, from, to) -> absences.addAndGet(insertAbsences(org, worker, from, to)));
+        long absencesDone = System.nanoTime();
+        log.info("Inserted {} absence requests in {} ms", absences.get(), (absencesDone - usersDone) / 1_000_000);
+
+        runPartitioned(org, (worker, from, to) -> feedback.addAndGet(insertFeedback(org, worker, from, to)));
+        log.info("Inserted {} feedback entries in {} ms", feedback.get(), (System.nanoTime() - absencesDone) / 1_000_000);
+
+        analyze();
+        return new GeneratedOrg(org.toUsers(), absences.get(), feedback.get(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // ---------------------------------------------------------------- org tree
+
+    private Org buildOrg(Random random) {
+        int total = properties.getUsers();
+        int levels = properties.getLevels();
+        Org org = new Org(total);
+        double growth = Math.pow(total, 1.0 / (levels - 1));
+
+        org.add(-1, 0);
+        int levelStart = 0;
+        int levelEnd = 1;
+        for (int level = 1; level < levels && org.size() < total; level++) {
+            int remaining = total - org.size();
+            int levelsAfter = levels - 1 - level;
+            int count = level == levels - 1
+                    ? remaining
+                    : (int) Math.max(1, Math.min(remaining - levelsAfter, Math.round((levelEnd - levelStart) * growth)));
+
+            // Log-normal weights give a realistic spread of spans of control
+            double[] cumulative = new double[levelEnd - levelStart];
+            double sum = 0;
+            for (int i = 0; i < cumulative.length; i++) {
+                sum += Math.exp(random.nextGaussian() * 0.6);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < count; i++) {
+                int slot = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+                int parent = levelStart + (slot < 0 ? -slot - 1 : slot);
+                org.add(parent, level);
+            }
+            levelStart = levelEnd;
+            levelEnd = org.size();
+        }
+
+        assignDepartments(org, random);
+        for (int i = 0; i < org.size(); i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            org.firstNames[i] = first;
+            org.lastNames[i] = last;
+            org.emails[i] = (first + "." + last + "." + i + "@" + properties.getEmailDomain()).toLowerCase();
+        }
+        return org;
+    }
+
+    private void assignDepartments(Org org, Random random) {
+        TreeMap<String, Integer> weights = new TreeMap<>(properties.getDepartmentWeights());
+        String[] names = weights.keySet().toArray(String[]::new);
+        int[] cumulative = new int[names.length];
+        int sum = 0;
+        for (int i = 0; i < names.length; i++) {
+            sum += weights.get(names[i]);
+            cumulative[i] = sum;
+        }
+
+        int[] levelCounts = new int[properties.getLevels()];
+        for (int i = 0; i < org.size(); i++) {
+            levelCounts[org.levels[i]]++;
+        }
+        int departmentLevel = 1;
+        while (departmentLevel < levelCounts.length - 1 && levelCounts[departmentLevel] < names.length) {
+            departmentLevel++;
+        }
+
+        // Users are stored level by level, so a parent's department is always set before its children's
+        for (int i = 0; i < org.size(); i++) {
+            if (org.levels[i] < departmentLevel) {
+                org.departments[i] = EXECUTIVE_DEPARTMENT;
+            } else if (org.levels[i] == departmentLevel) {
+                int slot = Arrays.binarySearch(cumulative, random.nextInt(sum) + 1);
+                org.departments[i] = names[slot < 0 ? -slot - 1 : slot];
+            } else {
+                org.departments[i] = org.departments[org.parents[i]];
+            }
+        }
+    }
+
+    private void insertUsers(Org org) {
+        Timestamp historyStart = Timestamp.valueOf(LocalDateTime.now().minusMonths(properties.getHistoryMonths()));
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        for (int i = 0; i < org.size(); i++) {
+            batch.add(new Object[]{
+                    org.ids[i], org.emails[i], org.firstNames[i], org.lastNames[i],
+                    String.format("+1-555-%07d", i), org.departments[i], org.role(i),
+                    org.parents[i] >= 0 ? org.ids[org.parents[i]] : null, historyStart, historyStart});
+            flushIfFull(INSERT_USER, batch);
+        }
+        flush(INSERT_USER, batch);
+    }
+
+    // ---------------------------------------------------------------- absences
+
+    private long insertAbsences(Org org, int worker, int from, int to) {
+        Random random = new Random(properties.getSeed() * 31 + worker);
+        LocalDate today = LocalDate.now();
+        LocalDate windowStart = today.minusMonths(properties.getHistoryMonths());
+        LocalDate windowEnd = today.plusMonths(3);
+        long windowDays = windowEnd.toEpochDay() - windowStart.toEpochDay();
+
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        long inserted = 0;
+        for (int user = from; user < to; user++) {
+            int count = sampleCount(random, properties.getAbsencesPerUser());
+            if (count == 0) {
+                continue;
+            }
+            long spacing = Math.max(2, windowDays / count);
+            LocalDate cursor = windowStart;
+            for (int n = 0; n < count; n++) {
+                LocalDate start = nextWeekday(cursor.plusDays(random.nextInt((int) spacing)));
+                String type = absenceType(random);
+                LocalDate end = start.plusDays(absenceLength(type, start, random) - 1);
+                if (end.isAfter(windowEnd)) {
+                    break;
+                }
+                batch.add(absenceRow(org, user, start, end, type, today, random));
+                inserted++;
+                flushIfFull(INSERT_ABSENCE, batch);
+                cursor = end.plusDays(1);
+            }
+        }
+        flush(INSERT_ABSENCE, batch);
+        return inserted;
+    }
+
+    private Object[] absenceRow(Org org, int user, LocalDate start, LocalDate end, String type, LocalDate today, Random random) {
+        int manager = org.parents[user];
+        String status;
+        int roll = random.nextInt(100);
+        if (end.isBefore(today)) {
+            status = roll < 88 ? "APPROVED" : roll < 98 ? "REJECTED" : "PENDING";
+        } else if (start.isAfter(today)) {
+            status = roll < 45 ? "PENDING" : roll < 95 ? "APPROVED" : "REJECTED";
+        } else {
+            status = "APPROVED";
+        }
+        if (manager < 0 && "PENDING".equals(status)) {
+            status = "APPROVED";
+        }
+
+        LocalDateTime createdAt = start.minusDays(1 + random.nextInt(30)).atTime(8 + random.nextInt(10), random.nextInt(60));
+        if (createdAt.isAfter(LocalDateTime.now())) {
+            createdAt = LocalDateTime.now().minusHours(1 + random.nextInt(48));
+        }
+        LocalDateTime updatedAt = "PENDING".equals(status) ? createdAt : createdAt.plusHours(1 + random.nextInt(72));
+        UUID createdBy = manager >= 0 && random.nextInt(10) == 0 ? org.ids[manager] : org.ids[user];
+
+        return new Object[]{
+                org.ids[user], Date.valueOf(start), Date.valueOf(end),
+                ABSENCE_REASONS[random.nextInt(ABSENCE_REASONS.length)], type, status,
+                "PENDING".equals(status) || manager < 0 ? null : org.ids[manager],
+                "REJECTED".equals(status) ? "Team capacity is too low for these dates" : null,
+                createdBy, Timestamp.valueOf(createdAt), Timestamp.valueOf(updatedAt)};
+    }
+
+    private static String absenceType(Random random) {
+        int roll = random.nextInt(100);
+        return roll < 60 ? "VACATION" : roll < 90 ? "SICK" : "OTHER";
+    }
+
+    private static int absenceLength(String type, LocalDate start, Random random) {
+        return switch (type) {
+            case "VACATION" -> {
+                Month month = start.getMonth();
+                boolean peak = month == Month.JULY || month == Month.AUGUST || month == Month.DECEMBER;
+                yield 1 + random.nextInt(peak ? 14 : 5);
+            }
+            case "SICK" -> 1 + random.nextInt(4);
+            default -> 1;
+        };
+    }
+
+    private static LocalDate nextWeekday(LocalDate date) {
+        if (date.getDayOfWeek() == DayOfWeek.SATURDAY) {
+            return date.plusDays(2);
+        }
+        if (date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+            return date.plusDays(1);
+        }
+        return date;
+    }
+
+    // ---------------------------------------------------------------- feedback
+
+    private long insertFeedback(Org org, int worker, int from, int to) {
+        Random random = new Random(properties.getSeed() * 53 + worker);
+        LocalDateTime now = LocalDateTime.now();
+        long windowMinutes = properties.getHistoryMonths() * 30L * 24 * 60;
+
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        long inserted = 0;
+        for (int author = from; author < to; author++) {
+            int count = sampleCount(random, properties.getFeedbackPerUser());
+            for (int n = 0; n < count; n++) {
+                int recipient = feedbackRecipient(org, author, random);
+                if (recipient == author) {
+                    continue;
+                }
+                LocalDateTime createdAt = now.minusMinutes((long) (random.nextDouble() * windowMinutes));
+                int roll = random.nextInt(100);
+                String status = createdAt.isAfter(now.minusDays(14))
+                        ? (roll < 60 ? "PENDING" : roll < 95 ? "APPROVED" : "REJECTED")
+                        : (roll < 5 ? "PENDING" : roll < 90 ? "APPROVED" : "REJECTED");
+                String content = FEEDBACK_SNIPPETS[random.nextInt(FEEDBACK_SNIPPETS.length)] + " "
+                        + FEEDBACK_SNIPPETS[random.nextInt(FEEDBACK_SNIPPETS.length)];
+                Timestamp created = Timestamp.valueOf(createdAt);
+                batch.add(new Object[]{org.ids[author], org.ids[recipient], content, status, created, created});
+                inserted++;
+                flushIfFull(INSERT_FEEDBACK, batch);
+            }
+        }
+        flush(INSERT_FEEDBACK, batch);
+        return inserted;
+    }
+
+    /**
+     * Most feedback goes to the author's manager, a direct report or a peer; the rest crosses the org.
+     */
+    private static int feedbackRecipient(Org org, int author, Random random) {
+        int manager = org.parents[author];
+        int roll = random.nextInt(10);
+        if (roll < 3 && manager >= 0) {
+            return manager;
+        }
+        if (roll < 7 && manager >= 0) {
+            int[] peers = org.children(manager);
+            return peers[random.nextInt(peers.length)];
+        }
+        if (roll < 8) {
+            int[] reports = org.children(author);
+            if (reports.length > 0) {
+                return reports[random.nextInt(reports.length)];
+            }
+        }
+        return random.nextInt(org.size());
+    }
+
+    // ---------------------------------------------------------------- plumbing
+
+    private static int sampleCount(Random random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        // Uniform around the mean; cheap and gives each user a different history length
+        double value = random.nextDouble() * 2 * mean;
+        return (int) value + (random.nextDouble() < value - Math.floor(value) ? 1 : 0);
+    }
+
+    private interface PartitionTask {
+        void run(int worker, int from, int to);
+    }
+
+    private void runPartitioned(Org org, PartitionTask task) {
+        int workers = Math.max(1, Math.min(properties.getParallelism(), org.size()));
+        int chunk = (org.size() + workers - 1) / workers;
+        try (ExecutorService executor = Executors.newFixedThreadPool(workers)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                int worker = w;
+                int from = w * chunk;
+                int to = Math.min(org.size(), from + chunk);
+                futures.add(executor.submit(() -> task.run(worker, from, to)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Data generation interrupted", e);
+        } catch (java.util.concurrent.ExecutionException e) {
+            throw new IllegalStateException("Data generation failed", e.getCause());
+        }
+    }
+
+    private void flushIfFull(String sql, List<Object[]> batch) {
+        if (batch.size() >= properties.getBatchSize()) {
+            flush(sql, batch);
+        }
+    }
+
+    private void flush(String sql, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+
+    private void deleteExisting() {
+        String generated = "SELECT id FROM users WHERE email LIKE ?";
+        String pattern = "%@" + properties.getEmailDomain();
+        jdbcTemplate.update("DELETE FROM feedback WHERE from_user_id IN (" + generated + ") OR to_user_id IN (" + generated + ")",
+                pattern, pattern);
+        jdbcTemplate.update("DELETE FROM absence_requests WHERE user_id IN (" + generated + ")", pattern);
+        jdbcTemplate.update("DELETE FROM valid_tokens WHERE user_id IN (" + generated + ")", pattern);
+        jdbcTemplate.update("DELETE FROM invalid_tokens WHERE user_id IN (" + generated + ")", pattern);
+        jdbcTemplate.update("UPDATE users SET manager_id = NULL WHERE email LIKE ?", pattern);
+        int deleted = jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", pattern);
+        if (deleted > 0) {
+            log.info("Deleted {} previously generated users for {}", deleted, properties.getEmailDomain());
+        }
+    }
+
+    /**
+     * Refreshes planner statistics so query plans reflect the new volume right away.
+     */
+    private void analyze() {
+        String product = jdbcTemplate.execute((java.sql.Connection connection) ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equals(product)) {
+            jdbcTemplate.execute("ANALYZE users, absence_requests, feedback");
+        }
+    }
+
+    /**
+     * Users stored level by level in parallel arrays, so a 50k-user tree stays compact.
+     */
+    private static final class Org {
+        private final UUID[] ids;
+        private final int[] parents;
+        private final int[] levels;
+        private final int[] childCounts;
+        private final String[] departments;
+        private final String[] firstNames;
+        private final String[] lastNames;
+        private final String[] emails;
+        private int size;
+        private int[][] children;
+
+        private Org(int capacity) {
+            ids = new UUID[capacity];
+            parents = new int[capacity];
+            levels = new int[capacity];
+            childCounts = new int[capacity];
+            departments = new String[capacity];
+            firstNames = new String[capacity];
+            lastNames = new String[capacity];
+            emails = new String[capacity];
+        }
+
+        private void add(int parent, int level) {
+            ids[size] = UUID.randomUUID();
+            parents[size] = parent;
+            levels[size] = level;
+            if (parent >= 0) {
+                childCounts[parent]++;
+            }
+            size++;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private String role(int user) {
+            if (parents[user] < 0) {
+                return "SUPER_ADMIN";
+            }
+            return childCounts[user] > 0 ? "MANAGER" : "EMPLOYEE";
+        }
+
+        private synchronized int[] children(int user) {
+            if (children == null) {
+                int[][] index = new int[size][];
+                int[] filled = new int[size];
+                for (int i = 0; i < size; i++) {
+                    index[i] = new int[childCounts[i]];
+                }
+                for (int i = 0; i < size; i++) {
+                    if (parents[i] >= 0) {
+                        index[parents[i]][filled[parents[i]]++] = i;
+                    }
+                }
+                children = index;
+            }
+            return children[user];
+        }
+
+        private List<GeneratedOrg.GeneratedUser> toUsers() {
+            List<GeneratedOrg.GeneratedUser> users = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                users.add(new GeneratedOrg.GeneratedUser(ids[i], emails[i], role(i), departments[i], levels[i],
+                        parents[i] >= 0 ? ids[parents[i]] : null));
+            }
+            return users;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.hrcore.dto;
+
+import com.example.hrcore.entity.enums.AbsenceRequestType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AbsenceBalanceDto {
+    private UUID userId;
+    private int year;
+    private AbsenceRequestType type;
+    private int requestedDays; // Every submitted day, including rejected requests
+    private int pendingDays;
+    private int approvedDays;
+}
@@ -0,0 +1,23 @@
+package com.example.hrcore.dto;
+
+import com.example.hrcore.entity.enums.UserRole;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An unexpired token with the role and department it counts towards in the active-session stats.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ActiveSessionDto {
+
+    private String tokenJti;
+    private UserRole role;
+    private String department;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,20 @@
+package com.example.hrcore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ActiveSessionStatsDto {
+    private long total;
+    private Map<String, Long> byRole;
+    private Map<String, Long> byDepartment;
+    /** "redis" when the counts are cluster-wide, "local" when only this node's sessions are counted. */
+    private String source;
+}
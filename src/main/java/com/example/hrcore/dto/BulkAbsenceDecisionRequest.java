@@ -0,0 +1,29 @@
+package com.example.hrcore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@Schema(description = "Approve or reject several absence requests at once")
+public class BulkAbsenceDecisionRequest {
+
+    @Schema(description = "IDs of the absence requests to decide", required = true)
+    @NotEmpty(message = "At least one request ID is required")
+    @Size(max = 200, message = "At most 200 requests can be decided at once")
+    private List<@NotNull Long> requestIds;
+
+    @Schema(description = "Decision to apply", allowableValues = {"APPROVE", "REJECT"}, required = true)
+    @NotBlank(message = "Action is required")
+    private String action;
+
+    @Schema(description = "Rejection reason, required when rejecting")
+    private String reason;
+}
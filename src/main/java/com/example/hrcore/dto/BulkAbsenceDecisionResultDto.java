@@ -0,0 +1,28 @@
+package com.example.hrcore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk approve/reject for one request id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkAbsenceDecisionResultDto {
+
+    private Long requestId;
+    private Outcome outcome;
+    private String message;
+
+    public enum Outcome {
+        APPROVED,
+        REJECTED,
+        NOT_FOUND,
+        FORBIDDEN,
+        NOT_PENDING
+    }
+}
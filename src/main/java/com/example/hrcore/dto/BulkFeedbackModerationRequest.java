@@ -0,0 +1,26 @@
+package com.example.hrcore.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+@Schema(description = "Approve or reject several pending feedback items at once")
+public class BulkFeedbackModerationRequest {
+
+    @Schema(description = "IDs of the feedback items to moderate", required = true)
+    @NotEmpty(message = "At least one feedback ID is required")
+    @Size(max = 200, message = "At most 200 feedback items can be moderated at once")
+    private List<@NotNull Long> feedbackIds;
+
+    @Schema(description = "Decision to apply", allowableValues = {"APPROVE", "REJECT"}, required = true)
+    @NotBlank(message = "Action is required")
+    private String action;
+}
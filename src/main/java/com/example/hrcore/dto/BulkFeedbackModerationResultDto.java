@@ -0,0 +1,28 @@
+package com.example.hrcore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk moderation for one feedback id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkFeedbackModerationResultDto {
+
+    private Long feedbackId;
+    private Outcome outcome;
+    private String message;
+
+    public enum Outcome {
+        APPROVED,
+        REJECTED,
+        NOT_FOUND,
+        FORBIDDEN,
+        NOT_PENDING
+    }
+}
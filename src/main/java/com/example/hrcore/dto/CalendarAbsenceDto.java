@@ -0,0 +1,30 @@
+package com.example.hrcore.dto;
+
+import com.example.hrcore.entity.enums.AbsenceRequestStatus;
+import com.example.hrcore.entity.enums.AbsenceRequestType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * One pending or approved absence shown on a team calendar. Read in a single query joined to users;
+ * the field order matches the JPQL constructor expression in {@code AbsenceRequestRepository}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarAbsenceDto {
+    private Long requestId;
+    private UUID userId;
+    private String firstName;
+    private String lastName;
+    private AbsenceRequestType type;
+    private AbsenceRequestStatus status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
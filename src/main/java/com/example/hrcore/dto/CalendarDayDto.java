@@ -0,0 +1,23 @@
+package com.example.hrcore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Coverage for one day of a team calendar. {@code requestIds} point into {@link TeamCalendarDto#getAbsences()}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CalendarDayDto {
+    private LocalDate date;
+    private int approvedCount;
+    private int pendingCount;
+    private List<Long> requestIds;
+}
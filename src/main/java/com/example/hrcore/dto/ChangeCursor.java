@@ -0,0 +1,50 @@
+package com.example.hrcore.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a change feed: the last row returned, as its {@code (updatedAt, id)} keyset, the last
+ * tombstone returned, and when the cursor was issued. Sent to clients as an opaque URL-safe token.
+ */
+public record ChangeCursor(LocalDateTime updatedAt, String id, long tombstoneId, LocalDateTime issuedAt) {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /** Cursor for a full initial sync. */
+    public static ChangeCursor start() {
+        return new ChangeCursor(BEGINNING, null, 0, null);
+    }
+
+    public String encode() {
+        String raw = updatedAt + "|" + (id != null ? id : "") + "|" + tombstoneId + "|" + issuedAt;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a token from {@link #encode()}; a missing token means {@link #start()}.
+     *
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static ChangeCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return start();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 4) {
+                throw new IllegalArgumentException("Malformed change cursor");
+            }
+            return new ChangeCursor(
+                    LocalDateTime.parse(parts[0]),
+                    parts[1].isEmpty() ? null : parts[1],
+                    Long.parseLong(parts[2]),
+                    "null".equals(parts[3]) ? null : LocalDateTime.parse(parts[3]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed change cursor", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.hrcore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChangeFeedDto<T> {
+    private List<T> items; // Current state of every row created or updated since the cursor, oldest first
+    private List<String> deletedIds;
+    private String nextCursor; // Pass as since= on the next call
+    private boolean hasMore;
+}
@@ -0,0 +1,27 @@
+package com.example.hrcore.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One active session with its user's name, read in a single query from valid_tokens joined to users.
+ * The user fields are null when the token outlived its user.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class LoggedUserDto {
+
+    private Long tokenId;
+    private UUID userId;
+    private String email;
+    private String firstName;
+    private String lastName;
+    private LocalDateTime issuedAt;
+    private LocalDateTime expiresAt;
+}
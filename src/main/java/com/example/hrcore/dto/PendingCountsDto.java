@@ -0,0 +1,18 @@
+package com.example.hrcore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PendingCountsDto {
+    private long absenceRequests;
+    private long feedback;
+    private Instant asOf; // Counts may arrive out of order; keep the newest
+}
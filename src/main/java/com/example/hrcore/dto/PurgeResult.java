@@ -0,0 +1,18 @@
+package com.example.hrcore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PurgeResult {
+    private String target;
+    private long rowsDeleted;
+    private int batches;
+    private long durationMs;
+    private boolean budgetExhausted;
+}
@@ -0,0 +1,16 @@
+package com.example.hrcore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatusChangeDto {
+    private String entityType; // AbsenceRequest or Feedback
+    private String id;
+    private String status;
+}
@@ -0,0 +1,26 @@
+package com.example.hrcore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Day-by-day absence coverage of a team (a manager's direct reports or a department) over a date range.
+ * Each absence is listed once; days refer to it by request id.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TeamCalendarDto {
+    /** "manager:&lt;id&gt;" or "department:&lt;name&gt;". */
+    private String team;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<CalendarAbsenceDto> absences;
+    private List<CalendarDayDto> days;
+}
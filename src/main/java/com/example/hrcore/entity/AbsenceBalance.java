@@ -0,0 +1,58 @@
+package com.example.hrcore.entity;
+
+import com.example.hrcore.entity.enums.AbsenceRequestType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Running totals of a user's absence days for one calendar year and type (inclusive calendar days).
+ * Maintained by {@link com.example.hrcore.service.AbsenceBalanceService} in the same transaction as the request
+ * change; {@code requestedDays} counts every submitted day, whatever became of the request.
+ */
+@Entity
+@Table(name = "absence_balances")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AbsenceBalance {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private int requestedDays;
+
+    @Column(nullable = false)
+    private int pendingDays;
+
+    @Column(nullable = false)
+    private int approvedDays;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        @Column(nullable = false)
+        private UUID userId;
+
+        @Column(name = "balance_year", nullable = false)
+        private int year;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false, length = 50)
+        private AbsenceRequestType type;
+    }
+}
@@ -11,6 +11,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(DeletedRecordListener.class)
 @Table(name = "absence_requests", indexes = {
     @Index(name = "idx_absence_user", columnList = "userId"),
     @Index(name = "idx_absence_status", columnList = "status"),
@@ -18,7 +19,8 @@ import java.util.UUID;
     @Index(name = "idx_absence_created_by", columnList = "created_by"),
     @Index(name = "idx_absence_approver", columnList = "approverId"),
     @Index(name = "idx_absence_user_status", columnList = "userId,status"),
-    @Index(name = "idx_absence_dates", columnList = "startDate,endDate")
+    @Index(name = "idx_absence_dates", columnList = "startDate,endDate"),
+    @Index(name = "idx_absence_updated_at_id", columnList = "updated_at,id")
 })
 @Data
 @EqualsAndHashCode(callSuper = false)
@@ -31,6 +33,10 @@ public class AbsenceRequest extends Auditable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @Builder.Default
+    private Long version = 0L;
+
     @Column(nullable = false)
     private UUID userId;
 
@@ -0,0 +1,42 @@
+package com.example.hrcore.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tombstone of a deleted user, absence request or feedback item, reported by the change feed.
+ * Written by {@link DeletedRecordListener} in the transaction of the delete.
+ */
+@Entity
+@Table(name = "deleted_records", indexes = {
+    @Index(name = "idx_deleted_records_type_id", columnList = "entityType,id"),
+    @Index(name = "idx_deleted_records_deleted_at", columnList = "deletedAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeletedRecord {
+
+    public static final String USER = "User";
+    public static final String ABSENCE_REQUEST = "AbsenceRequest";
+    public static final String FEEDBACK = "Feedback";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String entityType;
+
+    @Column(nullable = false, length = 64)
+    private String entityId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
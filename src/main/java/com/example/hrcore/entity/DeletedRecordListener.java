@@ -0,0 +1,51 @@
+package com.example.hrcore.entity;
+
+import jakarta.persistence.PreRemove;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Writes a {@link DeletedRecord} for every user, absence request and feedback item removed through JPA.
+ * The insert runs on the connection of the surrounding transaction, so the tombstone exists exactly
+ * when the delete commits.
+ * <p>
+ * Hibernate instantiates the listener itself, so the {@link JdbcTemplate} is looked up when a delete
+ * happens rather than injected: Spring binds it at startup (see {@code AuditConfig}). Without Spring,
+ * e.g. in the JMH benchmarks, nothing is bound and no tombstones are written.
+ */
+public class DeletedRecordListener {
+
+    private static final String INSERT =
+            "INSERT INTO deleted_records (entity_type, entity_id, deleted_at) VALUES (?, ?, ?)";
+
+    private static volatile JdbcTemplate jdbcTemplate;
+
+    public static void bind(JdbcTemplate template) {
+        jdbcTemplate = template;
+    }
+
+    @PreRemove
+    public void onRemove(Object entity) {
+        JdbcTemplate template = jdbcTemplate;
+        if (template == null) {
+            return;
+        }
+        String type;
+        Object id;
+        if (entity instanceof User user) {
+            type = DeletedRecord.USER;
+            id = user.getId();
+        } else if (entity instanceof AbsenceRequest request) {
+            type = DeletedRecord.ABSENCE_REQUEST;
+            id = request.getId();
+        } else if (entity instanceof Feedback feedback) {
+            type = DeletedRecord.FEEDBACK;
+            id = feedback.getId();
+        } else {
+            return;
+        }
+        template.update(INSERT, type, String.valueOf(id), Timestamp.valueOf(LocalDateTime.now()));
+    }
+}
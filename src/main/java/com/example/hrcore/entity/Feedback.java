@@ -9,12 +9,14 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(DeletedRecordListener.class)
 @Table(name = "feedback", indexes = {
     @Index(name = "idx_feedback_from_user", columnList = "fromUserId"),
     @Index(name = "idx_feedback_to_user", columnList = "toUserId"),
     @Index(name = "idx_feedback_status", columnList = "status"),
     @Index(name = "idx_feedback_created_at", columnList = "created_at"),
-    @Index(name = "idx_feedback_to_user_status", columnList = "toUserId,status")
+    @Index(name = "idx_feedback_to_user_status", columnList = "toUserId,status"),
+    @Index(name = "idx_feedback_updated_at_id", columnList = "updated_at,id")
 })
 @Data
 @EqualsAndHashCode(callSuper = false)
@@ -27,6 +29,10 @@ public class Feedback extends Auditable {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @Builder.Default
+    private Long version = 0L;
+
     @Column(nullable = false)
     private UUID fromUserId;
 
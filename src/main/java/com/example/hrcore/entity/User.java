@@ -14,11 +14,13 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(DeletedRecordListener.class)
 @Table(name = "users", indexes = {
     @Index(name = "idx_users_email", columnList = "email"),
     @Index(name = "idx_users_manager_id", columnList = "manager_id"),
     @Index(name = "idx_users_role", columnList = "role"),
-    @Index(name = "idx_users_department", columnList = "department")
+    @Index(name = "idx_users_department", columnList = "department"),
+    @Index(name = "idx_users_updated_at_id", columnList = "updated_at,id")
 })
 @Getter
 @Setter
@@ -0,0 +1,17 @@
+package com.example.hrcore.event;
+
+import com.example.hrcore.entity.enums.AbsenceRequestStatus;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Published by {@link com.example.hrcore.service.AbsenceRequestService} whenever a request is created or changes
+ * status. Listeners that act on committed state should use {@code @TransactionalEventListener}.
+ */
+public record AbsenceRequestChangedEvent(Long requestId,
+                                         UUID userId,
+                                         LocalDate startDate,
+                                         LocalDate endDate,
+                                         AbsenceRequestStatus status) {
+}
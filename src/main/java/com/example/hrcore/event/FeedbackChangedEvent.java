@@ -0,0 +1,14 @@
+package com.example.hrcore.event;
+
+import com.example.hrcore.entity.enums.FeedbackStatus;
+
+import java.util.UUID;
+
+/**
+ * Outbox payload for a feedback item that was submitted, polished or moderated.
+ */
+public record FeedbackChangedEvent(Long feedbackId,
+                                   UUID fromUserId,
+                                   UUID toUserId,
+                                   FeedbackStatus status) {
+}
@@ -0,0 +1,15 @@
+package com.example.hrcore.event;
+
+import com.example.hrcore.entity.enums.UserRole;
+
+import java.util.UUID;
+
+/**
+ * Outbox payload for a created, updated or deleted profile. Contact details are left out;
+ * consumers that need them read the profile.
+ */
+public record ProfileChangedEvent(UUID userId,
+                                  String department,
+                                  UserRole role,
+                                  UUID managerId) {
+}
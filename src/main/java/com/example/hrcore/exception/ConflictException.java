@@ -0,0 +1,19 @@
+package com.example.hrcore.exception;
+
+import lombok.Getter;
+
+/**
+ * The request clashes with a concurrent one and may be retried once it has finished.
+ */
+@Getter
+public class ConflictException extends RuntimeException {
+
+    private final String operation;
+    private final String reason;
+
+    public ConflictException(String operation, String reason) {
+        super(String.format("Cannot %s: %s", operation, reason));
+        this.operation = operation;
+        this.reason = reason;
+    }
+}
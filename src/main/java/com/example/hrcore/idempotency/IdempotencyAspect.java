@@ -0,0 +1,145 @@
+package com.example.hrcore.idempotency;
+
+import com.example.hrcore.exception.ConflictException;
+import com.example.hrcore.exception.InvalidOperationException;
+import com.example.hrcore.security.SecurityUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Makes {@link Idempotent} endpoints safe to retry.
+ * <p>
+ * When a request carries an {@code Idempotency-Key} header, the key (scoped to the caller) is claimed in
+ * the {@link IdempotencyStore} before the controller runs and the response is stored once it returns.
+ * A retry with the same key gets the stored response back, marked with {@code Idempotent-Replayed: true},
+ * and a retry while the first request is still running gets 409. Failed requests release their key.
+ * Requests without the header are not affected. If Redis is unavailable the request runs without
+ * deduplication; the entities' version checks still prevent lost updates.
+ */
+@Slf4j
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class IdempotencyAspect {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+
+    @Around("@annotation(idempotent)")
+    public Object handleIdempotencyKey(ProceedingJoinPoint joinPoint, Idempotent idempotent) throws Throwable {
+        HttpServletRequest request = currentRequest();
+        String key = request != null ? request.getHeader(IDEMPOTENCY_KEY_HEADER) : null;
+        if (key == null || key.isBlank()) {
+            return joinPoint.proceed();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidOperationException("use idempotency key",
+                IDEMPOTENCY_KEY_HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String scopedKey = SecurityUtils.getAuthenticatedUserId().map(UUID::toString).orElse("anonymous") + ":" + key;
+        String fingerprint = fingerprint(request, joinPoint.getArgs());
+
+        Optional<IdempotencyRecord> existing;
+        try {
+            existing = store.claim(scopedKey, fingerprint);
+        } catch (RuntimeException e) {
+            log.warn("Idempotency store unavailable, running {} {} without deduplication: {}",
+                request.getMethod(), request.getRequestURI(), e.getMessage());
+            return joinPoint.proceed();
+        }
+        if (existing.isPresent()) {
+            return replay(existing.get(), fingerprint);
+        }
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable t) {
+            release(scopedKey);
+            throw t;
+        }
+        complete(scopedKey, fingerprint, result);
+        return result;
+    }
+
+    private ResponseEntity<?> replay(IdempotencyRecord record, String fingerprint) {
+        if (!record.fingerprint().equals(fingerprint)) {
+            throw new InvalidOperationException("reuse idempotency key", "it was already used for a different request");
+        }
+        if (record.inProgress()) {
+            throw new ConflictException("process request", "a request with this idempotency key is still in progress");
+        }
+        log.debug("Replaying stored response for idempotency key");
+        return ResponseEntity.status(record.status())
+                .header(REPLAYED_HEADER, "true")
+                .body(record.body());
+    }
+
+    private void complete(String scopedKey, String fingerprint, Object result) {
+        try {
+            IdempotencyRecord record = result instanceof ResponseEntity<?> response
+                    ? new IdempotencyRecord(fingerprint, response.getStatusCode().value(), objectMapper.valueToTree(response.getBody()))
+                    : new IdempotencyRecord(fingerprint, 200, objectMapper.valueToTree(result));
+            store.complete(scopedKey, record);
+        } catch (RuntimeException e) {
+            // The operation is done; a retry will run it again and hit the usual state checks
+            log.warn("Could not store idempotent response: {}", e.getMessage());
+            release(scopedKey);
+        }
+    }
+
+    private void release(String scopedKey) {
+        try {
+            store.release(scopedKey);
+        } catch (RuntimeException e) {
+            log.warn("Could not release idempotency key: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Method, path, query and controller arguments (path variables, parameters and body), hashed.
+     */
+    private String fingerprint(HttpServletRequest request, Object[] args) {
+        StringBuilder source = new StringBuilder()
+                .append(request.getMethod()).append(' ')
+                .append(request.getRequestURI()).append('?')
+                .append(request.getQueryString() != null ? request.getQueryString() : "");
+        Object[] payload = Arrays.stream(args)
+                .filter(arg -> !(arg instanceof Authentication) && !(arg instanceof HttpServletRequest))
+                .toArray();
+        try {
+            source.append('|').append(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            source.append('|').append(Arrays.toString(payload));
+        }
+        return DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes.getRequest()
+                : null;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.hrcore.idempotency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * What is kept under an idempotency key: the fingerprint of the request that claimed it and, once that
+ * request has finished, its status and body. A null status means it is still in progress.
+ */
+public record IdempotencyRecord(String fingerprint, Integer status, JsonNode body) {
+
+    public boolean inProgress() {
+        return status == null;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.hrcore.idempotency;
+
+import com.example.hrcore.metrics.RequestMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived idempotency records in Redis, shared by all replicas.
+ * <p>
+ * A key is claimed with {@code SET NX} and an in-progress record that expires after
+ * {@code idempotency.in-progress-ttl}, so a crashed request does not block its key for long. The
+ * finished response then replaces it for {@code idempotency.ttl}.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final String KEY_PREFIX = "idempotency:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration inProgressTtl;
+
+    public IdempotencyStore(StringRedisTemplate redisTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${idempotency.ttl:10m}") Duration ttl,
+                            @Value("${idempotency.in-progress-ttl:30s}") Duration inProgressTtl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.inProgressTtl = inProgressTtl;
+    }
+
+    /**
+     * Claims {@code key} for a new request.
+     *
+     * @return empty if the key was free and is now claimed, otherwise the record already stored under it
+     */
+    public Optional<IdempotencyRecord> claim(String key, String fingerprint) {
+        String claim = write(new IdempotencyRecord(fingerprint, null, null));
+        long start = System.nanoTime();
+        try {
+            // Retried once in case the existing record expires between the two calls
+            for (int attempt = 0; attempt < 2; attempt++) {
+                if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, claim, inProgressTtl))) {
+                    return Optional.empty();
+                }
+                String existing = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+                if (existing != null) {
+                    return Optional.of(read(existing));
+                }
+            }
+            return Optional.empty();
+        } finally {
+            RequestMetrics.recordRedis("idempotency claim", System.nanoTime() - start);
+        }
+    }
+
+    public void complete(String key, IdempotencyRecord record) {
+        String value = write(record);
+        long start = System.nanoTime();
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, value, ttl);
+        } finally {
+            RequestMetrics.recordRedis("idempotency complete", System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Frees the key of a request that failed, so a retry runs the operation again.
+     */
+    public void release(String key) {
+        long start = System.nanoTime();
+        try {
+            redisTemplate.delete(KEY_PREFIX + key);
+        } finally {
+            RequestMetrics.recordRedis("idempotency release", System.nanoTime() - start);
+        }
+    }
+
+    private String write(IdempotencyRecord record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotency record", e);
+        }
+    }
+
+    private IdempotencyRecord read(String value) {
+        try {
+            return objectMapper.readValue(value, IdempotencyRecord.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read idempotency record", e);
+        }
+    }
+}
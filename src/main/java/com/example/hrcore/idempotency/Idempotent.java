@@ -0,0 +1,15 @@
+package com.example.hrcore.idempotency;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Honors an {@code Idempotency-Key} header on a controller method: a retry with the same key replays
+ * the first response instead of running the operation again. See {@link IdempotencyAspect}.
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+}
@@ -0,0 +1,144 @@
+package com.example.hrcore.interceptor;
+
+import com.example.hrcore.controller.AbsenceRequestController;
+import com.example.hrcore.controller.FeedbackController;
+import com.example.hrcore.controller.ProfileController;
+import com.example.hrcore.ratelimit.AdaptiveConcurrencyLimiter;
+import com.example.hrcore.ratelimit.RateLimitPolicyProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sheds load on the database-heavy controllers before the connection pool saturates.
+ * Each controller has its own {@link AdaptiveConcurrencyLimiter}, configured under
+ * {@code concurrency-limit.controllers.<name>} on top of {@code concurrency-limit.defaults}.
+ * <p>
+ * A request takes as many slots as its rate limit cost ({@code rate-limit.routes}), and its latency is
+ * compared with the baseline of its own route rather than the controller's average.
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String START_TIME_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".startTime";
+    private static final String LIMITER_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".limiter";
+    private static final String ROUTE_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".route";
+    private static final String COST_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".cost";
+
+    private static final Map<Class<?>, String> LIMITED_CONTROLLERS = Map.of(
+            ProfileController.class, "profile",
+            AbsenceRequestController.class, "absence-request",
+            FeedbackController.class, "feedback"
+    );
+
+    private final Map<Class<?>, LimitedController> limiters = new HashMap<>();
+    private final RateLimitPolicyProvider policyProvider;
+
+    @Value("${concurrency-limit.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    public ConcurrencyLimitInterceptor(Environment environment, MeterRegistry meterRegistry,
+                                       RateLimitPolicyProvider policyProvider) {
+        this.policyProvider = policyProvider;
+        Binder binder = Binder.get(environment);
+        AdaptiveConcurrencyLimiter.Settings defaults = binder
+                .bind("concurrency-limit.defaults", AdaptiveConcurrencyLimiter.Settings.class)
+                .orElseGet(AdaptiveConcurrencyLimiter.Settings::new);
+
+        LIMITED_CONTROLLERS.forEach((controllerType, name) -> {
+            AdaptiveConcurrencyLimiter.Settings settings = binder
+                    .bind("concurrency-limit.controllers." + name,
+                            Bindable.ofInstance(copyOf(defaults)))
+                    .orElseGet(() -> copyOf(defaults));
+            if (!settings.isEnabled()) {
+                return;
+            }
+
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+            Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("controller", name)
+                    .description("Current adaptive concurrency limit")
+                    .register(meterRegistry);
+            Gauge.builder("concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+                    .tag("controller", name)
+                    .description("Requests currently holding a concurrency slot")
+                    .register(meterRegistry);
+            Counter rejections = Counter.builder("concurrency.rejected")
+                    .tag("controller", name)
+                    .description("Requests rejected by the concurrency limiter")
+                    .register(meterRegistry);
+            limiters.put(controllerType, new LimitedController(name, limiter, rejections));
+        });
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        LimitedController controller = limiters.get(handlerMethod.getBeanType());
+        if (controller == null) {
+            return true;
+        }
+
+        long cost = policyProvider.getPolicy().costOf(request.getMethod(), request.getRequestURI());
+        if (!controller.limiter().tryAcquire(cost)) {
+            controller.rejections().increment();
+            log.debug("Concurrency limit {} reached for {}, rejecting {} {}",
+                    controller.limiter().getLimit(), controller.name(), request.getMethod(), request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server is busy, please retry later");
+            return false;
+        }
+
+        request.setAttribute(LIMITER_ATTRIBUTE, controller.limiter());
+        request.setAttribute(ROUTE_ATTRIBUTE, request.getMethod() + " "
+                + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        request.setAttribute(COST_ATTRIBUTE, cost);
+        request.setAttribute(START_TIME_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
+        if (!(request.getAttribute(LIMITER_ATTRIBUTE) instanceof AdaptiveConcurrencyLimiter limiter)) {
+            return;
+        }
+        long rttNanos = System.nanoTime() - (Long) request.getAttribute(START_TIME_ATTRIBUTE);
+        limiter.release((String) request.getAttribute(ROUTE_ATTRIBUTE), (Long) request.getAttribute(COST_ATTRIBUTE),
+                rttNanos, ex == null && response.getStatus() < 500);
+    }
+
+    private static AdaptiveConcurrencyLimiter.Settings copyOf(AdaptiveConcurrencyLimiter.Settings source) {
+        AdaptiveConcurrencyLimiter.Settings copy = new AdaptiveConcurrencyLimiter.Settings();
+        copy.setEnabled(source.isEnabled());
+        copy.setInitialLimit(source.getInitialLimit());
+        copy.setMinLimit(source.getMinLimit());
+        copy.setMaxLimit(source.getMaxLimit());
+        copy.setTolerance(source.getTolerance());
+        copy.setSmoothing(source.getSmoothing());
+        copy.setLongWindow(source.getLongWindow());
+        copy.setShortWindow(source.getShortWindow());
+        return copy;
+    }
+
+    private record LimitedController(String name, AdaptiveConcurrencyLimiter limiter, Counter rejections) {
+    }
+}
@@ -1,22 +1,45 @@
 package com.example.hrcore.interceptor;
 
+import com.example.hrcore.logging.AccessLogFilter;
+import com.example.hrcore.metrics.RequestMetrics;
+import com.example.hrcore.metrics.SlowRequest;
+import com.example.hrcore.metrics.SlowRequestLog;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.ModelAndView;
 
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Debug-level request tracing and slow-request capture. The per-request INFO line lives in the sampled
+ * JSON access log ({@link com.example.hrcore.logging.AccessLogFilter}).
+ * <p>
+ * Requests are timed with {@link System#nanoTime()}; those over {@code slow-request.threshold-ms} are
+ * added to the {@link SlowRequestLog} with the breakdown {@link com.example.hrcore.aspect.MetricsAspect}
+ * collected for them.
+ */
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class LoggingInterceptor implements HandlerInterceptor {
 
+    private static final String START_NANOS_ATTRIBUTE = LoggingInterceptor.class.getName() + ".startNanos";
+    private static final int MAX_SPAN_DESCRIPTION = 300;
+
+    private final SlowRequestLog slowRequestLog;
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        long startTime = System.currentTimeMillis();
-        request.setAttribute("startTime", startTime);
+        request.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
         
-        log.info("Request: {} {} from {}", 
+        log.debug("Request: {} {} from {}", 
                 request.getMethod(), 
                 request.getRequestURI(), 
                 request.getRemoteAddr());
@@ -31,18 +54,57 @@ public class LoggingInterceptor implements HandlerInterceptor {
 
     @Override
     public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) throws Exception {
-        long startTime = (Long) request.getAttribute("startTime");
-        long endTime = System.currentTimeMillis();
-        long executeTime = endTime - startTime;
+        if (!(request.getAttribute(START_NANOS_ATTRIBUTE) instanceof Long startNanos)) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
         
-        log.info("Response: {} {} - Status: {} - Duration: {}ms", 
+        log.debug("Response: {} {} - Status: {} - Duration: {}ms", 
                 request.getMethod(), 
                 request.getRequestURI(), 
                 response.getStatus(),
-                executeTime);
+                millis(elapsedNanos));
         
         if (ex != null) {
             log.error("Request exception: ", ex);
         }
+
+        if (slowRequestLog.isSlow(elapsedNanos)) {
+            slowRequestLog.record(toSlowRequest(request, response, elapsedNanos, ex));
+        }
+    }
+
+    private static SlowRequest toSlowRequest(HttpServletRequest request, HttpServletResponse response,
+                                             long elapsedNanos, Exception ex) {
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String correlationId = MDC.get(AccessLogFilter.CORRELATION_ID_MDC_KEY);
+        int status = ex != null && response.getStatus() < 400 ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+        String error = ex != null ? ex.getClass().getSimpleName() : null;
+
+        // Absent when the request never reached a controller, e.g. it was rejected by an interceptor
+        if (!(request.getAttribute(RequestMetrics.REQUEST_ATTRIBUTE) instanceof RequestMetrics breakdown)) {
+            return new SlowRequest(Instant.now(), correlationId, request.getMethod(),
+                    route != null ? route.toString() : "UNKNOWN", status, millis(elapsedNanos),
+                    0, 0, 0, 0, 0, 0, List.of(), error);
+        }
+
+        List<SlowRequest.Span> spans = breakdown.getTopSpans().stream()
+                .map(span -> new SlowRequest.Span(span.type(), truncate(span.description()), millis(span.nanos())))
+                .toList();
+        return new SlowRequest(Instant.now(), correlationId, request.getMethod(),
+                route != null ? route.toString() : "UNKNOWN", status, millis(elapsedNanos),
+                breakdown.getSqlStatements(), millis(breakdown.getDbNanos()), millis(breakdown.getRedisNanos()),
+                millis(breakdown.getRemoteNanos()), breakdown.getCacheHits(), breakdown.getCacheMisses(),
+                spans, error);
+    }
+
+    private static String truncate(String description) {
+        return description != null && description.length() > MAX_SPAN_DESCRIPTION
+                ? description.substring(0, MAX_SPAN_DESCRIPTION) + "..."
+                : description;
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
     }
 }
@@ -1,8 +1,11 @@
 package com.example.hrcore.interceptor;
 
-import com.example.hrcore.config.RateLimitConfig;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.ConsumptionProbe;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.ratelimit.DistributedRateLimiter;
+import com.example.hrcore.ratelimit.RateLimitPolicy;
+import com.example.hrcore.ratelimit.RateLimitPolicyProvider;
+import com.example.hrcore.ratelimit.RateLimitResult;
+import com.example.hrcore.security.SecurityUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -10,24 +13,40 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
+import java.util.Optional;
+import java.util.UUID;
+
 @Component
 @RequiredArgsConstructor
 public class RateLimitInterceptor implements HandlerInterceptor {
 
-    private final RateLimitConfig rateLimitConfig;
+    private final DistributedRateLimiter rateLimiter;
+    private final RateLimitPolicyProvider policyProvider;
 
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
-        String key = getClientKey(request);
-        Bucket bucket = rateLimitConfig.resolveBucket(key);
-        
-        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
-        
-        if (probe.isConsumed()) {
-            response.addHeader("X-Rate-Limit-Remaining", String.valueOf(probe.getRemainingTokens()));
+        RateLimitPolicy policy = policyProvider.getPolicy();
+        Optional<UUID> userId = SecurityUtils.getAuthenticatedUserId();
+
+        String key;
+        long quota;
+        if (userId.isPresent()) {
+            UserRole role = SecurityUtils.getAuthenticatedRole().orElse(null);
+            key = "user:" + userId.get();
+            quota = policy.quotaFor(role);
+        } else {
+            key = getClientKey(request);
+            quota = policy.getCapacity();
+        }
+        long cost = Math.min(policy.costOf(request.getMethod(), request.getRequestURI()), quota);
+
+        RateLimitResult result = rateLimiter.tryConsume(key, quota, policy.getRefillPeriodMs(), cost);
+
+        if (result.consumed()) {
+            response.addHeader("X-Rate-Limit-Remaining", String.valueOf(result.remainingTokens()));
             return true;
         } else {
-            long waitForRefill = probe.getNanosToWaitForRefill() / 1_000_000_000;
+            long waitForRefill = result.nanosToWaitForRefill() / 1_000_000_000;
             response.addHeader("X-Rate-Limit-Retry-After-Seconds", String.valueOf(waitForRefill));
             response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Too many requests");
             return false;
@@ -37,6 +56,6 @@ public class RateLimitInterceptor implements HandlerInterceptor {
     private String getClientKey(HttpServletRequest request) {
         String clientIp = request.getRemoteAddr();
         String userAgent = request.getHeader("User-Agent");
-        return clientIp + ":" + (userAgent != null ? userAgent.hashCode() : "");
+        return "ip:" + clientIp + ":" + (userAgent != null ? userAgent.hashCode() : "");
     }
 }
@@ -0,0 +1,124 @@
+package com.example.hrcore.logging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Writes one JSON line per request to the {@code access} logger, which logback-spring.xml routes through
+ * an async appender.
+ * <p>
+ * Each request gets a correlation ID, taken from a well-formed {@code X-Correlation-Id} header or
+ * generated, echoed in the response and put in the MDC as {@code correlationId} for every other log line.
+ * Requests with a status of at least {@code access-log.always-log-status} or slower than
+ * {@code access-log.slow-threshold-ms} are always logged; the rest are sampled at {@code access-log.sample-rate}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    public static final String CORRELATION_ID_MDC_KEY = "correlationId";
+    /** Request attribute holding the authenticated user's id, set by the JWT filter. */
+    public static final String USER_ID_ATTRIBUTE = AccessLogFilter.class.getName() + ".userId";
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("access");
+    private static final Pattern VALID_CORRELATION_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final int alwaysLogStatus;
+
+    public AccessLogFilter(@Value("${access-log.sample-rate:1.0}") double sampleRate,
+                           @Value("${access-log.slow-threshold-ms:1000}") long slowThresholdMs,
+                           @Value("${access-log.always-log-status:400}") int alwaysLogStatus) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.alwaysLogStatus = alwaysLogStatus;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String correlationId = correlationId(request);
+        MDC.put(CORRELATION_ID_MDC_KEY, correlationId);
+        response.setHeader(CORRELATION_ID_HEADER, correlationId);
+
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            int status = failure != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            boolean slow = elapsed >= slowThresholdNanos;
+            if (ACCESS_LOG.isInfoEnabled() && shouldLog(status, slow)) {
+                ACCESS_LOG.info(toJson(request, correlationId, status, elapsed, slow, failure));
+            }
+            MDC.remove(CORRELATION_ID_MDC_KEY);
+        }
+    }
+
+    private boolean shouldLog(int status, boolean slow) {
+        return status >= alwaysLogStatus || slow || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    private static String correlationId(HttpServletRequest request) {
+        String header = request.getHeader(CORRELATION_ID_HEADER);
+        return header != null && VALID_CORRELATION_ID.matcher(header).matches() ? header : UUID.randomUUID().toString();
+    }
+
+    private static String toJson(HttpServletRequest request, String correlationId, int status, long elapsedNanos,
+                                 boolean slow, Throwable failure) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("timestamp", Instant.now().toString());
+        entry.put("correlationId", correlationId);
+        entry.put("method", request.getMethod());
+        entry.put("path", request.getRequestURI());
+        Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (route != null) {
+            entry.put("route", route.toString());
+        }
+        entry.put("status", status);
+        entry.put("durationMs", Math.round(elapsedNanos / 10_000.0) / 100.0);
+        entry.put("slow", slow);
+        Object userId = request.getAttribute(USER_ID_ATTRIBUTE);
+        if (userId != null) {
+            entry.put("userId", userId.toString());
+        }
+        entry.put("clientIp", request.getRemoteAddr());
+        if (failure != null) {
+            entry.put("error", failure.getClass().getSimpleName());
+        }
+        try {
+            return JSON.writeValueAsString(entry);
+        } catch (JsonProcessingException e) {
+            return "{\"correlationId\":\"" + correlationId + "\",\"status\":" + status + "}";
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.hrcore.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Counts the Hibernate statements of each HTTP request, including those run by the security filters.
+ * <p>
+ * Publishes {@code hibernate.request.statements} and, when one statement repeats at least
+ * {@code query-budget.repeat-threshold} times, {@code hibernate.request.n-plus-one}, both tagged with the
+ * HTTP method and route pattern. Requests above {@code query-budget.warn-threshold} statements or with a
+ * repeated statement are logged with the offending SQL.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final double[] STATEMENT_BUCKETS = {1, 5, 10, 25, 50, 100};
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+    private final int repeatThreshold;
+
+    public QueryCountFilter(MeterRegistry meterRegistry,
+                            @Value("${query-budget.warn-threshold:20}") int warnThreshold,
+                            @Value("${query-budget.repeat-threshold:5}") int repeatThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCounter outer = QueryCounter.current();
+        QueryCounter counter = outer != null ? outer : QueryCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (outer == null) {
+                QueryCounter.end();
+            }
+            report(request, counter);
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryCounter counter) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+
+        DistributionSummary.builder("hibernate.request.statements")
+                .description("Hibernate statements per HTTP request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .serviceLevelObjectives(STATEMENT_BUCKETS)
+                .register(meterRegistry)
+                .record(counter.getTotal());
+
+        Map.Entry<String, Integer> repeated = counter.mostRepeated().orElse(null);
+        boolean nPlusOne = repeated != null && repeated.getValue() >= repeatThreshold;
+        if (nPlusOne) {
+            Counter.builder("hibernate.request.n-plus-one")
+                    .description("Requests that ran the same statement repeatedly")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        if (nPlusOne || counter.getTotal() > warnThreshold) {
+            log.warn("{} {} ran {} SQL statements; most repeated ({}x): {}", method, uri, counter.getTotal(),
+                    repeated != null ? repeated.getValue() : 0, repeated != null ? repeated.getKey() : "-");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.hrcore.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Feeds every statement Hibernate prepares into the current {@link QueryCounter}. The SQL is returned unchanged.
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCounter.record(sql);
+        return sql;
+    }
+}
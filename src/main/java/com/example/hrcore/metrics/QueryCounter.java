@@ -0,0 +1,67 @@
+package com.example.hrcore.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * SQL statements prepared by Hibernate on the current thread, grouped by their text.
+ * <p>
+ * Hibernate renders parameters as {@code ?}, so the same statement showing up many times in one
+ * request is almost always a lazy load or repository call inside a loop (N+1).
+ * {@link QueryCountFilter} scopes a counter to each HTTP request; tests can open their own with
+ * {@link #begin()} to pin how many queries an endpoint may run.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> statements = new LinkedHashMap<>();
+    private int total;
+
+    private QueryCounter() {
+    }
+
+    public static QueryCounter begin() {
+        QueryCounter counter = new QueryCounter();
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    public static QueryCounter current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    static void record(String sql) {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null) {
+            counter.total++;
+            counter.statements.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public Map<String, Integer> getStatements() {
+        return Collections.unmodifiableMap(statements);
+    }
+
+    /**
+     * The statement executed most often, with its count.
+     */
+    public Optional<Map.Entry<String, Integer>> mostRepeated() {
+        return statements.entrySet().stream().max(Map.Entry.comparingByValue());
+    }
+
+    public void reset() {
+        total = 0;
+        statements.clear();
+    }
+}
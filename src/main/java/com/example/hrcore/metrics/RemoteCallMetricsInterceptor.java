@@ -0,0 +1,26 @@
+package com.example.hrcore.metrics;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Adds the duration of outgoing RestTemplate calls (Keycloak, HuggingFace) to the current request's remote time.
+ * Only the exchange is measured; reading the response body happens later in the message converters.
+ */
+public class RemoteCallMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return execution.execute(request, body);
+        } finally {
+            RequestMetrics.recordRemote(request.getMethod() + " " + request.getURI().getHost() + request.getURI().getPath(),
+                    System.nanoTime() - start);
+        }
+    }
+}
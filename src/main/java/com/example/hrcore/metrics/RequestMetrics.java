@@ -0,0 +1,173 @@
+package com.example.hrcore.metrics;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Time spent in the database, Redis and remote HTTP calls while serving the current request.
+ * <p>
+ * Started and ended by {@link RequestMetricsFilter} around the whole filter chain, or by
+ * {@link com.example.hrcore.aspect.MetricsAspect} around a controller call made outside a request; the
+ * JDBC, cache and RestTemplate decorators add to it from the same thread. Work handed to other threads
+ * (e.g. {@code @Async}) is not attributed to the request.
+ * <p>
+ * Besides the totals it keeps the {@value #TOP_SPANS} slowest individual calls, so a slow request can be
+ * traced to the statement or remote call that made it slow.
+ */
+public final class RequestMetrics {
+
+    public static final int TOP_SPANS = 5;
+
+    /**
+     * Request attribute under which {@link com.example.hrcore.aspect.MetricsAspect} leaves the finished
+     * breakdown for later interceptors.
+     */
+    public static final String REQUEST_ATTRIBUTE = RequestMetrics.class.getName();
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private int sqlStatements;
+    private long dbNanos;
+    private int redisCalls;
+    private long redisNanos;
+    private int remoteCalls;
+    private long remoteNanos;
+    private int cacheHits;
+    private int cacheMisses;
+    private final Span[] topSpans = new Span[TOP_SPANS];
+    private int spanCount;
+
+    private RequestMetrics() {
+    }
+
+    /**
+     * Starts collecting for the current thread, replacing any earlier collector.
+     */
+    public static RequestMetrics begin() {
+        RequestMetrics metrics = new RequestMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    public static RequestMetrics current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static void recordSql(long nanos) {
+        recordSql(null, nanos);
+    }
+
+    public static void recordSql(String sql, long nanos) {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.sqlStatements++;
+            metrics.dbNanos += nanos;
+            metrics.offerSpan(SpanType.SQL, sql, nanos);
+        }
+    }
+
+    public static void recordRedis(long nanos) {
+        recordRedis(null, nanos);
+    }
+
+    public static void recordRedis(String operation, long nanos) {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.redisCalls++;
+            metrics.redisNanos += nanos;
+            metrics.offerSpan(SpanType.REDIS, operation, nanos);
+        }
+    }
+
+    public static void recordRemote(long nanos) {
+        recordRemote(null, nanos);
+    }
+
+    public static void recordRemote(String target, long nanos) {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.remoteCalls++;
+            metrics.remoteNanos += nanos;
+            metrics.offerSpan(SpanType.REMOTE, target, nanos);
+        }
+    }
+
+    public static void recordCacheLookup(boolean hit) {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            if (hit) {
+                metrics.cacheHits++;
+            } else {
+                metrics.cacheMisses++;
+            }
+        }
+    }
+
+    /**
+     * Keeps {@link #topSpans} sorted slowest first; a call faster than all kept spans costs one comparison.
+     */
+    private void offerSpan(SpanType type, String description, long nanos) {
+        if (spanCount == TOP_SPANS && topSpans[TOP_SPANS - 1].nanos() >= nanos) {
+            return;
+        }
+        int i = spanCount < TOP_SPANS ? spanCount++ : TOP_SPANS - 1;
+        while (i > 0 && topSpans[i - 1].nanos() < nanos) {
+            topSpans[i] = topSpans[i - 1];
+            i--;
+        }
+        topSpans[i] = new Span(type, description, nanos);
+    }
+
+    public int getSqlStatements() {
+        return sqlStatements;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    public int getRedisCalls() {
+        return redisCalls;
+    }
+
+    public long getRedisNanos() {
+        return redisNanos;
+    }
+
+    public int getRemoteCalls() {
+        return remoteCalls;
+    }
+
+    public long getRemoteNanos() {
+        return remoteNanos;
+    }
+
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    public int getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * The slowest individual calls of the request, slowest first.
+     */
+    public List<Span> getTopSpans() {
+        return List.of(Arrays.copyOf(topSpans, spanCount));
+    }
+
+    public enum SpanType {
+        SQL, REDIS, REMOTE
+    }
+
+    /**
+     * One timed call; {@code description} is the SQL text, cache operation or remote target, when known.
+     */
+    public record Span(SpanType type, String description, long nanos) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.hrcore.metrics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Opens the {@link RequestMetrics} collector for each HTTP request ahead of the security filter chain
+ * and the MVC interceptors, so the token lookups of the JWT filter and the Redis calls of the rate limiter
+ * count towards the request's DB and Redis time. {@code MetricsAspect} reads the collector when the
+ * controller returns.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestMetrics outer = RequestMetrics.current();
+        if (outer == null) {
+            RequestMetrics.begin();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (outer == null) {
+                RequestMetrics.end();
+            }
+        }
+    }
+}
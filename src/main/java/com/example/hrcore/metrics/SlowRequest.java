@@ -0,0 +1,27 @@
+package com.example.hrcore.metrics;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One request that took longer than {@code slow-request.threshold-ms}, with the breakdown recorded while it ran.
+ * {@code route} is the matched URI template, so path variables such as user ids are not captured.
+ */
+public record SlowRequest(Instant timestamp,
+                          String correlationId,
+                          String method,
+                          String route,
+                          int status,
+                          double durationMs,
+                          int sqlStatements,
+                          double dbMs,
+                          double redisMs,
+                          double remoteMs,
+                          int cacheHits,
+                          int cacheMisses,
+                          List<Span> topSpans,
+                          String error) {
+
+    public record Span(RequestMetrics.SpanType type, String description, double durationMs) {
+    }
+}
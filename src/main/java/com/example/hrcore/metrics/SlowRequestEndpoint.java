@@ -0,0 +1,38 @@
+package com.example.hrcore.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * {@code /actuator/slowrequests}: the contents of the {@link SlowRequestLog} for live triage.
+ * Like every actuator endpoint other than health and info it requires {@code SUPER_ADMIN}.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+@RequiredArgsConstructor
+public class SlowRequestEndpoint {
+
+    private final SlowRequestLog slowRequestLog;
+
+    @ReadOperation
+    public SlowRequestReport slowRequests() {
+        return new SlowRequestReport(
+                slowRequestLog.getThresholdMs(),
+                slowRequestLog.getCapacity(),
+                slowRequestLog.getRecorded(),
+                slowRequestLog.recent());
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowRequestLog.clear();
+    }
+
+    public record SlowRequestReport(long thresholdMs, int capacity, long recorded, List<SlowRequest> requests) {
+    }
+}
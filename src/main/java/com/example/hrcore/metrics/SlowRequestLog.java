@@ -0,0 +1,74 @@
+package com.example.hrcore.metrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded in-memory ring buffer of the most recent slow requests, read through the {@code slowrequests}
+ * actuator endpoint. Once full, each new entry overwrites the oldest; nothing is persisted.
+ */
+@Component
+public class SlowRequestLog {
+
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowRequest> entries;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public SlowRequestLog(@Value("${slow-request.threshold-ms:500}") long thresholdMs,
+                          @Value("${slow-request.capacity:200}") int capacity) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.entries = new AtomicReferenceArray<>(capacity);
+    }
+
+    public boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= thresholdNanos;
+    }
+
+    public void record(SlowRequest request) {
+        long slot = sequence.getAndIncrement();
+        entries.set((int) (slot % entries.length()), request);
+    }
+
+    /**
+     * Buffered requests, newest first. Entries written while the buffer is being read may or may not be included.
+     */
+    public List<SlowRequest> recent() {
+        long next = sequence.get();
+        int size = (int) Math.min(next, entries.length());
+        List<SlowRequest> result = new ArrayList<>(size);
+        for (long slot = next - 1; slot >= next - size; slot--) {
+            SlowRequest entry = entries.get((int) (slot % entries.length()));
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+
+    public long getThresholdMs() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    public int getCapacity() {
+        return entries.length();
+    }
+
+    /**
+     * Slow requests recorded since startup, including those already overwritten.
+     */
+    public long getRecorded() {
+        return sequence.get();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.hrcore.metrics;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator that adds the time of every lookup and write to the current request's Redis time,
+ * and counts lookups as hits or misses. For {@link #get(Object, Callable)} only the cache round trips count, not the value loader.
+ */
+public class TimedCache implements Cache {
+
+    private final Cache target;
+
+    public TimedCache(Cache target) {
+        this.target = target;
+    }
+
+    public Cache getTarget() {
+        return target;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = timed("get", () -> target.get(key));
+        RequestMetrics.recordCacheLookup(value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        T value = timed("get", () -> target.get(key, type));
+        RequestMetrics.recordCacheLookup(value != null);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        // Timing the whole call would count the loader's own DB work as Redis time
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            @SuppressWarnings("unchecked")
+            T value = (T) cached.get();
+            return value;
+        }
+        return target.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        timed("put", () -> {
+            target.put(key, value);
+            return null;
+        });
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return timed("putIfAbsent", () -> target.putIfAbsent(key, value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        timed("evict", () -> {
+            target.evict(key);
+            return null;
+        });
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return timed("evict", () -> target.evictIfPresent(key));
+    }
+
+    @Override
+    public void clear() {
+        timed("clear", () -> {
+            target.clear();
+            return null;
+        });
+    }
+
+    @Override
+    public boolean invalidate() {
+        return timed("clear", target::invalidate);
+    }
+
+    private <T> T timed(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            RequestMetrics.recordRedis("cache " + operation + " " + getName(), System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.hrcore.metrics;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps every cache of the target manager in a {@link TimedCache}.
+ */
+public class TimedCacheManager implements CacheManager {
+
+    private final CacheManager target;
+    private final Map<String, TimedCache> caches = new ConcurrentHashMap<>();
+
+    public TimedCacheManager(CacheManager target) {
+        this.target = target;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TimedCache cached = caches.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        Cache cache = target.getCache(name);
+        return cache != null ? caches.computeIfAbsent(name, n -> new TimedCache(cache)) : null;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return target.getCacheNames();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.hrcore.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Adds the duration of every {@code execute*} call to the current {@link RequestMetrics}, labelled with its SQL.
+ * Connections and statements are wrapped in JDK proxies; everything else passes straight through.
+ */
+public class TimedDataSource extends DelegatingDataSource {
+
+    public TimedDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                TimedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private record ConnectionHandler(Connection target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TimedDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "prepareCall" -> wrapStatement(result, CallableStatement.class, (String) args[0]);
+                case "prepareStatement" -> wrapStatement(result, PreparedStatement.class, (String) args[0]);
+                case "createStatement" -> wrapStatement(result, Statement.class, null);
+                default -> result;
+            };
+        }
+
+        private static Object wrapStatement(Object statement, Class<?> type, String sql) {
+            return Proxy.newProxyInstance(
+                    TimedDataSource.class.getClassLoader(),
+                    new Class<?>[]{type},
+                    new StatementHandler(statement, sql));
+        }
+    }
+
+    private record StatementHandler(Object target, String preparedSql) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return TimedDataSource.invoke(target, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                return TimedDataSource.invoke(target, method, args);
+            } finally {
+                // Plain statements carry their SQL as the first execute argument
+                String sql = preparedSql != null ? preparedSql
+                        : args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                RequestMetrics.recordSql(sql, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.hrcore.notification;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.UUID;
+
+/**
+ * One server-sent event for one user, or for every connected manager when {@code userId} is null.
+ * This is also the message exchanged between replicas over Redis.
+ */
+public record Notification(UUID userId, String event, JsonNode data) {
+
+    public static final String PENDING_COUNTS = "pending-counts";
+    public static final String STATUS_CHANGED = "status-changed";
+
+    @JsonIgnore
+    public boolean isForManagers() {
+        return userId == null;
+    }
+}
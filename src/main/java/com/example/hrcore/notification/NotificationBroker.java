@@ -0,0 +1,75 @@
+package com.example.hrcore.notification;
+
+import com.example.hrcore.metrics.RequestMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Delivers notifications to the connections of every replica.
+ * <p>
+ * With {@code notifications.redis.enabled} a notification is published on the {@code notifications.redis.channel}
+ * pub/sub channel and each node, this one included, hands it to its own {@link NotificationEmitters} when it
+ * arrives. Pub/sub is fire-and-forget: a node that is briefly disconnected misses events, which is acceptable
+ * for badges the client also refreshes on reconnect. If publishing fails, or Redis is disabled, only this
+ * node's connections are notified.
+ */
+@Slf4j
+@Component
+public class NotificationBroker implements MessageListener {
+
+    private final NotificationEmitters emitters;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean redisEnabled;
+    private final String channel;
+
+    public NotificationBroker(NotificationEmitters emitters,
+                              StringRedisTemplate redisTemplate,
+                              ObjectMapper objectMapper,
+                              @Value("${notifications.redis.enabled:true}") boolean redisEnabled,
+                              @Value("${notifications.redis.channel:hrcore:notifications}") String channel) {
+        this.emitters = emitters;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisEnabled = redisEnabled;
+        this.channel = channel;
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public void publish(Notification notification) {
+        if (redisEnabled) {
+            long start = System.nanoTime();
+            try {
+                redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(notification));
+                return;
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("Could not publish {} notification, delivering on this node only: {}",
+                        notification.event(), e.getMessage());
+            } finally {
+                RequestMetrics.recordRedis("notification publish", System.nanoTime() - start);
+            }
+        }
+        emitters.send(notification);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            emitters.send(objectMapper.readValue(
+                    new String(message.getBody(), StandardCharsets.UTF_8), Notification.class));
+        } catch (Exception e) {
+            log.warn("Ignoring malformed notification on {}: {}", channel, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.hrcore.notification;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * The open SSE connections of this node.
+ * <p>
+ * An idle connection is an async servlet request, so it holds no thread; what it costs is one entry here
+ * and its socket. Writes happen on virtual threads so a slow or dead client never stalls the caller or the
+ * other clients. Each emitter has its own queue, drained by at most one virtual thread at a time, so a
+ * client receives its events in the order they were sent: an older {@code pending-counts} can never
+ * overwrite a newer one. A connection is dropped as soon as a write to it fails; the periodic heartbeat
+ * is what finds the dead ones that nothing else is written to.
+ */
+@Slf4j
+@Component
+public class NotificationEmitters {
+
+    private final Map<UUID, Set<SseEmitter>> byUser = new ConcurrentHashMap<>();
+    private final Map<SseEmitter, UUID> owners = new ConcurrentHashMap<>();
+    private final Set<SseEmitter> managers = ConcurrentHashMap.newKeySet();
+    private final Map<SseEmitter, Outbox> outboxes = new ConcurrentHashMap<>();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final long timeoutMs;
+    private final long reconnectMs;
+
+    public NotificationEmitters(MeterRegistry meterRegistry,
+                                @Value("${notifications.emitter-timeout:30m}") Duration timeout,
+                                @Value("${notifications.reconnect-delay:5s}") Duration reconnectDelay) {
+        this.timeoutMs = timeout.toMillis();
+        this.reconnectMs = reconnectDelay.toMillis();
+        Gauge.builder("notifications.connections", owners, Map::size)
+                .description("Open server-sent event connections on this node")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for {@code userId}; managers also receive the pending counts.
+     */
+    public SseEmitter register(UUID userId, boolean manager) {
+        SseEmitter emitter = newEmitter(timeoutMs);
+        outboxes.put(emitter, new Outbox());
+        owners.put(emitter, userId);
+        byUser.compute(userId, (id, emitters) -> {
+            Set<SseEmitter> updated = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            updated.add(emitter);
+            return updated;
+        });
+        if (manager) {
+            managers.add(emitter);
+        }
+        emitter.onCompletion(() -> remove(emitter));
+        emitter.onTimeout(() -> remove(emitter));
+        emitter.onError(e -> remove(emitter));
+
+        // Buffered until the response starts; tells EventSource how long to wait before reconnecting
+        write(emitter, () -> SseEmitter.event().reconnectTime(reconnectMs).comment("connected"));
+        return emitter;
+    }
+
+    public void send(Notification notification) {
+        Set<SseEmitter> targets = notification.isForManagers()
+                ? managers
+                : byUser.getOrDefault(notification.userId(), Set.of());
+        for (SseEmitter emitter : targets) {
+            send(emitter, notification);
+        }
+    }
+
+    public void send(SseEmitter emitter, Notification notification) {
+        write(emitter, () -> SseEmitter.event()
+                .name(notification.event())
+                .data(notification.data(), MediaType.APPLICATION_JSON));
+    }
+
+    public boolean hasManagers() {
+        return !managers.isEmpty();
+    }
+
+    public int size() {
+        return owners.size();
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (SseEmitter emitter : owners.keySet()) {
+            write(emitter, () -> SseEmitter.event().comment("heartbeat"));
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        owners.keySet().forEach(SseEmitter::complete);
+        writers.shutdown();
+    }
+
+    SseEmitter newEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    // An event builder is consumed by the send, so each write builds its own
+    private void write(SseEmitter emitter, Supplier<SseEmitter.SseEventBuilder> event) {
+        Outbox outbox = outboxes.get(emitter);
+        if (outbox == null) {
+            return; // Already dropped
+        }
+        outbox.events.add(event);
+        if (outbox.draining.compareAndSet(false, true)) {
+            writers.execute(() -> drain(emitter, outbox));
+        }
+    }
+
+    private void drain(SseEmitter emitter, Outbox outbox) {
+        do {
+            Supplier<SseEmitter.SseEventBuilder> event;
+            while ((event = outbox.events.poll()) != null) {
+                try {
+                    emitter.send(event.get());
+                } catch (IOException | IllegalStateException e) {
+                    // Client gone, or the emitter already completed
+                    log.debug("Dropping notification stream of {}: {}", owners.get(emitter), e.getMessage());
+                    remove(emitter);
+                    outbox.events.clear();
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+            outbox.draining.set(false);
+            // A write may have queued after the last poll but before the flag was cleared
+        } while (!outbox.events.isEmpty() && outbox.draining.compareAndSet(false, true));
+    }
+
+    private void remove(SseEmitter emitter) {
+        managers.remove(emitter);
+        outboxes.remove(emitter);
+        UUID userId = owners.remove(emitter);
+        if (userId != null) {
+            byUser.computeIfPresent(userId, (id, emitters) -> {
+                emitters.remove(emitter);
+                return emitters.isEmpty() ? null : emitters;
+            });
+        }
+    }
+
+    private static final class Outbox {
+        final Queue<Supplier<SseEmitter.SseEventBuilder>> events = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.hrcore.notification;
+
+import com.example.hrcore.dto.PendingCountsDto;
+import com.example.hrcore.dto.StatusChangeDto;
+import com.example.hrcore.entity.enums.AbsenceRequestStatus;
+import com.example.hrcore.entity.enums.FeedbackStatus;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.event.AbsenceRequestChangedEvent;
+import com.example.hrcore.event.FeedbackChangedEvent;
+import com.example.hrcore.repository.AbsenceRequestRepository;
+import com.example.hrcore.repository.FeedbackRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Turns committed absence request and feedback changes into server-sent events.
+ * <p>
+ * The author of a request or feedback item is told when it is decided. Managers and above get the number
+ * of pending absence requests and feedback items, the same totals as the pending lists: once when they
+ * connect and then whenever they change. Changes only mark the counts stale, and a scheduled task
+ * ({@code notifications.pending-counts-interval-ms}) recounts at most once per interval, so a burst such as
+ * a bulk decision costs one pair of count queries rather than one per request.
+ */
+@Slf4j
+@Service
+public class NotificationService {
+
+    private static final String ABSENCE_REQUEST = "AbsenceRequest";
+    private static final String FEEDBACK = "Feedback";
+
+    private final AbsenceRequestRepository absenceRequestRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final NotificationEmitters emitters;
+    private final NotificationBroker broker;
+    private final ObjectMapper objectMapper;
+    private final long countsMaxAgeNanos;
+    private final AtomicBoolean pendingCountsStale = new AtomicBoolean();
+
+    private volatile PendingCountsDto latestCounts;
+    private volatile long latestCountsAtNanos;
+
+    public NotificationService(AbsenceRequestRepository absenceRequestRepository,
+                               FeedbackRepository feedbackRepository,
+                               NotificationEmitters emitters,
+                               NotificationBroker broker,
+                               ObjectMapper objectMapper,
+                               @Value("${notifications.pending-counts-cache-ms:5000}") long countsMaxAgeMs) {
+        this.absenceRequestRepository = absenceRequestRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.emitters = emitters;
+        this.broker = broker;
+        this.objectMapper = objectMapper;
+        this.countsMaxAgeNanos = TimeUnit.MILLISECONDS.toNanos(countsMaxAgeMs);
+    }
+
+    /**
+     * Opens the event stream of a user. Managers and above start with the current pending counts;
+     * recently computed counts are reused, so a wave of reconnects does not become a wave of count queries.
+     */
+    public SseEmitter subscribe(UUID userId, UserRole role) {
+        boolean manager = role.isManagerOrAbove();
+        SseEmitter emitter = emitters.register(userId, manager);
+        if (manager) {
+            PendingCountsDto counts = latestCounts;
+            if (counts == null || System.nanoTime() - latestCountsAtNanos > countsMaxAgeNanos) {
+                counts = countPending();
+            }
+            emitters.send(emitter, pendingCounts(counts));
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAbsenceRequestChanged(AbsenceRequestChangedEvent event) {
+        pendingCountsStale.set(true);
+        if (event.status() != AbsenceRequestStatus.PENDING) {
+            broker.publish(statusChanged(event.userId(), ABSENCE_REQUEST, event.requestId(), event.status().name()));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFeedbackChanged(FeedbackChangedEvent event) {
+        pendingCountsStale.set(true);
+        if (event.status() != FeedbackStatus.PENDING) {
+            broker.publish(statusChanged(event.fromUserId(), FEEDBACK, event.feedbackId(), event.status().name()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.pending-counts-interval-ms:1000}")
+    public void publishPendingCounts() {
+        if (!pendingCountsStale.getAndSet(false)) {
+            return;
+        }
+        try {
+            broker.publish(pendingCounts(countPending()));
+        } catch (RuntimeException e) {
+            pendingCountsStale.set(true);
+            log.warn("Could not publish pending counts, retrying: {}", e.getMessage());
+        }
+    }
+
+    private PendingCountsDto countPending() {
+        PendingCountsDto counts = PendingCountsDto.builder()
+                .absenceRequests(absenceRequestRepository.countByStatus(AbsenceRequestStatus.PENDING))
+                .feedback(feedbackRepository.countByStatus(FeedbackStatus.PENDING))
+                .asOf(Instant.now())
+                .build();
+        latestCounts = counts;
+        latestCountsAtNanos = System.nanoTime();
+        return counts;
+    }
+
+    private Notification pendingCounts(PendingCountsDto counts) {
+        return new Notification(null, Notification.PENDING_COUNTS, objectMapper.valueToTree(counts));
+    }
+
+    private Notification statusChanged(UUID userId, String entityType, Object id, String status) {
+        StatusChangeDto change = new StatusChangeDto(entityType, String.valueOf(id), status);
+        return new Notification(userId, Notification.STATUS_CHANGED, objectMapper.valueToTree(change));
+    }
+}
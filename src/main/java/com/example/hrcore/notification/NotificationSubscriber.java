@@ -0,0 +1,51 @@
+package com.example.hrcore.notification;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts the notification listener container once Redis is reachable, checking again every
+ * {@code notifications.redis.retry-after-ms} until it is. Until then this node only delivers the
+ * notifications raised on it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notifications.redis.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationSubscriber {
+
+    private final RedisMessageListenerContainer container;
+    private final RedisConnectionFactory connectionFactory;
+
+    private volatile boolean warned;
+
+    public NotificationSubscriber(RedisMessageListenerContainer container, RedisConnectionFactory connectionFactory) {
+        this.container = container;
+        this.connectionFactory = connectionFactory;
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.redis.retry-after-ms:5000}")
+    public void subscribe() {
+        if (container.isRunning()) {
+            return;
+        }
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+            container.start();
+            warned = false;
+            log.info("Subscribed to notifications from other nodes");
+        } catch (RuntimeException e) {
+            if (container.isRunning()) {
+                container.stop();
+            }
+            if (!warned) {
+                warned = true;
+                log.warn("Redis unavailable, notifications stay on this node until it is: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.hrcore.outbox;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes relayed events as Spring application events of type {@link OutboxMessage}, for local
+ * development and tests ({@code outbox.sink=in-process}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "in-process")
+public class InProcessOutboxSink implements OutboxSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            log.debug("Outbox event {} {} {}", message.id(), message.eventType(), message.aggregateId());
+            eventPublisher.publishEvent(message);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.hrcore.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox event as handed to an {@link OutboxSink}. {@code id} increases with commit order on a
+ * single relay and lets consumers drop duplicates, since delivery is at least once.
+ */
+public record OutboxMessage(Long id,
+                            String aggregateType,
+                            String aggregateId,
+                            String eventType,
+                            String payload,
+                            LocalDateTime occurredAt) {
+}
@@ -0,0 +1,127 @@
+package com.example.hrcore.outbox;
+
+import com.example.hrcore.entity.OutboxEvent;
+import com.example.hrcore.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves committed outbox events to the {@link OutboxSink} in batches.
+ * <p>
+ * Each batch is read, published and marked in one transaction. On PostgreSQL the rows are taken with
+ * {@code FOR UPDATE SKIP LOCKED}, so relays on several nodes share the backlog instead of waiting on
+ * each other. If publishing fails the transaction rolls back and the batch is retried on the next run;
+ * if marking fails after publishing, the batch is sent again. Delivery is therefore at least once.
+ * Published events are deleted after {@code outbox.retention}.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink sink;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration retention;
+    private final Counter published;
+    private final Counter failures;
+    private volatile Boolean postgres;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxSink sink,
+                       JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${outbox.relay.max-batches-per-run:50}") int maxBatchesPerRun,
+                       @Value("${outbox.retention:7d}") Duration retention) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.retention = retention;
+        this.published = Counter.builder("outbox.events.published")
+                .description("Outbox events handed to the sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("outbox.relay.failures")
+                .description("Outbox batches that failed to publish and will be retried")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drains the backlog, up to {@code outbox.relay.max-batches-per-run} batches per run.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:1000}")
+    public void relay() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            int relayed;
+            try {
+                relayed = relayBatch();
+            } catch (RuntimeException e) {
+                failures.increment();
+                log.warn("Outbox relay failed, retrying on the next run: {}", e.getMessage());
+                return;
+            }
+            if (relayed < batchSize) {
+                return;
+            }
+        }
+    }
+
+    int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = isPostgres()
+                    ? outboxEventRepository.lockUnpublishedBatch(batchSize)
+                    : outboxEventRepository.findUnpublishedBatch(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            sink.publish(batch.stream().map(OutboxRelay::toMessage).toList());
+            outboxEventRepository.markPublished(batch.stream().map(OutboxEvent::getId).toList(), LocalDateTime.now());
+            return batch.size();
+        });
+        int count = relayed != null ? relayed : 0;
+        published.increment(count);
+        return count;
+    }
+
+    @Scheduled(cron = "${outbox.cleanup-cron:0 15 4 * * *}")
+    public void deletePublished() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+        log.info("Deleted {} published outbox events older than {}", deleted, retention);
+    }
+
+    private static OutboxMessage toMessage(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType(), event.getPayload(), event.getCreatedAt());
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute((Connection connection) ->
+                    connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equals(product);
+            postgres = result;
+        }
+        return result;
+    }
+}
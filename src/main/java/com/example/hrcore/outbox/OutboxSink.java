@@ -0,0 +1,14 @@
+package com.example.hrcore.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events, selected with {@code outbox.sink}.
+ */
+public interface OutboxSink {
+
+    /**
+     * Publishes the batch in order. Throwing leaves the whole batch unpublished, to be retried.
+     */
+    void publish(List<OutboxMessage> messages);
+}
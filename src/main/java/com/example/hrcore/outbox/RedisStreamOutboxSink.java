@@ -0,0 +1,65 @@
+package com.example.hrcore.outbox;
+
+import com.example.hrcore.metrics.RequestMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.connection.stream.StringRecord;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Appends relayed events to a Redis stream ({@code outbox.redis.stream}), one pipelined round trip per batch.
+ * Consumers read it with their own consumer group and resume from their last acknowledged entry.
+ * The stream is trimmed to roughly {@code outbox.redis.max-length} entries.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.sink", havingValue = "redis-stream", matchIfMissing = true)
+public class RedisStreamOutboxSink implements OutboxSink {
+
+    private final StringRedisTemplate redisTemplate;
+    private final String stream;
+    private final XAddOptions addOptions;
+
+    public RedisStreamOutboxSink(StringRedisTemplate redisTemplate,
+                                 @Value("${outbox.redis.stream:hrcore:events}") String stream,
+                                 @Value("${outbox.redis.max-length:100000}") long maxLength) {
+        this.redisTemplate = redisTemplate;
+        this.stream = stream;
+        this.addOptions = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        long start = System.nanoTime();
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (OutboxMessage message : messages) {
+                    redis.xAdd(toRecord(message), addOptions);
+                }
+                return null;
+            });
+        } finally {
+            RequestMetrics.recordRedis("outbox stream", System.nanoTime() - start);
+        }
+    }
+
+    private StringRecord toRecord(OutboxMessage message) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("id", String.valueOf(message.id()));
+        fields.put("aggregateType", message.aggregateType());
+        fields.put("aggregateId", message.aggregateId());
+        fields.put("eventType", message.eventType());
+        fields.put("payload", message.payload());
+        fields.put("occurredAt", message.occurredAt().toString());
+        return StreamRecords.string(fields).withStreamKey(stream);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.hrcore.ratelimit;
+
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to observed latency, in the style of a gradient (Vegas-like) limiter.
+ * <p>
+ * A long-term average of request latency approximates the latency of an unloaded backend.
+ * When recent latency rises above it, requests are queueing somewhere (usually for a database
+ * connection) and the limit shrinks in proportion; while latency stays close to the baseline the
+ * limit grows by a small queue allowance. Requests beyond the limit are rejected instead of
+ * piling up on the connection pool.
+ * <p>
+ * Requests may take several slots, so an expensive search holds more of the limit than a read by id.
+ * Latency is tracked per route: each route is compared with its own baseline, so a shift in the traffic
+ * mix towards slower routes is not mistaken for the backend slowing down.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final String DEFAULT_ROUTE = "";
+
+    private final Settings settings;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, RttWindow> windows = new HashMap<>();
+
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(Settings settings) {
+        this.settings = settings;
+        this.limit = clamp(settings.getInitialLimit());
+    }
+
+    /**
+     * Reserves a slot, or returns {@code false} if the limit is reached.
+     */
+    public boolean tryAcquire() {
+        return tryAcquire(1);
+    }
+
+    /**
+     * Reserves {@code cost} slots, or returns {@code false} if they would exceed the limit.
+     */
+    public boolean tryAcquire(long cost) {
+        int slots = slots(cost);
+        while (true) {
+            int current = inflight.get();
+            if (current + slots > (int) limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + slots)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long rttNanos, boolean successful) {
+        release(DEFAULT_ROUTE, 1, rttNanos, successful);
+    }
+
+    /**
+     * Releases the slots taken for {@code cost} and feeds the latency into the limit, compared with the
+     * baseline of {@code route}. Failed requests only release their slots, since their latency says little
+     * about backend load.
+     */
+    public void release(String route, long cost, long rttNanos, boolean successful) {
+        int inflightAtCompletion = inflight.getAndAdd(-slots(cost));
+        if (!successful || rttNanos <= 0) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            RttWindow window = windows.computeIfAbsent(route, r -> new RttWindow());
+            window.samples++;
+            if (window.samples == 1) {
+                window.longRttNanos = rttNanos;
+                window.shortRttNanos = rttNanos;
+                return;
+            }
+            window.longRttNanos += (rttNanos - window.longRttNanos) / Math.min(window.samples, settings.getLongWindow());
+            window.shortRttNanos += (rttNanos - window.shortRttNanos) / Math.min(window.samples, settings.getShortWindow());
+
+            // Let the baseline recover faster after a sustained slowdown has ended
+            if (window.longRttNanos / window.shortRttNanos > 2) {
+                window.longRttNanos *= 0.95;
+            }
+
+            double current = limit;
+            // Only grow when the limit is actually being used, otherwise it drifts up unchecked
+            if (inflightAtCompletion < current / 2
+                    && window.shortRttNanos <= window.longRttNanos * settings.getTolerance()) {
+                return;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0,
+                    settings.getTolerance() * window.longRttNanos / window.shortRttNanos));
+            double target = current * gradient + Math.sqrt(current);
+            limit = clamp(current * (1 - settings.getSmoothing()) + target * settings.getSmoothing());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private double clamp(double value) {
+        return Math.max(settings.getMinLimit(), Math.min(settings.getMaxLimit(), value));
+    }
+
+    /** Capped at the minimum limit, so even the most expensive request can run on an idle limiter. */
+    private int slots(long cost) {
+        return (int) Math.max(1, Math.min(cost, settings.getMinLimit()));
+    }
+
+    private static final class RttWindow {
+        private double longRttNanos;
+        private double shortRttNanos;
+        private long samples;
+    }
+
+    @Data
+    public static class Settings {
+        private boolean enabled = true;
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+        /** How far recent latency may exceed the baseline before the limit shrinks. */
+        private double tolerance = 1.5;
+        private double smoothing = 0.2;
+        private int longWindow = 600;
+        private int shortWindow = 10;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.hrcore.ratelimit;
+
+import com.example.hrcore.config.RateLimitConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limiter whose buckets live in Redis so the limit holds across replicas.
+ * <p>
+ * To avoid a Redis round trip per request, each node leases a small batch of tokens
+ * from the shared bucket and serves requests from that lease until it runs out or expires.
+ * Grants fetched while a lease is still held are added to it. Tokens still unused when the lease expires
+ * or is dropped go back to the shared bucket, unless it has been refilled since, so a client sending fewer
+ * requests than the lease size per lease TTL is not charged for tokens it never used.
+ * If Redis is unreachable the limiter falls back to the node-local Bucket4j buckets
+ * and retries Redis after a short back-off.
+ */
+@Slf4j
+@Component
+public class DistributedRateLimiter {
+
+    private final RedisTokenBucket redisTokenBucket;
+    private final RateLimitConfig rateLimitConfig;
+    private final Cache<String, TokenLease> leases;
+
+    private volatile boolean redisDown;
+    private volatile long redisRetryAtNanos;
+
+    @Value("${rate-limit.redis.enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${rate-limit.redis.lease-size:10}")
+    private long leaseSize;
+
+    @Value("${rate-limit.redis.retry-after-ms:5000}")
+    private long redisRetryAfterMs;
+
+    public DistributedRateLimiter(RedisTokenBucket redisTokenBucket,
+                                  RateLimitConfig rateLimitConfig,
+                                  @Value("${rate-limit.max-clients:100000}") long maxClients,
+                                  @Value("${rate-limit.redis.lease-ttl-ms:1000}") long leaseTtlMs) {
+        this.redisTokenBucket = redisTokenBucket;
+        this.rateLimitConfig = rateLimitConfig;
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterWrite(Duration.ofMillis(leaseTtlMs))
+                // Expire leases on time rather than on the next cache access, so their tokens are back promptly
+                .scheduler(Scheduler.systemScheduler())
+                .<String, TokenLease>removalListener((key, lease, cause) -> giveBack(key, lease, cause))
+                .build();
+    }
+
+    public RateLimitResult tryConsume(String key) {
+        return tryConsume(key, rateLimitConfig.getCapacity(), rateLimitConfig.getRefillPeriodMs(), 1);
+    }
+
+    /**
+     * Takes {@code cost} tokens from the bucket identified by {@code key}, sized to {@code capacity}.
+     */
+    public RateLimitResult tryConsume(String key, long capacity, long refillPeriodMs, long cost) {
+        if (!redisEnabled || (redisDown && System.nanoTime() - redisRetryAtNanos < 0)) {
+            return consumeLocally(key, capacity, refillPeriodMs, cost);
+        }
+
+        TokenLease lease = leases.getIfPresent(key);
+        if (lease != null && lease.tryTake(cost)) {
+            return new RateLimitResult(true, lease.remaining(), 0);
+        }
+
+        try {
+            return consumeFromRedis(key, capacity, refillPeriodMs, cost);
+        } catch (RuntimeException e) {
+            if (!redisDown) {
+                log.warn("Redis rate limiting unavailable, falling back to local buckets: {}", e.getMessage());
+            }
+            redisRetryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(redisRetryAfterMs);
+            redisDown = true;
+            return consumeLocally(key, capacity, refillPeriodMs, cost);
+        }
+    }
+
+    private RateLimitResult consumeFromRedis(String key, long capacity, long refillPeriodMs, long cost) {
+        long requested = Math.max(cost, Math.min(leaseSize, capacity));
+        RedisTokenBucket.Grant grant = redisTokenBucket.take(key, capacity, refillPeriodMs, requested, cost);
+
+        if (redisDown) {
+            redisDown = false;
+            log.info("Redis rate limiting available again");
+        }
+
+        if (grant.granted() == 0) {
+            leases.invalidate(key);
+            return new RateLimitResult(false, 0, TimeUnit.MILLISECONDS.toNanos(grant.millisUntilRefill()));
+        }
+
+        long leased = grant.granted() - cost;
+        if (leased <= 0) {
+            return new RateLimitResult(true, grant.remaining() + leasedTokens(key), 0);
+        }
+        // Threads that ran out of the lease together each fetch a grant; add to the lease rather than replace it.
+        // Tokens from an earlier refill period are dropped, the shared bucket has been refilled since.
+        TokenLease lease = leases.asMap().merge(key, new TokenLease(leased, capacity, grant.periodStart()),
+                (held, fresh) -> held.periodStart == fresh.periodStart ? held.add(fresh) : fresh);
+        return new RateLimitResult(true, grant.remaining() + lease.remaining(), 0);
+    }
+
+    private void giveBack(String key, TokenLease lease, RemovalCause cause) {
+        if (key == null || lease == null || cause == RemovalCause.REPLACED) {
+            return;
+        }
+        long unused = lease.drain();
+        if (unused <= 0) {
+            return;
+        }
+        try {
+            redisTokenBucket.giveBack(key, lease.capacity, unused, lease.periodStart);
+        } catch (RuntimeException e) {
+            log.debug("Could not return {} leased tokens for {}: {}", unused, key, e.getMessage());
+        }
+    }
+
+    private long leasedTokens(String key) {
+        TokenLease lease = leases.getIfPresent(key);
+        return lease != null ? lease.remaining() : 0;
+    }
+
+    private RateLimitResult consumeLocally(String key, long capacity, long refillPeriodMs, long cost) {
+        return RateLimitResult.from(rateLimitConfig.resolveBucket(key, capacity, refillPeriodMs)
+                .tryConsumeAndReturnRemaining(cost));
+    }
+
+    private static final class TokenLease {
+        private final AtomicLong tokens;
+        private final long capacity;
+        private final long periodStart;
+
+        private TokenLease(long tokens, long capacity, long periodStart) {
+            this.tokens = new AtomicLong(tokens);
+            this.capacity = capacity;
+            this.periodStart = periodStart;
+        }
+
+        boolean tryTake(long cost) {
+            return tokens.getAndUpdate(t -> t >= cost ? t - cost : t) >= cost;
+        }
+
+        long remaining() {
+            return tokens.get();
+        }
+
+        TokenLease add(TokenLease other) {
+            tokens.addAndGet(other.remaining());
+            return this;
+        }
+
+        /** Empties the lease, so a request still holding it cannot spend tokens that were handed back. */
+        long drain() {
+            return tokens.getAndSet(0);
+        }
+    }
+}
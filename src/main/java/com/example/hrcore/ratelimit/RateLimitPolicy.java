@@ -0,0 +1,66 @@
+package com.example.hrcore.ratelimit;
+
+import com.example.hrcore.entity.enums.UserRole;
+import lombok.Data;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limit tiers bound from the {@code rate-limit.*} properties.
+ * <p>
+ * Authenticated users get the quota of their role, anonymous clients get {@link #capacity}.
+ * Each request costs {@link #defaultCost} tokens unless a route rule matches, so expensive
+ * endpoints such as searches drain the bucket faster than plain reads.
+ */
+@Data
+public class RateLimitPolicy {
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private long capacity = 100;
+    private long refillPeriodMs = 60000;
+    private long defaultCost = 1;
+    private Map<UserRole, Long> roleQuotas = new EnumMap<>(UserRole.class);
+    private List<RouteCost> routes = new ArrayList<>();
+
+    public long quotaFor(UserRole role) {
+        if (role == null) {
+            return capacity;
+        }
+        return roleQuotas.getOrDefault(role, capacity);
+    }
+
+    /**
+     * Cost of the first route rule matching the request; rules are checked in order.
+     */
+    public long costOf(String method, String path) {
+        for (RouteCost route : routes) {
+            if (route.matches(method, path)) {
+                return route.getCost();
+            }
+        }
+        return defaultCost;
+    }
+
+    @Data
+    public static class RouteCost {
+        private String pattern;
+        private String method;
+        private long cost = 1;
+
+        boolean matches(String requestMethod, String path) {
+            if (pattern == null) {
+                return false;
+            }
+            if (method != null && !method.isBlank() && !method.equalsIgnoreCase(requestMethod)) {
+                return false;
+            }
+            return PATH_MATCHER.match(pattern, path);
+        }
+    }
+}
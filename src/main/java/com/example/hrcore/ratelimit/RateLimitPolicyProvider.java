@@ -0,0 +1,94 @@
+package com.example.hrcore.ratelimit;
+
+import com.example.hrcore.config.RateLimitConfig;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Holds the active {@link RateLimitPolicy}.
+ * <p>
+ * The policy is bound from the application properties at startup. When
+ * {@code rate-limit.policy-file} points to a properties file, its {@code rate-limit.*} entries
+ * override the application ones and the file is re-read whenever it changes, so quotas and
+ * route costs can be tuned without a restart.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitPolicyProvider {
+
+    private static final String PREFIX = "rate-limit";
+
+    private final Environment environment;
+    private final RateLimitConfig rateLimitConfig;
+
+    @Value("${rate-limit.policy-file:}")
+    private String policyFile;
+
+    private volatile RateLimitPolicy policy;
+    private volatile long policyFileLastModified;
+
+    @PostConstruct
+    void init() {
+        policy = bind(new Properties());
+        reloadIfChanged();
+    }
+
+    public RateLimitPolicy getPolicy() {
+        return policy;
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.policy-refresh-ms:30000}")
+    public void reloadIfChanged() {
+        if (policyFile == null || policyFile.isBlank()) {
+            return;
+        }
+        Path path = Path.of(policyFile);
+        try {
+            if (!Files.isRegularFile(path)) {
+                log.warn("Rate limit policy file not found: {}", path);
+                return;
+            }
+            long lastModified = Files.getLastModifiedTime(path).toMillis();
+            if (lastModified == policyFileLastModified) {
+                return;
+            }
+            Properties overrides = PropertiesLoaderUtils.loadProperties(new FileSystemResource(path));
+            policy = bind(overrides);
+            policyFileLastModified = lastModified;
+            // Buckets were sized for the previous quotas
+            rateLimitConfig.getRateLimitBuckets().invalidateAll();
+            log.info("Loaded rate limit policy from {}", path);
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to load rate limit policy from {}, keeping the current policy: {}", path, e.getMessage());
+        }
+    }
+
+    private RateLimitPolicy bind(Properties overrides) {
+        List<ConfigurationPropertySource> sources = new ArrayList<>();
+        sources.add(new MapConfigurationPropertySource(overrides));
+        ConfigurationPropertySources.get(environment).forEach(sources::add);
+        return new Binder(sources)
+                .bind(PREFIX, Bindable.of(RateLimitPolicy.class))
+                .orElseGet(RateLimitPolicy::new);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.hrcore.ratelimit;
+
+import io.github.bucket4j.ConsumptionProbe;
+
+/**
+ * Outcome of a single rate limit check, independent of where the bucket lives.
+ */
+public record RateLimitResult(boolean consumed, long remainingTokens, long nanosToWaitForRefill) {
+
+    public static RateLimitResult from(ConsumptionProbe probe) {
+        return new RateLimitResult(probe.isConsumed(), probe.getRemainingTokens(), probe.getNanosToWaitForRefill());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.hrcore.ratelimit;
+
+import com.example.hrcore.metrics.RequestMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Token bucket kept in Redis and updated atomically by a Lua script,
+ * so every replica draws from the same budget.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisTokenBucket {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/token_bucket.lua"), List.class);
+
+    private static final RedisScript<Long> RETURN_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/token_bucket_return.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Takes up to {@code requested} tokens from the shared bucket, or none if fewer than
+     * {@code minimum} are available.
+     */
+    public Grant take(String key, long capacity, long refillPeriodMs, long requested, long minimum) {
+        long start = System.nanoTime();
+        List<?> result;
+        try {
+            result = redisTemplate.execute(
+                    TOKEN_BUCKET_SCRIPT,
+                    List.of(KEY_PREFIX + key),
+                    String.valueOf(capacity),
+                    String.valueOf(refillPeriodMs),
+                    String.valueOf(requested),
+                    String.valueOf(minimum));
+        } finally {
+            RequestMetrics.recordRedis("rate-limit script", System.nanoTime() - start);
+        }
+
+        if (result == null || result.size() != 4) {
+            throw new IllegalStateException("Unexpected token bucket script result: " + result);
+        }
+        return new Grant(toLong(result.get(0)), toLong(result.get(1)), toLong(result.get(2)), toLong(result.get(3)));
+    }
+
+    /**
+     * Puts {@code tokens} taken but not used back into the bucket, up to its capacity. Dropped if the bucket has
+     * been refilled since {@code periodStart}, the refill period the tokens were granted in.
+     */
+    public void giveBack(String key, long capacity, long tokens, long periodStart) {
+        redisTemplate.execute(
+                RETURN_SCRIPT,
+                List.of(KEY_PREFIX + key),
+                String.valueOf(capacity),
+                String.valueOf(tokens),
+                String.valueOf(periodStart));
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : Long.parseLong(String.valueOf(value));
+    }
+
+    public record Grant(long granted, long remaining, long millisUntilRefill, long periodStart) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.hrcore.repository;
+
+import com.example.hrcore.entity.AbsenceBalance;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read side of the absence balance ledger; writes go through {@link com.example.hrcore.service.AbsenceBalanceService}.
+ */
+@Repository
+public interface AbsenceBalanceRepository extends JpaRepository<AbsenceBalance, AbsenceBalance.Key> {
+
+    /**
+     * At most one row per absence type, read by primary key prefix.
+     */
+    @Query("SELECT b FROM AbsenceBalance b WHERE b.id.userId = :userId AND b.id.year = :year ORDER BY b.id.type")
+    List<AbsenceBalance> findByUserAndYear(@Param("userId") UUID userId, @Param("year") int year);
+}
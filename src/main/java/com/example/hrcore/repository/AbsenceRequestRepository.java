@@ -1,13 +1,20 @@
 package com.example.hrcore.repository;
 
+import com.example.hrcore.dto.CalendarAbsenceDto;
 import com.example.hrcore.entity.AbsenceRequest;
 import com.example.hrcore.entity.enums.AbsenceRequestStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -21,5 +28,85 @@ public interface AbsenceRequestRepository extends
     
     Page<AbsenceRequest> findByUserIdOrderByStartDateDesc(UUID userId, Pageable pageable);
     Page<AbsenceRequest> findByStatusOrderByStartDateDesc(AbsenceRequestStatus status, Pageable pageable);
-}
 
+    /**
+     * Statuses that hold a date, matching the predicate of the {@code absence_requests_no_overlap} constraint.
+     * Kept as literals so PostgreSQL can match the constraint's partial GiST index.
+     */
+    String ACTIVE = "a.status IN (com.example.hrcore.entity.enums.AbsenceRequestStatus.PENDING, "
+            + "com.example.hrcore.entity.enums.AbsenceRequestStatus.APPROVED)";
+
+    String OVERLAPS = "date_range_overlaps(a.startDate, a.endDate, :startDate, :endDate)";
+
+    /**
+     * Pending or approved requests of one user sharing at least one day with {@code [startDate, endDate]}.
+     */
+    @Query(value = "SELECT a FROM AbsenceRequest a WHERE a.userId = :userId AND " + ACTIVE + " AND " + OVERLAPS,
+            countQuery = "SELECT COUNT(a) FROM AbsenceRequest a WHERE a.userId = :userId AND " + ACTIVE + " AND " + OVERLAPS)
+    Page<AbsenceRequest> findOverlapping(@Param("userId") UUID userId,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate,
+                                         Pageable pageable);
+
+    /**
+     * Whether the user already holds a pending or approved request overlapping the range,
+     * ignoring {@code excludeId} (the request being changed, or null).
+     */
+    @Query("SELECT COUNT(a) > 0 FROM AbsenceRequest a WHERE a.userId = :userId AND " + ACTIVE + " AND " + OVERLAPS
+            + " AND (:excludeId IS NULL OR a.id <> :excludeId)")
+    boolean existsOverlapping(@Param("userId") UUID userId,
+                              @Param("startDate") LocalDate startDate,
+                              @Param("endDate") LocalDate endDate,
+                              @Param("excludeId") Long excludeId);
+
+    /**
+     * Pending or approved requests of a manager's direct reports overlapping the range, in one query.
+     * The user is fetched with the request so mapping to DTOs does not load each report separately.
+     */
+    @Query("SELECT a FROM AbsenceRequest a JOIN FETCH a.user u WHERE u.manager.id = :managerId AND " + ACTIVE
+            + " AND " + OVERLAPS + " ORDER BY a.startDate, a.endDate")
+    List<AbsenceRequest> findTeamOverlapping(@Param("managerId") UUID managerId,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+
+    /**
+     * Requests with the given ids and their users, in one query, for bulk decisions.
+     */
+    @Query("SELECT a FROM AbsenceRequest a JOIN FETCH a.user u WHERE a.id IN :ids")
+    List<AbsenceRequest> findAllWithUserByIdIn(@Param("ids") Collection<Long> ids);
+
+    String CALENDAR_ABSENCE = "SELECT new com.example.hrcore.dto.CalendarAbsenceDto("
+            + "a.id, a.userId, u.firstName, u.lastName, a.type, a.status, a.startDate, a.endDate) "
+            + "FROM AbsenceRequest a JOIN a.user u ";
+
+    /**
+     * Calendar entries for a manager's direct reports overlapping the range, in one query.
+     */
+    @Query(CALENDAR_ABSENCE + "WHERE u.manager.id = :managerId AND " + ACTIVE + " AND " + OVERLAPS
+            + " ORDER BY a.startDate, a.id")
+    List<CalendarAbsenceDto> findCalendarByManager(@Param("managerId") UUID managerId,
+                                                   @Param("startDate") LocalDate startDate,
+                                                   @Param("endDate") LocalDate endDate);
+
+    /**
+     * Calendar entries for a department overlapping the range, in one query.
+     */
+    @Query(CALENDAR_ABSENCE + "WHERE u.department = :department AND " + ACTIVE + " AND " + OVERLAPS
+            + " ORDER BY a.startDate, a.id")
+    List<CalendarAbsenceDto> findCalendarByDepartment(@Param("department") String department,
+                                                      @Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate);
+    
+    long countByStatus(AbsenceRequestStatus status);
+    
+    /**
+     * Rows changed after the keyset position {@code (updatedAt, id)} and no later than {@code until},
+     * oldest first, for the change feed.
+     */
+    @Query("SELECT a FROM AbsenceRequest a WHERE (a.updatedAt > :updatedAt OR (a.updatedAt = :updatedAt AND a.id > :id)) " +
+           "AND a.updatedAt <= :until ORDER BY a.updatedAt, a.id")
+    List<AbsenceRequest> findChangedSince(@Param("updatedAt") LocalDateTime updatedAt,
+                                          @Param("id") Long id,
+                                          @Param("until") LocalDateTime until,
+                                          Pageable pageable);
+}
@@ -0,0 +1,25 @@
+package com.example.hrcore.repository;
+
+import com.example.hrcore.entity.DeletedRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DeletedRecordRepository extends JpaRepository<DeletedRecord, Long> {
+
+    /**
+     * Tombstones of {@code entityType} after {@code afterId} and no later than {@code until}, oldest first.
+     */
+    @Query("SELECT d FROM DeletedRecord d WHERE d.entityType = :entityType AND d.id > :afterId " +
+           "AND d.deletedAt <= :until ORDER BY d.id")
+    List<DeletedRecord> findSince(@Param("entityType") String entityType,
+                                  @Param("afterId") long afterId,
+                                  @Param("until") LocalDateTime until,
+                                  Pageable pageable);
+}
@@ -6,8 +6,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -16,5 +21,24 @@ public interface FeedbackRepository extends JpaRepository<Feedback, Long>, JpaSp
     Page<Feedback> findByToUserIdAndStatusOrderByCreatedAtDesc(UUID toUserId, FeedbackStatus status, Pageable pageable);
     Page<Feedback> findByFromUserIdOrderByCreatedAtDesc(UUID fromUserId, Pageable pageable);
     Page<Feedback> findByStatusOrderByCreatedAtDesc(FeedbackStatus status, Pageable pageable);
+
+    /**
+     * Feedback with the given ids and their recipients, in one query, for bulk moderation.
+     */
+    @Query("SELECT f FROM Feedback f JOIN FETCH f.toUser u WHERE f.id IN :ids")
+    List<Feedback> findAllWithRecipientByIdIn(@Param("ids") Collection<Long> ids);
+    
+    long countByStatus(FeedbackStatus status);
+    
+    /**
+     * Rows changed after the keyset position {@code (updatedAt, id)} and no later than {@code until},
+     * oldest first, for the change feed.
+     */
+    @Query("SELECT f FROM Feedback f WHERE (f.updatedAt > :updatedAt OR (f.updatedAt = :updatedAt AND f.id > :id)) " +
+           "AND f.updatedAt <= :until ORDER BY f.updatedAt, f.id")
+    List<Feedback> findChangedSince(@Param("updatedAt") LocalDateTime updatedAt,
+                                    @Param("id") Long id,
+                                    @Param("until") LocalDateTime until,
+                                    Pageable pageable);
 }
 
@@ -19,5 +19,4 @@ public interface InvalidTokenRepository extends JpaRepository<InvalidToken, Long
     Optional<InvalidToken> findByTokenJti(String tokenJti);
     List<InvalidToken> findByUserId(UUID userId);
     List<InvalidToken> findByExpiresAtBefore(LocalDateTime dateTime);
-    void deleteByExpiresAtBefore(LocalDateTime dateTime);
 }
@@ -2,14 +2,18 @@ package com.example.hrcore.repository;
 
 import com.example.hrcore.entity.User;
 import com.example.hrcore.entity.enums.UserRole;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -22,9 +26,28 @@ public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificat
     @Query("SELECT u FROM User u WHERE u.manager.id = :managerId")
     List<User> findDirectReports(@Param("managerId") UUID managerId);
     
+    boolean existsByIdAndManagerId(UUID id, UUID managerId);
+    
+    /**
+     * The ids among {@code ids} whose direct manager is {@code managerId}.
+     */
+    @Query("SELECT u.id FROM User u WHERE u.manager.id = :managerId AND u.id IN :ids")
+    Set<UUID> findReportIdsAmong(@Param("managerId") UUID managerId, @Param("ids") Collection<UUID> ids);
+    
     @Query("SELECT u FROM User u WHERE u.role = :role")
     List<User> findByRole(@Param("role") UserRole role);
     
     boolean existsByEmail(String email);
+    
+    /**
+     * Rows changed after the keyset position {@code (updatedAt, id)} and no later than {@code until},
+     * oldest first, for the change feed.
+     */
+    @Query("SELECT u FROM User u WHERE (u.updatedAt > :updatedAt OR (u.updatedAt = :updatedAt AND u.id > :id)) " +
+           "AND u.updatedAt <= :until ORDER BY u.updatedAt, u.id")
+    List<User> findChangedSince(@Param("updatedAt") LocalDateTime updatedAt,
+                                @Param("id") UUID id,
+                                @Param("until") LocalDateTime until,
+                                Pageable pageable);
 }
 
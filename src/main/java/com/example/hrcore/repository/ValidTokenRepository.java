@@ -1,12 +1,18 @@
 package com.example.hrcore.repository;
 
+import com.example.hrcore.dto.ActiveSessionDto;
+import com.example.hrcore.dto.LoggedUserDto;
 import com.example.hrcore.entity.ValidToken;
 import java.util.UUID;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
-import java.util.UUID;
-import org.springframework.data.jpa.repository.Modifying;
-import java.util.UUID;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import java.util.UUID;
 import org.springframework.stereotype.Repository;
 import java.util.UUID;
@@ -17,10 +23,16 @@ import java.util.List;
 import java.util.UUID;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ValidTokenRepository extends JpaRepository<ValidToken, Long> {
 
+    String LOGGED_USERS_QUERY = "SELECT new com.example.hrcore.dto.LoggedUserDto("
+            + "t.id, t.userId, u.email, u.firstName, u.lastName, t.issuedAt, t.expiresAt) "
+            + "FROM ValidToken t LEFT JOIN User u ON u.id = t.userId "
+            + "WHERE t.expiresAt > :now";
+
     Optional<ValidToken> findByTokenJti(String tokenJti);
 
     List<ValidToken> findByUserId(UUID userId);
@@ -29,9 +41,21 @@ public interface ValidTokenRepository extends JpaRepository<ValidToken, Long> {
 
     List<ValidToken> findByExpiresAtAfter(LocalDateTime expiresAt);
 
-    @Modifying
-    @Query("DELETE FROM ValidToken vt WHERE vt.expiresAt < :now")
-    long deleteExpiredTokens(LocalDateTime now);
+    @Query(value = LOGGED_USERS_QUERY,
+            countQuery = "SELECT COUNT(t) FROM ValidToken t WHERE t.expiresAt > :now")
+    Page<LoggedUserDto> findLoggedInUsers(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query(LOGGED_USERS_QUERY)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<LoggedUserDto> streamLoggedInUsers(@Param("now") LocalDateTime now, Sort sort);
+
+    @Query("SELECT new com.example.hrcore.dto.ActiveSessionDto(t.tokenJti, t.userRole, u.department, t.expiresAt) "
+            + "FROM ValidToken t LEFT JOIN User u ON u.id = t.userId WHERE t.expiresAt > :now")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ActiveSessionDto> streamActiveSessions(@Param("now") LocalDateTime now);
+
+    @Query("SELECT t.tokenJti FROM ValidToken t WHERE t.userId = :userId")
+    List<String> findJtisByUserId(@Param("userId") UUID userId);
 
     void deleteByTokenJti(String tokenJti);
 
@@ -1,5 +1,7 @@
 package com.example.hrcore.security;
 
+import com.example.hrcore.entity.ValidToken;
+import com.example.hrcore.logging.AccessLogFilter;
 import com.example.hrcore.repository.ValidTokenRepository;
 import com.example.hrcore.service.TokenService;
 import jakarta.servlet.FilterChain;
@@ -19,6 +21,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Optional;
 
 @Slf4j
 @Component
@@ -33,18 +36,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         String method = request.getMethod();
         String path = request.getRequestURI();
-        log.info("Incoming request: {} {}", method, path);
-        
         String authorizationHeader = request.getHeader("Authorization");
-        log.info("Authorization header present: {}", authorizationHeader != null);
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             String token = authorizationHeader.substring(7);
-            log.info("Processing JWT token from Authorization header for {} {}", method, path);
+            log.debug("Processing JWT token from Authorization header for {} {}", method, path);
 
             try {
                 String jti = extractJti(token);
-                log.info("Extracted JTI from token: {}", jti);
+                log.debug("Extracted JTI from token: {}", jti);
                 
                 if (jti == null) {
                     log.error("JTI extraction failed - token format invalid");
@@ -53,23 +53,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 }
                 
                 boolean isValid = tokenService.isTokenValid(jti);
-                log.info("Token validation result for JTI {}: {}", jti, isValid);
-                
                 if (!isValid) {
-                    log.warn("Token validation failed - JTI: {} (token may have been revoked or expired)", jti);
+                    log.debug("Token validation failed - JTI: {} (token may have been revoked or expired)", jti);
                     response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Token is invalid or has been revoked");
                     return;
                 }
                 
-                log.info("Token is valid, extracting authorities from token");
-                Collection<GrantedAuthority> authorities = extractAuthoritiesFromToken(jti);
-                log.info("Extracted {} authorities: {}", authorities.size(), authorities);
+                Optional<ValidToken> validToken = findValidToken(jti);
+                Collection<GrantedAuthority> authorities = extractAuthoritiesFromToken(validToken);
                 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         jti, null, authorities
                 );
+                validToken.ifPresent(t -> {
+                    authentication.setDetails(t.getUserId());
+                    request.setAttribute(AccessLogFilter.USER_ID_ATTRIBUTE, t.getUserId());
+                });
                 SecurityContextHolder.getContext().setAuthentication(authentication);
-                log.info("Security context successfully set with {} authorities for {} {}", authorities.size(), method, path);
+                log.debug("Security context set with authorities {} for {} {}", authorities, method, path);
                 
             } catch (Exception e) {
                 log.error("Error processing JWT token for {} {}: {}", method, path, e.getMessage(), e);
@@ -77,34 +78,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 return;
             }
         } else {
-            log.warn("No valid Authorization header for {} {} - will continue without authentication", method, path);
+            log.debug("No valid Authorization header for {} {} - will continue without authentication", method, path);
         }
 
         filterChain.doFilter(request, response);
     }
 
-    private Collection<GrantedAuthority> extractAuthoritiesFromToken(String jti) {
-        Collection<GrantedAuthority> authorities = new ArrayList<>();
+    private Optional<ValidToken> findValidToken(String jti) {
         try {
             log.debug("Loading role from ValidToken using JTI: {}", jti);
-            
-            validTokenRepository.findByTokenJti(jti).ifPresentOrElse(
-                validToken -> {
-                    String role = validToken.getUserRole().name();
-                    String authority = "ROLE_" + role;
-                    authorities.add(new SimpleGrantedAuthority(authority));
-                    log.info("Loaded role from token - Role: {}, Authority: {}", role, authority);
-                },
-                () -> log.warn("No valid token found for JTI: {}", jti)
-            );
+            Optional<ValidToken> validToken = validTokenRepository.findByTokenJti(jti);
+            if (validToken.isEmpty()) {
+                log.warn("No valid token found for JTI: {}", jti);
+            }
+            return validToken;
         } catch (Exception e) {
             log.error("Error extracting authorities from token for JTI {}: {}", jti, e.getMessage(), e);
+            return Optional.empty();
         }
-        log.info("Total authorities extracted from token: {}", authorities.size());
+    }
+
+    private Collection<GrantedAuthority> extractAuthoritiesFromToken(Optional<ValidToken> validToken) {
+        Collection<GrantedAuthority> authorities = new ArrayList<>();
+        validToken.ifPresent(token -> {
+            String role = token.getUserRole().name();
+            String authority = "ROLE_" + role;
+            authorities.add(new SimpleGrantedAuthority(authority));
+            log.debug("Loaded role from token - Role: {}, Authority: {}", role, authority);
+        });
         return authorities;
     }
 
-    private String extractJti(String token) {
+    static String extractJti(String token) {
         try {
             String[] parts = token.split("\\.");
             if (parts.length != 3) {
@@ -1,6 +1,8 @@
 package com.example.hrcore.security;
 
+import com.example.hrcore.entity.enums.UserRole;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.oauth2.jwt.Jwt;
 
@@ -27,4 +29,28 @@ public class SecurityUtils {
         }
         return Optional.empty();
     }
+
+    /**
+     * User id attached by {@link JwtAuthenticationFilter} to the authentication details.
+     */
+    public static Optional<UUID> getAuthenticatedUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getDetails() instanceof UUID userId) {
+            return Optional.of(userId);
+        }
+        return Optional.empty();
+    }
+
+    public static Optional<UserRole> getAuthenticatedRole() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return Optional.empty();
+        }
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith("ROLE_"))
+                .map(authority -> UserRole.fromString(authority.substring(5)))
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
 }
@@ -0,0 +1,284 @@
+package com.example.hrcore.service;
+
+import com.example.hrcore.dto.AbsenceBalanceDto;
+import com.example.hrcore.dto.AbsenceRequestOperationContext;
+import com.example.hrcore.entity.AbsenceBalance;
+import com.example.hrcore.entity.AbsenceRequest;
+import com.example.hrcore.entity.enums.AbsenceRequestStatus;
+import com.example.hrcore.entity.enums.AbsenceRequestType;
+import com.example.hrcore.exception.UnauthorizedException;
+import com.example.hrcore.repository.AbsenceBalanceRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@code absence_balances} ledger: requested, pending and approved days per user, year and type.
+ * <p>
+ * {@link AbsenceRequestService} records every submission and status change here inside its own transaction,
+ * so the ledger commits or rolls back with the request. Each change is a single upsert of deltas per affected
+ * year. A nightly job ({@code absence-balance.rebuild-cron}) recomputes the whole table from
+ * {@code absence_requests} in bulk to repair any drift, e.g. from rows edited outside the service.
+ */
+@Slf4j
+@Service
+@Transactional(readOnly = true)
+public class AbsenceBalanceService {
+
+    private static final String POSTGRES_UPSERT = """
+            INSERT INTO absence_balances (user_id, balance_year, type, requested_days, pending_days, approved_days, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (user_id, balance_year, type) DO UPDATE SET
+                requested_days = absence_balances.requested_days + EXCLUDED.requested_days,
+                pending_days = absence_balances.pending_days + EXCLUDED.pending_days,
+                approved_days = absence_balances.approved_days + EXCLUDED.approved_days,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String UPDATE = """
+            UPDATE absence_balances
+            SET requested_days = requested_days + ?, pending_days = pending_days + ?, approved_days = approved_days + ?, updated_at = ?
+            WHERE user_id = ? AND balance_year = ? AND type = ?
+            """;
+
+    private static final String INSERT = """
+            INSERT INTO absence_balances (user_id, balance_year, type, requested_days, pending_days, approved_days, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AbsenceBalanceRepository absenceBalanceRepository;
+    private final TransactionTemplate rebuildTransaction;
+    private final int rebuildBatchSize;
+    private volatile Boolean postgres;
+
+    public AbsenceBalanceService(JdbcTemplate jdbcTemplate,
+                                 AbsenceBalanceRepository absenceBalanceRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${absence-balance.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.absenceBalanceRepository = absenceBalanceRepository;
+        this.rebuildTransaction = new TransactionTemplate(transactionManager);
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    /**
+     * A user's balances for one year, one entry per absence type (zeros where nothing was requested).
+     * Users see their own balances, managers and above anyone's.
+     */
+    public List<AbsenceBalanceDto> getBalances(UUID userId, int year, AbsenceRequestOperationContext context) {
+        if (!Objects.equals(userId, context.getCurrentUserId()) &&
+            !context.getCurrentUserRole().isManagerOrAbove()) {
+            throw new UnauthorizedException("view absence balances", "another user");
+        }
+
+        Map<AbsenceRequestType, AbsenceBalance> rows = absenceBalanceRepository.findByUserAndYear(userId, year).stream()
+                .collect(Collectors.toMap(balance -> balance.getId().getType(), Function.identity()));
+        return Arrays.stream(AbsenceRequestType.values())
+                .map(type -> {
+                    AbsenceBalance balance = rows.get(type);
+                    return AbsenceBalanceDto.builder()
+                            .userId(userId)
+                            .year(year)
+                            .type(type)
+                            .requestedDays(balance != null ? balance.getRequestedDays() : 0)
+                            .pendingDays(balance != null ? balance.getPendingDays() : 0)
+                            .approvedDays(balance != null ? balance.getApprovedDays() : 0)
+                            .build();
+                })
+                .toList();
+    }
+
+    /**
+     * Adds a newly submitted request to the ledger.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSubmitted(AbsenceRequest request) {
+        apply(deltas(request.getUserId(), request.getType(), request.getStartDate(), request.getEndDate(),
+                true, null, request.getStatus()));
+    }
+
+    /**
+     * Moves a request's days from its previous status to its new one.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(AbsenceRequest request, AbsenceRequestStatus from, AbsenceRequestStatus to) {
+        if (from == to) {
+            return;
+        }
+        apply(deltas(request.getUserId(), request.getType(), request.getStartDate(), request.getEndDate(),
+                false, from, to));
+    }
+
+    /**
+     * Moves the days of several requests sharing the same transition, summing the deltas per balance row
+     * so each affected row is written once.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChanges(List<AbsenceRequest> requests, AbsenceRequestStatus from, AbsenceRequestStatus to) {
+        if (from == to || requests.isEmpty()) {
+            return;
+        }
+        Map<AbsenceBalance.Key, Delta> merged = new LinkedHashMap<>();
+        for (AbsenceRequest request : requests) {
+            for (Delta delta : deltas(request.getUserId(), request.getType(), request.getStartDate(),
+                    request.getEndDate(), false, from, to)) {
+                merged.merge(delta.key(), delta, (a, b) -> new Delta(a.key(),
+                        a.requested() + b.requested(), a.pending() + b.pending(), a.approved() + b.approved()));
+            }
+        }
+        apply(new ArrayList<>(merged.values()));
+    }
+
+    /**
+     * Recomputes the ledger from {@code absence_requests}. On PostgreSQL the table is locked for the duration,
+     * so request changes made meanwhile wait and then apply their deltas on top of the rebuilt totals; a second
+     * node starting the job at the same time skips it.
+     *
+     * @return the number of ledger rows written, or -1 if another rebuild was already running
+     */
+    @Scheduled(cron = "${absence-balance.rebuild-cron:0 30 3 * * *}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuild() {
+        long start = System.nanoTime();
+        Integer written = rebuildTransaction.execute(status -> {
+            if (isPostgres()) {
+                Boolean acquired = jdbcTemplate.queryForObject(
+                        "SELECT pg_try_advisory_xact_lock(hashtext('absence_balances_rebuild'))", Boolean.class);
+                if (!Boolean.TRUE.equals(acquired)) {
+                    return -1;
+                }
+                jdbcTemplate.execute("LOCK TABLE absence_balances IN EXCLUSIVE MODE");
+            }
+
+            Map<AbsenceBalance.Key, int[]> totals = new HashMap<>();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                        "SELECT user_id, type, status, start_date, end_date FROM absence_requests");
+                statement.setFetchSize(rebuildBatchSize);
+                return statement;
+            }, row -> {
+                for (Delta delta : deltas(
+                        row.getObject("user_id", UUID.class),
+                        AbsenceRequestType.valueOf(row.getString("type")),
+                        row.getObject("start_date", LocalDate.class),
+                        row.getObject("end_date", LocalDate.class),
+                        true, null, AbsenceRequestStatus.valueOf(row.getString("status")))) {
+                    int[] sums = totals.computeIfAbsent(delta.key(), key -> new int[3]);
+                    sums[0] += delta.requested();
+                    sums[1] += delta.pending();
+                    sums[2] += delta.approved();
+                }
+            });
+
+            jdbcTemplate.update("DELETE FROM absence_balances");
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> batch = new ArrayList<>(Math.min(totals.size(), rebuildBatchSize));
+            for (Map.Entry<AbsenceBalance.Key, int[]> entry : totals.entrySet()) {
+                AbsenceBalance.Key key = entry.getKey();
+                int[] sums = entry.getValue();
+                batch.add(new Object[]{key.getUserId(), key.getYear(), key.getType().name(), sums[0], sums[1], sums[2], now});
+                if (batch.size() == rebuildBatchSize) {
+                    jdbcTemplate.batchUpdate(INSERT, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT, batch);
+            }
+            return totals.size();
+        });
+
+        if (written != null && written < 0) {
+            log.info("Absence balance rebuild already running elsewhere, skipped");
+        } else {
+            log.info("Rebuilt absence balances: {} rows in {} ms", written,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return written != null ? written : 0;
+    }
+
+    /**
+     * Day deltas per calendar year for a request moving from {@code from} to {@code to}
+     * ({@code from} is null for a new request). End dates are inclusive.
+     */
+    static List<Delta> deltas(UUID userId,
+                              AbsenceRequestType type,
+                              LocalDate startDate,
+                              LocalDate endDate,
+                              boolean newRequest,
+                              AbsenceRequestStatus from,
+                              AbsenceRequestStatus to) {
+        List<Delta> deltas = new ArrayList<>(1);
+        for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+            LocalDate first = year == startDate.getYear() ? startDate : LocalDate.of(year, 1, 1);
+            LocalDate last = year == endDate.getYear() ? endDate : LocalDate.of(year, 12, 31);
+            int days = (int) ChronoUnit.DAYS.between(first, last) + 1;
+
+            int requested = newRequest ? days : 0;
+            int pending = (to == AbsenceRequestStatus.PENDING ? days : 0) - (from == AbsenceRequestStatus.PENDING ? days : 0);
+            int approved = (to == AbsenceRequestStatus.APPROVED ? days : 0) - (from == AbsenceRequestStatus.APPROVED ? days : 0);
+            if (requested != 0 || pending != 0 || approved != 0) {
+                deltas.add(new Delta(new AbsenceBalance.Key(userId, year, type), requested, pending, approved));
+            }
+        }
+        return deltas;
+    }
+
+    private void apply(List<Delta> deltas) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Delta delta : deltas) {
+            AbsenceBalance.Key key = delta.key();
+            if (isPostgres()) {
+                jdbcTemplate.update(POSTGRES_UPSERT, key.getUserId(), key.getYear(), key.getType().name(),
+                        delta.requested(), delta.pending(), delta.approved(), now);
+                continue;
+            }
+            // Other databases (H2 in tests): update, then insert the first row of the key
+            int updated = jdbcTemplate.update(UPDATE, delta.requested(), delta.pending(), delta.approved(), now,
+                    key.getUserId(), key.getYear(), key.getType().name());
+            if (updated == 0) {
+                jdbcTemplate.update(INSERT, key.getUserId(), key.getYear(), key.getType().name(),
+                        delta.requested(), delta.pending(), delta.approved(), now);
+            }
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            String product = jdbcTemplate.execute((Connection connection) ->
+                    connection.getMetaData().getDatabaseProductName());
+            result = "PostgreSQL".equals(product);
+            postgres = result;
+        }
+        return result;
+    }
+
+    record Delta(AbsenceBalance.Key key, int requested, int pending, int approved) {
+    }
+}
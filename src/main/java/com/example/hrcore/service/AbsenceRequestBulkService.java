@@ -0,0 +1,200 @@
+package com.example.hrcore.service;
+
+import com.example.hrcore.dto.AbsenceRequestOperationContext;
+import com.example.hrcore.dto.BulkAbsenceDecisionRequest;
+import com.example.hrcore.dto.BulkAbsenceDecisionResultDto;
+import com.example.hrcore.dto.BulkAbsenceDecisionResultDto.Outcome;
+import com.example.hrcore.entity.AbsenceRequest;
+import com.example.hrcore.entity.User;
+import com.example.hrcore.entity.enums.AbsenceRequestStatus;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.event.AbsenceRequestChangedEvent;
+import com.example.hrcore.exception.InvalidOperationException;
+import com.example.hrcore.exception.UnauthorizedException;
+import com.example.hrcore.repository.AbsenceRequestRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Approves or rejects many absence requests in one call.
+ * <p>
+ * The requests and their users are loaded in one query and authorization is decided in memory for the whole
+ * set. The eligible requests are then updated in a single JDBC batch whose statements only match rows that
+ * are still pending, so a request decided concurrently by someone else is reported instead of overwritten.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AbsenceRequestBulkService {
+
+    private static final String DECIDE = """
+            UPDATE absence_requests
+            SET status = ?, approver_id = ?, rejection_reason = ?, updated_at = ?, last_modified_by = ?, version = version + 1
+            WHERE id = ? AND status = 'PENDING'
+            """;
+
+    private static final String DECIDED_BY_BATCH = """
+            SELECT id FROM absence_requests
+            WHERE id IN (%s) AND status = ? AND approver_id = ? AND updated_at = ?
+            """;
+
+    private final AbsenceRequestRepository absenceRequestRepository;
+    private final AbsenceBalanceService absenceBalanceService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxService outboxService;
+
+    /**
+     * Applies the decision to every request the current user may decide and returns one outcome per
+     * distinct id, in request order. Only direct managers (for their reports) and super admins may decide.
+     */
+    @Transactional
+    public List<BulkAbsenceDecisionResultDto> decide(BulkAbsenceDecisionRequest decision,
+                                                     AbsenceRequestOperationContext context) {
+        AbsenceRequestStatus target = parseAction(decision.getAction());
+        String reason = target == AbsenceRequestStatus.REJECTED ? decision.getReason() : null;
+        if (target == AbsenceRequestStatus.REJECTED && (reason == null || reason.isBlank())) {
+            throw new InvalidOperationException("bulk reject absence requests", "A rejection reason is required");
+        }
+        if (!context.getCurrentUserRole().isManagerOrAbove()) {
+            throw new UnauthorizedException("bulk decide absence requests", "only managers or super admins");
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(decision.getRequestIds());
+        Map<Long, AbsenceRequest> requests = absenceRequestRepository.findAllWithUserByIdIn(ids).stream()
+                .collect(Collectors.toMap(AbsenceRequest::getId, Function.identity()));
+
+        Map<Long, BulkAbsenceDecisionResultDto> results = new LinkedHashMap<>();
+        List<AbsenceRequest> eligible = new ArrayList<>();
+        for (Long id : ids) {
+            AbsenceRequest request = requests.get(id);
+            if (request == null) {
+                results.put(id, result(id, Outcome.NOT_FOUND, "Request not found"));
+            } else if (!canDecide(request.getUser(), context)) {
+                results.put(id, result(id, Outcome.FORBIDDEN, "Only direct manager or super admin"));
+            } else if (request.getStatus() != AbsenceRequestStatus.PENDING) {
+                results.put(id, result(id, Outcome.NOT_PENDING, alreadyDecided(request.getStatus())));
+            } else {
+                results.put(id, null);
+                eligible.add(request);
+            }
+        }
+
+        List<AbsenceRequest> decided = update(eligible, target, reason, context.getCurrentUserId());
+        Outcome success = target == AbsenceRequestStatus.APPROVED ? Outcome.APPROVED : Outcome.REJECTED;
+        String eventType = target == AbsenceRequestStatus.APPROVED ? "AbsenceRequestApproved" : "AbsenceRequestRejected";
+        for (AbsenceRequest request : decided) {
+            results.put(request.getId(), result(request.getId(), success, null));
+            AbsenceRequestChangedEvent event = new AbsenceRequestChangedEvent(
+                    request.getId(), request.getUserId(), request.getStartDate(), request.getEndDate(), target);
+            eventPublisher.publishEvent(event);
+            outboxService.record(OutboxService.ABSENCE_REQUEST, request.getId(), eventType, event);
+        }
+        // Eligible when loaded but decided by someone else before the batch ran
+        results.replaceAll((id, result) -> result != null ? result
+                : result(id, Outcome.NOT_PENDING, "Request was decided concurrently"));
+        absenceBalanceService.recordStatusChanges(decided, AbsenceRequestStatus.PENDING, target);
+
+        log.info("Bulk {} of absence requests by {}: {} of {} updated",
+                target.name().toLowerCase(), context.getCurrentUserId(), decided.size(), ids.size());
+        return new ArrayList<>(results.values());
+    }
+
+    private List<AbsenceRequest> update(List<AbsenceRequest> eligible,
+                                        AbsenceRequestStatus target,
+                                        String reason,
+                                        UUID approverId) {
+        if (eligible.isEmpty()) {
+            return List.of();
+        }
+        // Truncated to the column precision so the read-back below matches the stored value
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        List<Object[]> batch = new ArrayList<>(eligible.size());
+        for (AbsenceRequest request : eligible) {
+            batch.add(new Object[]{target.name(), approverId, reason, now, approverId, request.getId()});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(DECIDE, batch);
+
+        List<Long> unknown = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                unknown.add(eligible.get(i).getId());
+            }
+        }
+        Set<Long> updatedByBatch = unknown.isEmpty() ? Set.of()
+                : decidedByBatch(unknown, target, approverId, now);
+
+        List<AbsenceRequest> decided = new ArrayList<>(eligible.size());
+        for (int i = 0; i < counts.length; i++) {
+            AbsenceRequest request = eligible.get(i);
+            if (counts[i] > 0 || updatedByBatch.contains(request.getId())) {
+                decided.add(request);
+            }
+        }
+        return decided;
+    }
+
+    /**
+     * Some drivers report {@link Statement#SUCCESS_NO_INFO} for batched statements, which says nothing about
+     * whether the row was still pending. Reads back which of those rows now carry this batch's decision.
+     */
+    private Set<Long> decidedByBatch(List<Long> ids, AbsenceRequestStatus target, UUID approverId, Timestamp now) {
+        String sql = DECIDED_BY_BATCH.formatted(String.join(", ", Collections.nCopies(ids.size(), "?")));
+        List<Object> args = new ArrayList<>(ids);
+        args.add(target.name());
+        args.add(approverId);
+        args.add(now);
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Long.class, args.toArray()));
+    }
+
+    private static boolean canDecide(User employee, AbsenceRequestOperationContext context) {
+        if (context.getCurrentUserRole() == UserRole.SUPER_ADMIN) {
+            return true;
+        }
+        // The manager is a lazy proxy; reading its id does not load it
+        return employee.getManager() != null && employee.getManager().getId().equals(context.getCurrentUserId());
+    }
+
+    private static AbsenceRequestStatus parseAction(String action) {
+        if ("APPROVE".equalsIgnoreCase(action)) {
+            return AbsenceRequestStatus.APPROVED;
+        }
+        if ("REJECT".equalsIgnoreCase(action)) {
+            return AbsenceRequestStatus.REJECTED;
+        }
+        throw new InvalidOperationException("bulk decide absence requests", "Action must be APPROVE or REJECT");
+    }
+
+    private static String alreadyDecided(AbsenceRequestStatus status) {
+        return "Request has already been " + status.name().toLowerCase();
+    }
+
+    private static BulkAbsenceDecisionResultDto result(Long id, Outcome outcome, String message) {
+        return BulkAbsenceDecisionResultDto.builder()
+                .requestId(id)
+                .outcome(outcome)
+                .message(message)
+                .build();
+    }
+}
@@ -9,6 +9,7 @@ import com.example.hrcore.entity.AbsenceRequest;
 import com.example.hrcore.entity.enums.AbsenceRequestStatus;
 import com.example.hrcore.entity.enums.AbsenceRequestType;
 import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.event.AbsenceRequestChangedEvent;
 import com.example.hrcore.exception.InvalidOperationException;
 import com.example.hrcore.exception.UnauthorizedException;
 import com.example.hrcore.exception.UserNotFoundException;
@@ -18,6 +19,8 @@ import com.example.hrcore.repository.UserRepository;
 import com.example.hrcore.specification.AbsenceRequestSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -27,8 +30,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -36,9 +43,17 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class AbsenceRequestService {
 
+    /** Exclusion constraint (V13) rejecting overlapping pending/approved requests of one user. */
+    static final String NO_OVERLAP_CONSTRAINT = "absence_requests_no_overlap";
+
+    private static final long MAX_TEAM_CONFLICT_WINDOW_DAYS = 366;
+
     private final AbsenceRequestRepository absenceRequestRepository;
     private final UserRepository userRepository;
     private final AbsenceRequestMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AbsenceBalanceService absenceBalanceService;
+    private final OutboxService outboxService;
 
     /**
      * Search absence requests with filtering and pagination
@@ -67,11 +82,7 @@ public class AbsenceRequestService {
         
         Page<AbsenceRequest> resultPage = absenceRequestRepository.findAll(spec, pageable);
         PageResponse<AbsenceRequestDto> response = mapper.toPageResponse(resultPage);
-        
-        // Set canApprove flag for each request
-        response.getContent().forEach(dto -> 
-            dto.setCanApprove(canApproveOrReject(dto.getUser().getId(), context))
-        );
+        setCanApprove(response, resultPage, context);
         
         return response;
     }
@@ -111,6 +122,10 @@ public class AbsenceRequestService {
         if (!userRepository.existsById(userId)) {
             throw new UserNotFoundException(userId);
         }
+
+        if (absenceRequestRepository.existsOverlapping(userId, startDate, endDate, null)) {
+            throw overlapException("submit absence request");
+        }
         
         AbsenceRequest request = AbsenceRequest.builder()
                 .userId(userId)
@@ -122,7 +137,9 @@ public class AbsenceRequestService {
                 .createdById(context.getCurrentUserId())
                 .build();
 
-        AbsenceRequest saved = absenceRequestRepository.save(request);
+        AbsenceRequest saved = saveChecked(request, false, "submit absence request");
+        absenceBalanceService.recordSubmitted(saved);
+        publishChanged(saved, "AbsenceRequestSubmitted");
         log.info("Absence request created - User: {}, CreatedBy: {}, Dates: {} to {}, Type: {}", 
             userId, context.getCurrentUserId(), startDate, endDate, type);
         return mapper.toDto(saved);
@@ -146,11 +163,7 @@ public class AbsenceRequestService {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "startDate"));
         Page<AbsenceRequest> resultPage = absenceRequestRepository.findByUserIdOrderByStartDateDesc(userId, pageable);
         PageResponse<AbsenceRequestDto> response = mapper.toPageResponse(resultPage);
-        
-        // Set canApprove flag for each request
-        response.getContent().forEach(dto -> 
-            dto.setCanApprove(canApproveOrReject(dto.getUser().getId(), context))
-        );
+        setCanApprove(response, resultPage, context);
         
         return response;
     }
@@ -188,6 +201,8 @@ public class AbsenceRequestService {
         request.setStatus(AbsenceRequestStatus.APPROVED);
         request.setApproverId(context.getCurrentUserId());
         AbsenceRequest updated = absenceRequestRepository.save(request);
+        absenceBalanceService.recordStatusChange(updated, AbsenceRequestStatus.PENDING, AbsenceRequestStatus.APPROVED);
+        publishChanged(updated, "AbsenceRequestApproved");
         
         log.info("Absence request approved - ID: {}, Approver: {}", requestId, context.getCurrentUserId());
         return mapper.toDto(updated);
@@ -217,6 +232,8 @@ public class AbsenceRequestService {
         request.setApproverId(context.getCurrentUserId());
         request.setRejectionReason(reason);
         AbsenceRequest updated = absenceRequestRepository.save(request);
+        absenceBalanceService.recordStatusChange(updated, AbsenceRequestStatus.PENDING, AbsenceRequestStatus.REJECTED);
+        publishChanged(updated, "AbsenceRequestRejected");
         
         log.info("Absence request rejected - ID: {}, Approver: {}, Reason: {}", 
             requestId, context.getCurrentUserId(), reason);
@@ -239,14 +256,35 @@ public class AbsenceRequestService {
         }
         
         // Check if current user is the direct manager of the employee
-        return userRepository.findById(employeeId)
-                .map(employee -> employee.getManager() != null && 
-                               employee.getManager().getId().equals(context.getCurrentUserId()))
-                .orElse(false);
+        return userRepository.existsByIdAndManagerId(employeeId, context.getCurrentUserId());
+    }
+
+    /**
+     * Sets the canApprove flag of every request in the page from one lookup of which of its
+     * employees report to the current user, instead of loading each employee and manager per row.
+     */
+    private void setCanApprove(PageResponse<AbsenceRequestDto> response,
+                               Page<AbsenceRequest> resultPage,
+                               AbsenceRequestOperationContext context) {
+        Set<UUID> approvable;
+        if (context.getCurrentUserRole() == UserRole.SUPER_ADMIN) {
+            approvable = null;
+        } else if (!context.getCurrentUserRole().isManagerOrAbove() || resultPage.isEmpty()) {
+            approvable = Set.of();
+        } else {
+            Set<UUID> employeeIds = resultPage.getContent().stream()
+                    .map(AbsenceRequest::getUserId)
+                    .collect(Collectors.toSet());
+            approvable = userRepository.findReportIdsAmong(context.getCurrentUserId(), employeeIds);
+        }
+        
+        response.getContent().forEach(dto -> dto.setCanApprove(dto.getUser() != null &&
+            (approvable == null || approvable.contains(dto.getUser().getId()))));
     }
 
     /**
-     * Check for conflicting absence requests
+     * Pending or approved requests of the user that share at least one day with the given range,
+     * including those starting before it
      */
     public PageResponse<AbsenceRequestDto> checkConflicts(
             UUID userId,
@@ -262,24 +300,41 @@ public class AbsenceRequestService {
             throw new UnauthorizedException("check conflicts", "another user");
         }
         
-        // Use specification for more complex conflict detection
-        AbsenceRequestFilterDto filters = AbsenceRequestFilterDto.builder()
-                .userId(userId)
-                .startDateFrom(startDate)
-                .startDateTo(endDate)
-                .build();
+        validateRange(startDate, endDate, "check conflicts");
         
-        Specification<AbsenceRequest> spec = AbsenceRequestSpecification.withFilters(
-            filters,
-            context.getCurrentUserId(),
-            context.getCurrentUserRole()
-        );
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "startDate"));
         
-        Page<AbsenceRequest> resultPage = absenceRequestRepository.findAll(spec, pageable);
+        Page<AbsenceRequest> resultPage = absenceRequestRepository.findOverlapping(userId, startDate, endDate, pageable);
         return mapper.toPageResponse(resultPage);
     }
 
+    /**
+     * Pending or approved requests of a manager's direct reports overlapping the given range.
+     * Managers see their own team; super admins may pass any manager.
+     */
+    public List<AbsenceRequestDto> checkTeamConflicts(
+            UUID managerId,
+            LocalDate startDate,
+            LocalDate endDate,
+            AbsenceRequestOperationContext context) {
+        
+        UUID teamManagerId = managerId != null ? managerId : context.getCurrentUserId();
+        
+        // Authorization: Managers can only check their own team
+        if (!context.getCurrentUserRole().isManagerOrAbove() ||
+            (context.getCurrentUserRole() != UserRole.SUPER_ADMIN && !Objects.equals(teamManagerId, context.getCurrentUserId()))) {
+            throw new UnauthorizedException("check team conflicts", "only own team unless super admin");
+        }
+        
+        validateRange(startDate, endDate, "check team conflicts");
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_TEAM_CONFLICT_WINDOW_DAYS) {
+            throw new InvalidOperationException("check team conflicts",
+                "Date range cannot exceed " + MAX_TEAM_CONFLICT_WINDOW_DAYS + " days");
+        }
+        
+        return mapper.toDtoList(absenceRequestRepository.findTeamOverlapping(teamManagerId, startDate, endDate));
+    }
+
     /**
      * Manager update of absence request
      */
@@ -298,8 +353,16 @@ public class AbsenceRequestService {
             throw new UnauthorizedException("update absence request", "only direct manager or super admin");
         }
 
+        AbsenceRequestStatus previousStatus = request.getStatus();
+        boolean reactivated = false;
         if (updateDto.getStatus() != null) {
             AbsenceRequestStatus newStatus = AbsenceRequestStatus.fromString(updateDto.getStatus());
+            // A rejected request brought back to pending/approved may now clash with a newer one
+            reactivated = !holdsDates(request.getStatus()) && holdsDates(newStatus);
+            if (reactivated && absenceRequestRepository.existsOverlapping(
+                    request.getUserId(), request.getStartDate(), request.getEndDate(), request.getId())) {
+                throw overlapException("update absence request");
+            }
             request.setStatus(newStatus);
             request.setApproverId(context.getCurrentUserId());
         }
@@ -308,8 +371,49 @@ public class AbsenceRequestService {
             request.setRejectionReason(updateDto.getManagerComment());
         }
         
-        AbsenceRequest updated = absenceRequestRepository.save(request);
+        AbsenceRequest updated = saveChecked(request, reactivated, "update absence request");
+        absenceBalanceService.recordStatusChange(updated, previousStatus, updated.getStatus());
+        publishChanged(updated, "AbsenceRequestUpdated");
         log.info("Absence request updated - ID: {}, Manager: {}", requestId, context.getCurrentUserId());
         return mapper.toDto(updated);
     }
+
+    private void publishChanged(AbsenceRequest request, String eventType) {
+        AbsenceRequestChangedEvent event = new AbsenceRequestChangedEvent(
+            request.getId(), request.getUserId(), request.getStartDate(), request.getEndDate(), request.getStatus());
+        eventPublisher.publishEvent(event);
+        outboxService.record(OutboxService.ABSENCE_REQUEST, request.getId(), eventType, event);
+    }
+
+    private static boolean holdsDates(AbsenceRequestStatus status) {
+        return status == AbsenceRequestStatus.PENDING || status == AbsenceRequestStatus.APPROVED;
+    }
+
+    private static void validateRange(LocalDate startDate, LocalDate endDate, String operation) {
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidOperationException(operation, "Start date cannot be after end date");
+        }
+    }
+
+    /**
+     * Saves the request, turning a violation of the overlap constraint into a client error.
+     * The pre-checks catch ordinary double bookings; this covers two requests racing past them.
+     * When {@code flush} is set the update is written immediately so the violation surfaces here
+     * rather than at commit.
+     */
+    private AbsenceRequest saveChecked(AbsenceRequest request, boolean flush, String operation) {
+        try {
+            return flush ? absenceRequestRepository.saveAndFlush(request) : absenceRequestRepository.save(request);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getMessage() != null && e.getMessage().contains(NO_OVERLAP_CONSTRAINT)) {
+                throw overlapException(operation);
+            }
+            throw e;
+        }
+    }
+
+    private static InvalidOperationException overlapException(String operation) {
+        return new InvalidOperationException(operation,
+            "Dates overlap an existing pending or approved absence request");
+    }
 }
@@ -0,0 +1,197 @@
+package com.example.hrcore.service;
+
+import com.example.hrcore.dto.AbsenceRequestDto;
+import com.example.hrcore.dto.ChangeCursor;
+import com.example.hrcore.dto.ChangeFeedDto;
+import com.example.hrcore.dto.FeedbackDto;
+import com.example.hrcore.dto.PurgeResult;
+import com.example.hrcore.dto.UserDto;
+import com.example.hrcore.entity.AbsenceRequest;
+import com.example.hrcore.entity.Auditable;
+import com.example.hrcore.entity.DeletedRecord;
+import com.example.hrcore.entity.Feedback;
+import com.example.hrcore.entity.User;
+import com.example.hrcore.exception.InvalidOperationException;
+import com.example.hrcore.mapper.AbsenceRequestMapper;
+import com.example.hrcore.mapper.FeedbackMapper;
+import com.example.hrcore.mapper.UserMapper;
+import com.example.hrcore.repository.AbsenceRequestRepository;
+import com.example.hrcore.repository.DeletedRecordRepository;
+import com.example.hrcore.repository.FeedbackRepository;
+import com.example.hrcore.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Incremental sync: the users, absence requests and feedback changed since a cursor, plus tombstones of
+ * the ones deleted since, so a client's work is proportional to the change volume rather than table size.
+ * <p>
+ * Rows are read in {@code (updatedAt, id)} order. Only rows older than {@code change-feed.settle-time} are
+ * returned, so a transaction that stamped {@code updatedAt} but had not yet committed when an earlier page
+ * was read cannot slip in behind the cursor. Tombstones are kept for {@code change-feed.tombstone-retention};
+ * an older cursor is refused and the client has to start over with a full sync.
+ * <p>
+ * The users a page refers to (managers, requesters, approvers, feedback authors and recipients) are loaded in
+ * one query before the page is mapped, so the mappers' lookups by id are served from the persistence context.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ChangeFeedService {
+
+    private static final UUID MIN_UUID = new UUID(0, 0);
+    private static final PurgeService.PurgeTarget TOMBSTONES =
+            new PurgeService.PurgeTarget("deleted_records", "deleted_at");
+
+    private final UserRepository userRepository;
+    private final AbsenceRequestRepository absenceRequestRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final DeletedRecordRepository deletedRecordRepository;
+    private final UserMapper userMapper;
+    private final AbsenceRequestMapper absenceRequestMapper;
+    private final FeedbackMapper feedbackMapper;
+    private final PurgeService purgeService;
+    private final Duration settleTime;
+    private final Duration tombstoneRetention;
+    private final int maxLimit;
+
+    public ChangeFeedService(UserRepository userRepository,
+                             AbsenceRequestRepository absenceRequestRepository,
+                             FeedbackRepository feedbackRepository,
+                             DeletedRecordRepository deletedRecordRepository,
+                             UserMapper userMapper,
+                             AbsenceRequestMapper absenceRequestMapper,
+                             FeedbackMapper feedbackMapper,
+                             PurgeService purgeService,
+                             @Value("${change-feed.settle-time:5s}") Duration settleTime,
+                             @Value("${change-feed.tombstone-retention:90d}") Duration tombstoneRetention,
+                             @Value("${change-feed.max-limit:1000}") int maxLimit) {
+        this.userRepository = userRepository;
+        this.absenceRequestRepository = absenceRequestRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.deletedRecordRepository = deletedRecordRepository;
+        this.userMapper = userMapper;
+        this.absenceRequestMapper = absenceRequestMapper;
+        this.feedbackMapper = feedbackMapper;
+        this.purgeService = purgeService;
+        this.settleTime = settleTime;
+        this.tombstoneRetention = tombstoneRetention;
+        this.maxLimit = maxLimit;
+    }
+
+    public ChangeFeedDto<UserDto> getUserChanges(String since, int limit) {
+        return changes(since, limit, DeletedRecord.USER,
+                userRepository::findChangedSince, UUID::fromString, MIN_UUID,
+                user -> String.valueOf(user.getId()),
+                user -> Stream.ofNullable(user.getManager()).map(User::getId),
+                userMapper::toDtoList);
+    }
+
+    public ChangeFeedDto<AbsenceRequestDto> getAbsenceRequestChanges(String since, int limit) {
+        return changes(since, limit, DeletedRecord.ABSENCE_REQUEST,
+                absenceRequestRepository::findChangedSince, Long::valueOf, 0L,
+                request -> String.valueOf(request.getId()),
+                request -> Stream.of(request.getUserId(), request.getApproverId(), request.getCreatedById()),
+                absenceRequestMapper::toDtoList);
+    }
+
+    public ChangeFeedDto<FeedbackDto> getFeedbackChanges(String since, int limit) {
+        return changes(since, limit, DeletedRecord.FEEDBACK,
+                feedbackRepository::findChangedSince, Long::valueOf, 0L,
+                feedback -> String.valueOf(feedback.getId()),
+                feedback -> Stream.of(feedback.getFromUserId(), feedback.getToUserId()),
+                feedbackMapper::toDtoList);
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Scheduled(cron = "${change-feed.tombstone-cleanup-cron:0 45 4 * * *}")
+    public PurgeResult purgeTombstones() {
+        return purgeService.purge(TOMBSTONES, LocalDateTime.now().minus(tombstoneRetention));
+    }
+
+    private <E extends Auditable, I, D> ChangeFeedDto<D> changes(String since,
+                                                                 int limit,
+                                                                 String entityType,
+                                                                 ChangedRows<E, I> changedRows,
+                                                                 Function<String, I> parseId,
+                                                                 I minId,
+                                                                 Function<E, String> idOf,
+                                                                 Function<E, Stream<UUID>> referencedUsers,
+                                                                 Function<List<E>, List<D>> toDtos) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new InvalidOperationException("read changes", "limit must be between 1 and " + maxLimit);
+        }
+        ChangeCursor cursor;
+        I afterId;
+        try {
+            cursor = ChangeCursor.decode(since);
+            afterId = cursor.id() != null ? parseId.apply(cursor.id()) : minId;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException("read changes", "Malformed cursor");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (cursor.issuedAt() != null && cursor.issuedAt().isBefore(now.minus(tombstoneRetention))) {
+            throw new InvalidOperationException("read changes",
+                    "Cursor is older than the tombstone retention; start over without since");
+        }
+        LocalDateTime until = now.minus(settleTime);
+        Pageable page = PageRequest.of(0, limit + 1);
+
+        List<E> rows = changedRows.find(cursor.updatedAt(), afterId, until, page);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        List<DeletedRecord> tombstones = deletedRecordRepository.findSince(entityType, cursor.tombstoneId(), until, page);
+        if (tombstones.size() > limit) {
+            hasMore = true;
+            tombstones = tombstones.subList(0, limit);
+        }
+
+        LocalDateTime lastUpdatedAt = cursor.updatedAt();
+        String lastId = cursor.id();
+        if (!rows.isEmpty()) {
+            E last = rows.get(rows.size() - 1);
+            lastUpdatedAt = last.getUpdatedAt();
+            lastId = idOf.apply(last);
+        }
+        long lastTombstoneId = tombstones.isEmpty()
+                ? cursor.tombstoneId()
+                : tombstones.get(tombstones.size() - 1).getId();
+
+        loadUsers(rows, referencedUsers);
+        return ChangeFeedDto.<D>builder()
+                .items(toDtos.apply(rows))
+                .deletedIds(tombstones.stream().map(DeletedRecord::getEntityId).toList())
+                .nextCursor(new ChangeCursor(lastUpdatedAt, lastId, lastTombstoneId, now).encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private <E> void loadUsers(List<E> rows, Function<E, Stream<UUID>> referencedUsers) {
+        Set<UUID> ids = new HashSet<>();
+        rows.forEach(row -> referencedUsers.apply(row).filter(Objects::nonNull).forEach(ids::add));
+        if (!ids.isEmpty()) {
+            userRepository.findAllById(ids);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChangedRows<E, I> {
+        List<E> find(LocalDateTime updatedAt, I id, LocalDateTime until, Pageable pageable);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.hrcore.service;
+
+import com.example.hrcore.dto.BulkFeedbackModerationRequest;
+import com.example.hrcore.dto.BulkFeedbackModerationResultDto;
+import com.example.hrcore.dto.BulkFeedbackModerationResultDto.Outcome;
+import com.example.hrcore.dto.FeedbackOperationContext;
+import com.example.hrcore.entity.Feedback;
+import com.example.hrcore.entity.User;
+import com.example.hrcore.entity.enums.FeedbackStatus;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.event.FeedbackChangedEvent;
+import com.example.hrcore.exception.InvalidOperationException;
+import com.example.hrcore.exception.UnauthorizedException;
+import com.example.hrcore.repository.FeedbackRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Works through the feedback moderation queue many items at a time.
+ * <p>
+ * Items and their recipients are loaded in one query and authorization is decided in memory for the set.
+ * The status change is one JDBC batch of compare-and-set updates that only match items still pending, so
+ * when two moderators pick the same item only the first update wins and the other is told it was taken.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class FeedbackModerationService {
+
+    private static final String MODERATE = """
+            UPDATE feedback
+            SET status = ?, updated_at = ?, last_modified_by = ?, version = version + 1
+            WHERE id = ? AND status = 'PENDING'
+            """;
+
+    private static final String MODERATED_BY_BATCH = """
+            SELECT id FROM feedback
+            WHERE id IN (%s) AND status = ? AND last_modified_by = ? AND updated_at = ?
+            """;
+
+    private final FeedbackRepository feedbackRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Applies the decision to every item the current user may moderate and returns one outcome per
+     * distinct id, in request order. Only the recipient's direct manager or a super admin may moderate.
+     */
+    @Transactional
+    public List<BulkFeedbackModerationResultDto> moderate(BulkFeedbackModerationRequest moderation,
+                                                          FeedbackOperationContext context) {
+        FeedbackStatus target = parseAction(moderation.getAction());
+        if (!context.getCurrentUserRole().isManagerOrAbove()) {
+            throw new UnauthorizedException("bulk moderate feedback", "only managers or super admins");
+        }
+
+        Set<Long> ids = new LinkedHashSet<>(moderation.getFeedbackIds());
+        Map<Long, Feedback> items = feedbackRepository.findAllWithRecipientByIdIn(ids).stream()
+                .collect(Collectors.toMap(Feedback::getId, Function.identity()));
+
+        Map<Long, BulkFeedbackModerationResultDto> results = new LinkedHashMap<>();
+        List<Long> eligible = new ArrayList<>();
+        for (Long id : ids) {
+            Feedback feedback = items.get(id);
+            if (feedback == null) {
+                results.put(id, result(id, Outcome.NOT_FOUND, "Feedback not found"));
+            } else if (!canModerate(feedback.getToUser(), context)) {
+                results.put(id, result(id, Outcome.FORBIDDEN, "Only direct manager or super admin"));
+            } else if (feedback.getStatus() != FeedbackStatus.PENDING) {
+                results.put(id, result(id, Outcome.NOT_PENDING, "Feedback has already been " + feedback.getStatus()));
+            } else {
+                eligible.add(id);
+            }
+        }
+
+        int updated = 0;
+        if (!eligible.isEmpty()) {
+            // Truncated to the column precision so the read-back below matches the stored value
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+            UUID moderatorId = context.getCurrentUserId();
+            List<Object[]> batch = new ArrayList<>(eligible.size());
+            for (Long id : eligible) {
+                batch.add(new Object[]{target.name(), now, moderatorId, id});
+            }
+            int[] counts = jdbcTemplate.batchUpdate(MODERATE, batch);
+            List<Long> unknown = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == Statement.SUCCESS_NO_INFO) {
+                    unknown.add(eligible.get(i));
+                }
+            }
+            Set<Long> updatedByBatch = unknown.isEmpty() ? Set.of()
+                    : moderatedByBatch(unknown, target, moderatorId, now);
+
+            Outcome success = target == FeedbackStatus.APPROVED ? Outcome.APPROVED : Outcome.REJECTED;
+            String eventType = target == FeedbackStatus.APPROVED ? "FeedbackApproved" : "FeedbackRejected";
+            for (int i = 0; i < counts.length; i++) {
+                Long id = eligible.get(i);
+                if (counts[i] > 0 || updatedByBatch.contains(id)) {
+                    results.put(id, result(id, success, null));
+                    Feedback feedback = items.get(id);
+                    FeedbackChangedEvent event = new FeedbackChangedEvent(
+                            id, feedback.getFromUserId(), feedback.getToUserId(), target);
+                    eventPublisher.publishEvent(event);
+                    outboxService.record(OutboxService.FEEDBACK, id, eventType, event);
+                    updated++;
+                } else {
+                    results.put(id, result(id, Outcome.NOT_PENDING, "Feedback was moderated concurrently"));
+                }
+            }
+        }
+
+        log.info("Bulk {} of feedback by {}: {} of {} updated",
+                target.name().toLowerCase(), context.getCurrentUserId(), updated, ids.size());
+        // Keep the order of the request
+        List<BulkFeedbackModerationResultDto> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ordered.add(results.get(id));
+        }
+        return ordered;
+    }
+
+    /**
+     * Some drivers report {@link Statement#SUCCESS_NO_INFO} for batched statements, which says nothing about
+     * whether the item was still pending. Reads back which of those items now carry this batch's decision.
+     */
+    private Set<Long> moderatedByBatch(List<Long> ids, FeedbackStatus target, UUID moderatorId, Timestamp now) {
+        String sql = MODERATED_BY_BATCH.formatted(String.join(", ", Collections.nCopies(ids.size(), "?")));
+        List<Object> args = new ArrayList<>(ids);
+        args.add(target.name());
+        args.add(moderatorId);
+        args.add(now);
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Long.class, args.toArray()));
+    }
+
+    private static boolean canModerate(User recipient, FeedbackOperationContext context) {
+        if (context.getCurrentUserRole() == UserRole.SUPER_ADMIN) {
+            return true;
+        }
+        // The manager is a lazy proxy; reading its id does not load it
+        return recipient.getManager() != null && recipient.getManager().getId().equals(context.getCurrentUserId());
+    }
+
+    private static FeedbackStatus parseAction(String action) {
+        if ("APPROVE".equalsIgnoreCase(action)) {
+            return FeedbackStatus.APPROVED;
+        }
+        if ("REJECT".equalsIgnoreCase(action)) {
+            return FeedbackStatus.REJECTED;
+        }
+        throw new InvalidOperationException("bulk moderate feedback", "Action must be APPROVE or REJECT");
+    }
+
+    private static BulkFeedbackModerationResultDto result(Long id, Outcome outcome, String message) {
+        return BulkFeedbackModerationResultDto.builder()
+                .feedbackId(id)
+                .outcome(outcome)
+                .message(message)
+                .build();
+    }
+}
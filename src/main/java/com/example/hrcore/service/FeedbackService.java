@@ -8,6 +8,7 @@ import com.example.hrcore.dto.PageResponse;
 import com.example.hrcore.entity.Feedback;
 import com.example.hrcore.entity.enums.FeedbackStatus;
 import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.event.FeedbackChangedEvent;
 import com.example.hrcore.exception.InvalidOperationException;
 import com.example.hrcore.exception.UnauthorizedException;
 import com.example.hrcore.exception.UserNotFoundException;
@@ -17,6 +18,7 @@ import com.example.hrcore.repository.UserRepository;
 import com.example.hrcore.specification.FeedbackSpecification;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -40,6 +42,8 @@ public class FeedbackService {
     private final FeedbackMapper feedbackMapper;
     private final RestTemplate restTemplate;
     private final FeatureFlags featureFlags;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public FeedbackDto submitFeedback(UUID fromUserId, UUID toUserId, String content, FeedbackOperationContext context) {
@@ -69,6 +73,7 @@ public class FeedbackService {
                 .build();
 
         Feedback saved = feedbackRepository.save(feedback);
+        recordChanged(saved, "FeedbackSubmitted");
         log.info("Feedback created - From: {}, To: {}", fromUserId, toUserId);
         return feedbackMapper.toDto(saved);
     }
@@ -136,6 +141,7 @@ public class FeedbackService {
 
         feedback.setStatus(FeedbackStatus.APPROVED);
         Feedback updated = feedbackRepository.save(feedback);
+        recordChanged(updated, "FeedbackApproved");
         
         log.info("Feedback approved - ID: {}, Approver: {}", feedbackId, context.getCurrentUserId());
         return feedbackMapper.toDto(updated);
@@ -159,6 +165,7 @@ public class FeedbackService {
 
         feedback.setStatus(FeedbackStatus.REJECTED);
         Feedback updated = feedbackRepository.save(feedback);
+        recordChanged(updated, "FeedbackRejected");
         
         log.info("Feedback rejected - ID: {}, Approver: {}", feedbackId, context.getCurrentUserId());
         return feedbackMapper.toDto(updated);
@@ -208,10 +215,18 @@ public class FeedbackService {
         }
 
         Feedback updated = feedbackRepository.save(feedback);
+        recordChanged(updated, "FeedbackPolished");
         log.info("Feedback polished - ID: {}, Polisher: {}", feedbackId, context.getCurrentUserId());
         return feedbackMapper.toDto(updated);
     }
 
+    private void recordChanged(Feedback feedback, String eventType) {
+        FeedbackChangedEvent event = new FeedbackChangedEvent(
+                feedback.getId(), feedback.getFromUserId(), feedback.getToUserId(), feedback.getStatus());
+        eventPublisher.publishEvent(event);
+        outboxService.record(OutboxService.FEEDBACK, feedback.getId(), eventType, event);
+    }
+
     private Pageable createPageable(FeedbackOperationContext context) {
         int page = context.getPage() != null ? context.getPage() : 0;
         int size = context.getSize() != null ? context.getSize() : 10;
@@ -0,0 +1,46 @@
+package com.example.hrcore.service;
+
+import com.example.hrcore.entity.OutboxEvent;
+import com.example.hrcore.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records domain changes in the {@code outbox_events} table for {@link com.example.hrcore.outbox.OutboxRelay}
+ * to publish. Must be called inside the transaction making the change, so an event exists exactly when
+ * the change commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public static final String ABSENCE_REQUEST = "AbsenceRequest";
+    public static final String FEEDBACK = "Feedback";
+    public static final String PROFILE = "Profile";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String aggregateType, Object aggregateId, String eventType, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize " + eventType + " event", e);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .aggregateType(aggregateType)
+                .aggregateId(String.valueOf(aggregateId))
+                .eventType(eventType)
+                .payload(json)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+}
@@ -3,6 +3,7 @@ package com.example.hrcore.service;
 import com.example.hrcore.dto.*;
 import com.example.hrcore.entity.User;
 import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.event.ProfileChangedEvent;
 import com.example.hrcore.exception.InvalidOperationException;
 import com.example.hrcore.exception.UnauthorizedException;
 import com.example.hrcore.exception.UserNotFoundException;
@@ -38,12 +39,14 @@ public class ProfileService {
     private final ValidationService validationService;
     private final FeedbackService feedbackService;
     private final AbsenceRequestService absenceRequestService;
+    private final OutboxService outboxService;
 
     public ProfileService(UserRepository userRepository, UserMapper userMapper,
                           TokenService tokenService, KeycloakService keycloakService,
                           ValidationService validationService,
                           FeedbackService feedbackService,
-                          AbsenceRequestService absenceRequestService) {
+                          AbsenceRequestService absenceRequestService,
+                          OutboxService outboxService) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.tokenService = tokenService;
@@ -51,6 +54,7 @@ public class ProfileService {
         this.validationService = validationService;
         this.feedbackService = feedbackService;
         this.absenceRequestService = absenceRequestService;
+        this.outboxService = outboxService;
     }
 
     public List<UserDto> searchProfiles(UserFilterDto filters, UUID currentUserId, UserRole currentRole) {
@@ -153,7 +157,8 @@ public class ProfileService {
     @Caching(evict = {
             @CacheEvict(value = "users", key = "#userId"),
             @CacheEvict(value = "profiles", allEntries = true),
-            @CacheEvict(value = "permissions", allEntries = true)
+            @CacheEvict(value = "permissions", allEntries = true),
+            @CacheEvict(value = "teamCalendar", allEntries = true)
     })
     public UserDto updateProfile(UUID userId, UUID currentUserId, UserRole currentRole, UserDto updateDto) {
         // Validate permissions using validation service
@@ -176,6 +181,7 @@ public class ProfileService {
         updateManagerIfProvided(user, currentRole, updateDto.getManagerId());
 
         User updatedUser = userRepository.save(user);
+        recordChanged(updatedUser, "ProfileUpdated");
         log.debug("Profile updated: {}", userId);
 
         return getProfileWithRoleFiltering(updatedUser.getId(), currentUserId, currentRole)
@@ -184,10 +190,11 @@ public class ProfileService {
 
     @Transactional
     @Caching(evict = {
-            @CacheEvict(value = "users", key = "#userId"),
+            @CacheEvict(value = "users", allEntries = true),
             @CacheEvict(value = "profiles", allEntries = true),
             @CacheEvict(value = "permissions", allEntries = true),
-            @CacheEvict(value = "managerReports", allEntries = true)
+            @CacheEvict(value = "managerReports", allEntries = true),
+            @CacheEvict(value = "teamCalendar", allEntries = true)
     })
     public void deleteProfile(UUID userId, UUID currentUserId, UserRole currentRole) {
         // Validate permissions using validation service
@@ -219,7 +226,16 @@ public class ProfileService {
             }
         }
 
+        // Clear the reports' manager here rather than leaving it to ON DELETE SET NULL, so their updated_at
+        // moves and the users change feed sends the cleared manager
+        for (User report : userRepository.findByManagerId(userId)) {
+            report.setManager(null);
+            recordChanged(report, "ProfileUpdated");
+        }
+
         userRepository.deleteById(userId);
+        outboxService.record(OutboxService.PROFILE, userId, "ProfileDeleted",
+                new ProfileChangedEvent(userId, null, null, null));
         log.info("Profile deleted: {}, Sessions invalidated: {}", userId, idTokens.size());
     }
 
@@ -248,6 +264,7 @@ public class ProfileService {
 
 
             User savedUser = userRepository.save(newUser);
+            recordChanged(savedUser, "ProfileCreated");
 
             log.info("User created - Email: {}, ID: {}, Keycloak ID: {}, Created by: {}", userData.getEmail(), savedUser.getId(), keycloakUserId, context.getCurrentUserId());
 
@@ -313,6 +330,7 @@ public class ProfileService {
     }
 
     @Transactional
+    @CacheEvict(value = "teamCalendar", allEntries = true)
     public void assignManager(UUID userId, UUID managerId, UUID currentUserId, UserRole currentRole) {
         if (!canEditProfile(userId, currentUserId, currentRole)) {
             throw new UnauthorizedException("assign manager to", "this user");
@@ -340,9 +358,16 @@ public class ProfileService {
 
         employee.setManager(manager);
         userRepository.save(employee);
+        recordChanged(employee, "ProfileUpdated");
         log.debug("Manager assigned: {} → {}", managerId, userId);
     }
 
+    private void recordChanged(User user, String eventType) {
+        outboxService.record(OutboxService.PROFILE, user.getId(), eventType, new ProfileChangedEvent(
+                user.getId(), user.getDepartment(), user.getRole(),
+                user.getManager() != null ? user.getManager().getId() : null));
+    }
+
     private void updateRoleIfAuthorized(User user, UserRole currentRole, String newRole) {
         Optional.ofNullable(newRole)
                 .filter(r -> currentRole.isManagerOrAbove())
@@ -0,0 +1,153 @@
+package com.example.hrcore.service;
+
+import com.example.hrcore.dto.PurgeResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Deletes expired rows in bounded batches.
+ * Each batch is an id range of at most {@code batchSize} rows deleted in its own statement,
+ * so locks and WAL volume stay small. The purge pauses between batches and stops once its
+ * time budget is spent; the next run picks up where it left off.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PurgeService {
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> runningTargets = ConcurrentHashMap.newKeySet();
+
+    @Value("${purge.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${purge.pause-between-batches-ms:100}")
+    private long pauseBetweenBatchesMs;
+
+    @Value("${purge.time-budget-ms:60000}")
+    private long timeBudgetMs;
+
+    /**
+     * Table whose rows are purged once {@code cutoffColumn} is older than the cutoff.
+     * The table must have a numeric {@code id} primary key.
+     */
+    public record PurgeTarget(String table, String cutoffColumn) {
+        public PurgeTarget {
+            if (!IDENTIFIER.matcher(table).matches() || !IDENTIFIER.matcher(cutoffColumn).matches()) {
+                throw new IllegalArgumentException("Invalid purge target: " + table + "." + cutoffColumn);
+            }
+        }
+    }
+
+    public boolean isRunning(PurgeTarget target) {
+        return runningTargets.contains(target.table());
+    }
+
+    public PurgeResult purge(PurgeTarget target, LocalDateTime cutoff) {
+        if (!runningTargets.add(target.table())) {
+            log.info("Purge of {} already in progress, skipping", target.table());
+            return PurgeResult.builder().target(target.table()).build();
+        }
+        try {
+            return doPurge(target, cutoff);
+        } finally {
+            runningTargets.remove(target.table());
+        }
+    }
+
+    private PurgeResult doPurge(PurgeTarget target, LocalDateTime cutoff) {
+        String boundarySql = String.format(
+                "SELECT MAX(id) FROM (SELECT id FROM %s WHERE %s < ? AND id > ? ORDER BY id LIMIT ?) batch",
+                target.table(), target.cutoffColumn());
+        String deleteSql = String.format(
+                "DELETE FROM %s WHERE id > ? AND id <= ? AND %s < ?",
+                target.table(), target.cutoffColumn());
+
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+        long lastId = 0;
+        long rowsDeleted = 0;
+        int batches = 0;
+        boolean budgetExhausted = false;
+
+        while (true) {
+            Long upperId = jdbcTemplate.queryForObject(boundarySql, Long.class, cutoff, lastId, batchSize);
+            if (upperId == null) {
+                break;
+            }
+
+            rowsDeleted += jdbcTemplate.update(deleteSql, lastId, upperId, cutoff);
+            batches++;
+            lastId = upperId;
+
+            if (System.nanoTime() >= deadlineNanos) {
+                budgetExhausted = true;
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+
+        long durationNanos = System.nanoTime() - startNanos;
+        recordMetrics(target, rowsDeleted, batches, durationNanos, budgetExhausted);
+
+        log.info("Purge executed - Table: {}, Deleted: {}, Batches: {}, Duration: {}ms, Budget exhausted: {}",
+                target.table(), rowsDeleted, batches, TimeUnit.NANOSECONDS.toMillis(durationNanos), budgetExhausted);
+
+        return PurgeResult.builder()
+                .target(target.table())
+                .rowsDeleted(rowsDeleted)
+                .batches(batches)
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .budgetExhausted(budgetExhausted)
+                .build();
+    }
+
+    private boolean pause() {
+        if (pauseBetweenBatchesMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseBetweenBatchesMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Purge interrupted between batches");
+            return false;
+        }
+    }
+
+    private void recordMetrics(PurgeTarget target, long rowsDeleted, int batches,
+                               long durationNanos, boolean budgetExhausted) {
+        String outcome = budgetExhausted ? "budget_exhausted" : "completed";
+        Counter.builder("purge.rows.deleted")
+                .tag("table", target.table())
+                .register(meterRegistry)
+                .increment(rowsDeleted);
+        Counter.builder("purge.batches")
+                .tag("table", target.table())
+                .register(meterRegistry)
+                .increment(batches);
+        Timer.builder("purge.duration")
+                .tag("table", target.table())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+}
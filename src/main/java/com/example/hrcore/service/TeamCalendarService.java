@@ -0,0 +1,236 @@
+package com.example.hrcore.service;
+
+import com.example.hrcore.dto.AbsenceRequestOperationContext;
+import com.example.hrcore.dto.CalendarAbsenceDto;
+import com.example.hrcore.dto.CalendarDayDto;
+import com.example.hrcore.dto.TeamCalendarDto;
+import com.example.hrcore.entity.User;
+import com.example.hrcore.entity.enums.AbsenceRequestStatus;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.event.AbsenceRequestChangedEvent;
+import com.example.hrcore.exception.InvalidOperationException;
+import com.example.hrcore.exception.UnauthorizedException;
+import com.example.hrcore.exception.UserNotFoundException;
+import com.example.hrcore.repository.AbsenceRequestRepository;
+import com.example.hrcore.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Team absence calendars: per-day absent counts and who is out, for a manager's direct reports or a department.
+ * <p>
+ * Each calendar month of a team is computed from one query and an in-memory sweep over the absences, then
+ * cached in {@code teamCalendar} under {@code <team>:<yyyy-MM>}. A range is assembled from its months.
+ * Entries are evicted once a change to an absence request commits, and all of them when a profile is
+ * updated, reassigned to another manager or deleted, since that can move people between teams.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TeamCalendarService {
+
+    static final String CACHE_NAME = "teamCalendar";
+    private static final long MAX_RANGE_DAYS = 366;
+
+    private final AbsenceRequestRepository absenceRequestRepository;
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Calendar for {@code managerId}'s team or {@code department}; with neither, the current user's team.
+     * Managers may view their own team and department, super admins any.
+     */
+    public TeamCalendarDto getCalendar(UUID managerId,
+                                       String department,
+                                       LocalDate startDate,
+                                       LocalDate endDate,
+                                       AbsenceRequestOperationContext context) {
+        if (managerId != null && department != null) {
+            throw new InvalidOperationException("get team calendar", "Pass either managerId or department, not both");
+        }
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidOperationException("get team calendar", "Start date cannot be after end date");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw new InvalidOperationException("get team calendar",
+                "Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+
+        String team = department != null
+                ? departmentTeam(department, context)
+                : managerTeam(managerId != null ? managerId : context.getCurrentUserId(), context);
+
+        Map<Long, CalendarAbsenceDto> absences = new LinkedHashMap<>();
+        List<CalendarDayDto> days = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate)); month = month.plusMonths(1)) {
+            TeamCalendarDto monthCalendar = getMonth(team, month);
+            for (CalendarDayDto day : monthCalendar.getDays()) {
+                if (!day.getDate().isBefore(startDate) && !day.getDate().isAfter(endDate)) {
+                    days.add(day);
+                }
+            }
+            for (CalendarAbsenceDto absence : monthCalendar.getAbsences()) {
+                if (!absence.getStartDate().isAfter(endDate) && !absence.getEndDate().isBefore(startDate)) {
+                    absences.putIfAbsent(absence.getRequestId(), absence);
+                }
+            }
+        }
+
+        return TeamCalendarDto.builder()
+                .team(team)
+                .startDate(startDate)
+                .endDate(endDate)
+                .absences(new ArrayList<>(absences.values()))
+                .days(days)
+                .build();
+    }
+
+    /**
+     * Drops the cached months of the requester's team and department that the changed request touches.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onAbsenceRequestChanged(AbsenceRequestChangedEvent event) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        User user = userRepository.findById(event.userId()).orElse(null);
+        if (user == null) {
+            return;
+        }
+        List<String> teams = new ArrayList<>(2);
+        if (user.getManager() != null) {
+            teams.add(managerKey(user.getManager().getId()));
+        }
+        if (user.getDepartment() != null) {
+            teams.add(departmentKey(user.getDepartment()));
+        }
+        try {
+            for (YearMonth month = YearMonth.from(event.startDate()); !month.isAfter(YearMonth.from(event.endDate())); month = month.plusMonths(1)) {
+                for (String team : teams) {
+                    cache.evict(monthKey(team, month));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not evict team calendar entries for request {}: {}", event.requestId(), e.getMessage());
+        }
+    }
+
+    private TeamCalendarDto getMonth(String team, YearMonth month) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            try {
+                return cache.get(monthKey(team, month), () -> computeMonth(team, month));
+            } catch (DataAccessException | SerializationException e) {
+                // A cache outage should slow the calendar down, not break it
+                log.warn("Team calendar cache unavailable, computing {} {} directly: {}", team, month, e.getMessage());
+            }
+        }
+        return computeMonth(team, month);
+    }
+
+    TeamCalendarDto computeMonth(String team, YearMonth month) {
+        LocalDate first = month.atDay(1);
+        LocalDate last = month.atEndOfMonth();
+        String id = team.substring(team.indexOf(':') + 1);
+        List<CalendarAbsenceDto> absences = team.startsWith("manager:")
+                ? absenceRequestRepository.findCalendarByManager(UUID.fromString(id), first, last)
+                : absenceRequestRepository.findCalendarByDepartment(id, first, last);
+
+        return TeamCalendarDto.builder()
+                .team(team)
+                .startDate(first)
+                .endDate(last)
+                .absences(absences)
+                .days(sweep(absences, first, last))
+                .build();
+    }
+
+    /**
+     * Walks the days of {@code [first, last]} once, adding absences as they start and dropping them after they
+     * end, so the cost is the number of days plus the number of absences rather than their product.
+     */
+    static List<CalendarDayDto> sweep(List<CalendarAbsenceDto> absences, LocalDate first, LocalDate last) {
+        List<CalendarAbsenceDto> byStart = new ArrayList<>(absences);
+        byStart.sort(Comparator.comparing(CalendarAbsenceDto::getStartDate));
+
+        Map<Long, CalendarAbsenceDto> active = new LinkedHashMap<>();
+        List<CalendarDayDto> days = new ArrayList<>((int) ChronoUnit.DAYS.between(first, last) + 1);
+        int next = 0;
+        for (LocalDate date = first; !date.isAfter(last); date = date.plusDays(1)) {
+            while (next < byStart.size() && !byStart.get(next).getStartDate().isAfter(date)) {
+                CalendarAbsenceDto absence = byStart.get(next++);
+                active.put(absence.getRequestId(), absence);
+            }
+            LocalDate today = date;
+            active.values().removeIf(absence -> absence.getEndDate().isBefore(today));
+
+            int approved = 0;
+            for (CalendarAbsenceDto absence : active.values()) {
+                if (absence.getStatus() == AbsenceRequestStatus.APPROVED) {
+                    approved++;
+                }
+            }
+            days.add(CalendarDayDto.builder()
+                    .date(date)
+                    .approvedCount(approved)
+                    .pendingCount(active.size() - approved)
+                    .requestIds(new ArrayList<>(active.keySet()))
+                    .build());
+        }
+        return days;
+    }
+
+    private String managerTeam(UUID managerId, AbsenceRequestOperationContext context) {
+        if (context.getCurrentUserRole() != UserRole.SUPER_ADMIN && !Objects.equals(managerId, context.getCurrentUserId())) {
+            throw new UnauthorizedException("view team calendar", "only own team unless super admin");
+        }
+        return managerKey(managerId);
+    }
+
+    private String departmentTeam(String department, AbsenceRequestOperationContext context) {
+        if (context.getCurrentUserRole() != UserRole.SUPER_ADMIN) {
+            String ownDepartment = userRepository.findById(context.getCurrentUserId())
+                    .map(User::getDepartment)
+                    .orElseThrow(() -> new UserNotFoundException(context.getCurrentUserId()));
+            if (!department.equals(ownDepartment)) {
+                throw new UnauthorizedException("view team calendar", "only own department unless super admin");
+            }
+        }
+        return departmentKey(department);
+    }
+
+    private static String managerKey(UUID managerId) {
+        return "manager:" + managerId;
+    }
+
+    private static String departmentKey(String department) {
+        return "department:" + department;
+    }
+
+    private static String monthKey(String team, YearMonth month) {
+        return team + ":" + month;
+    }
+}
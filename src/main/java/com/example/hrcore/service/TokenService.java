@@ -1,15 +1,25 @@
 package com.example.hrcore.service;
 
+import com.example.hrcore.dto.LoggedUserDto;
+import com.example.hrcore.dto.PurgeResult;
 import com.example.hrcore.entity.ValidToken;
 import java.util.UUID;
 import com.example.hrcore.entity.enums.UserRole;
 import java.util.UUID;
+import com.example.hrcore.exception.ValidationException;
 import com.example.hrcore.repository.ValidTokenRepository;
+import com.example.hrcore.session.ActiveSessionCounter;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import java.util.UUID;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -24,19 +34,41 @@ import java.util.UUID;
 import java.time.ZoneId;
 import java.util.UUID;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TokenService {
 
+    private static final PurgeService.PurgeTarget VALID_TOKENS =
+            new PurgeService.PurgeTarget("valid_tokens", "expires_at");
+    private static final PurgeService.PurgeTarget INVALID_TOKENS =
+            new PurgeService.PurgeTarget("invalid_tokens", "expires_at");
+
+    private static final int MAX_LOGGED_USERS_PAGE_SIZE = 500;
+
+    /** Sortable fields of the logged-users listing, mapped to their paths in the projection query. */
+    private static final Map<String, String> LOGGED_USER_SORT_PATHS = Map.of(
+            "issuedAt", "t.issuedAt",
+            "expiresAt", "t.expiresAt",
+            "email", "u.email",
+            "firstName", "u.firstName",
+            "lastName", "u.lastName"
+    );
+
     private final ValidTokenRepository validTokenRepository;
+    private final PurgeService purgeService;
+    private final ActiveSessionCounter activeSessionCounter;
 
     @Transactional
-    public void registerToken(Jwt jwt, UUID userId, UserRole userRole, String idToken) {
+    public void registerToken(Jwt jwt, UUID userId, UserRole userRole, String department, String idToken) {
         String jti = jwt.getClaimAsString("jti");
         String keycloakSubject = jwt.getClaimAsString("sub");
         
@@ -66,39 +98,43 @@ public class TokenService {
                 .build();
 
         validTokenRepository.save(validToken);
+        activeSessionCounter.sessionStarted(jti, userRole, department, expiresAt);
         log.info("Token registered - JTI: {}, User ID: {}, Role: {}, Subject: {}, Expires: {}", 
             jti, userId, userRole, keycloakSubject, expiresAt);
     }
 
     public boolean isTokenValid(String jti) {
-        log.info("Validating token with JTI: {}", jti);
+        log.debug("Validating token with JTI: {}", jti);
         if (jti == null || jti.isEmpty()) {
-            log.warn("JTI is null or empty");
+            log.debug("JTI is null or empty");
             return false;
         }
         
         Optional<ValidToken> token = validTokenRepository.findByTokenJti(jti);
         if (token.isEmpty()) {
-            log.warn("Token not found in database - JTI: {}", jti);
+            log.debug("Token not found in database - JTI: {}", jti);
             return false;
         }
         
         ValidToken validToken = token.get();
         boolean isExpired = validToken.isExpired();
         boolean valid = !isExpired;
-        log.info("Token validity check - JTI: {}, IsExpired: {}, Valid: {}, ExpiresAt: {}", jti, isExpired, valid, validToken.getExpiresAt());
+        log.debug("Token validity check - JTI: {}, IsExpired: {}, Valid: {}, ExpiresAt: {}", jti, isExpired, valid, validToken.getExpiresAt());
         return valid;
     }
 
     @Transactional
     public void invalidateToken(String jti) {
         validTokenRepository.deleteByTokenJti(jti);
+        activeSessionCounter.sessionEnded(jti);
         log.info("Token invalidated - JTI: {}", jti);
     }
 
     @Transactional
     public void invalidateAllUserTokens(UUID userId) {
+        List<String> jtis = validTokenRepository.findJtisByUserId(userId);
         validTokenRepository.deleteByUserId(userId);
+        activeSessionCounter.sessionsEnded(jtis);
         log.info("All tokens invalidated for user - User ID: {}", userId);
     }
 
@@ -108,11 +144,67 @@ public class TokenService {
         return tokens;
     }
 
+    /**
+     * Active sessions with their users' names, from one join query. A null {@code page} returns every session.
+     */
+    @Transactional(readOnly = true)
+    public Page<LoggedUserDto> getLoggedInUsers(Integer page, int size, String sortBy, String sortDirection) {
+        if ((page != null && page < 0) || size < 1 || size > MAX_LOGGED_USERS_PAGE_SIZE) {
+            throw ValidationException.of("page", "Page must be >= 0 and size between 1 and " + MAX_LOGGED_USERS_PAGE_SIZE);
+        }
+        Sort sort = loggedUserSort(sortBy, sortDirection);
+        Pageable pageable = page != null ? PageRequest.of(page, size, sort) : Pageable.unpaged(sort);
+        return validTokenRepository.findLoggedInUsers(LocalDateTime.now(), pageable);
+    }
+
+    /**
+     * Streams active sessions to {@code consumer} row by row, for listings too large to hold in memory.
+     * Resolve {@code sort} with {@link #loggedUserSort} before the response starts, so a bad sort field
+     * is still reported as 400.
+     */
+    @Transactional(readOnly = true)
+    public void forEachLoggedInUser(Sort sort, Consumer<LoggedUserDto> consumer) {
+        try (Stream<LoggedUserDto> sessions = validTokenRepository.streamLoggedInUsers(LocalDateTime.now(), sort)) {
+            sessions.forEach(consumer);
+        }
+    }
+
+    /**
+     * Sort for the logged-in user listings; rejects fields outside the supported set.
+     */
+    public Sort loggedUserSort(String sortBy, String sortDirection) {
+        String path = LOGGED_USER_SORT_PATHS.get(sortBy);
+        if (path == null) {
+            throw ValidationException.of("sortBy", "Unsupported sort field: " + sortBy);
+        }
+        Sort.Direction direction = Sort.Direction.fromOptionalString(sortDirection).orElse(Sort.Direction.DESC);
+        // The paths come from the fixed map above, so the unsafe sort never sees user input
+        return JpaSort.unsafe(direction, path).and(JpaSort.unsafe(direction, "t.id"));
+    }
+
+    /**
+     * Purges expired rows from valid_tokens and invalid_tokens in bounded batches.
+     * Not transactional on purpose: every batch commits on its own.
+     */
     @Scheduled(fixedDelay = 3600000)
-    @Transactional
-    public void cleanupExpiredTokens() {
-        long deletedCount = validTokenRepository.deleteExpiredTokens(LocalDateTime.now());
-        log.info("Cleanup task executed - Deleted expired tokens: {}", deletedCount);
+    public List<PurgeResult> cleanupExpiredTokens() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        List<PurgeResult> results = List.of(
+                purgeService.purge(VALID_TOKENS, cutoff),
+                purgeService.purge(INVALID_TOKENS, cutoff)
+        );
+        log.info("Cleanup task executed - Deleted expired tokens: {}",
+                results.stream().mapToLong(PurgeResult::getRowsDeleted).sum());
+        return results;
+    }
+
+    @Async
+    public CompletableFuture<List<PurgeResult>> cleanupExpiredTokensAsync() {
+        return CompletableFuture.completedFuture(cleanupExpiredTokens());
+    }
+
+    public boolean isCleanupRunning() {
+        return purgeService.isRunning(VALID_TOKENS) || purgeService.isRunning(INVALID_TOKENS);
     }
 
     public Optional<ValidToken> findByJti(String jti) {
@@ -0,0 +1,420 @@
+package com.example.hrcore.session;
+
+import com.example.hrcore.dto.ActiveSessionDto;
+import com.example.hrcore.dto.ActiveSessionStatsDto;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.repository.ValidTokenRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Counts active sessions in total, per role and per department without touching valid_tokens.
+ * <p>
+ * Each session is a member of Redis sorted sets scored by its expiry, so {@code ZCOUNT now +inf}
+ * gives the live count and expired sessions drop out on their own; a scheduled prune only reclaims memory.
+ * Sessions are added when a token is registered and removed when it is invalidated, after the
+ * surrounding transaction commits. The sets are rebuilt from the database at startup, and again once
+ * Redis answers after an outage, since sessions started or ended meanwhile only reached the local copy.
+ * <p>
+ * A node-local copy is kept as well. It serves the counts when Redis is disabled
+ * ({@code session-stats.redis.enabled=false}) or unreachable, in which case only sessions known to
+ * this node are counted.
+ */
+@Slf4j
+@Component
+public class ActiveSessionCounter {
+
+    private static final String KEY_PREFIX = "sessions:active:";
+    private static final String ALL_KEY = KEY_PREFIX + "all";
+    private static final String META_KEY = KEY_PREFIX + "meta";
+    private static final String DEPARTMENTS_KEY = KEY_PREFIX + "departments";
+    private static final String NO_DEPARTMENT = "Unassigned";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ValidTokenRepository validTokenRepository;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, LocalSession> localSessions = new ConcurrentHashMap<>();
+    private final Set<String> departmentGauges = ConcurrentHashMap.newKeySet();
+    private final Set<String> endedWhileRedisDown = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean redisDown;
+    private volatile boolean resyncPending;
+    private volatile long redisRetryAtNanos;
+    private volatile ActiveSessionStatsDto cachedStats;
+    private volatile long cachedStatsAtNanos;
+
+    @Value("${session-stats.redis.enabled:true}")
+    private boolean redisEnabled;
+
+    @Value("${session-stats.redis.retry-after-ms:5000}")
+    private long redisRetryAfterMs;
+
+    @Value("${session-stats.gauge-cache-ms:5000}")
+    private long gaugeCacheMs;
+
+    public ActiveSessionCounter(StringRedisTemplate redisTemplate,
+                                ValidTokenRepository validTokenRepository,
+                                MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.validTokenRepository = validTokenRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void registerGauges() {
+        Gauge.builder("sessions.active", this, counter -> counter.cachedStats().getTotal())
+                .description("Active sessions")
+                .register(meterRegistry);
+        for (UserRole role : UserRole.values()) {
+            Gauge.builder("sessions.active.by.role", this,
+                            counter -> counter.cachedStats().getByRole().getOrDefault(role.name(), 0L))
+                    .description("Active sessions per role")
+                    .tag("role", role.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Rebuilds the counters from the unexpired tokens in the database. Adding is idempotent,
+     * so replicas starting together do not double count.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<ActiveSessionDto> batch = new ArrayList<>();
+        long[] total = {0};
+        try (Stream<ActiveSessionDto> sessions = validTokenRepository.streamActiveSessions(LocalDateTime.now())) {
+            sessions.forEach(session -> {
+                batch.add(session);
+                if (batch.size() == 1000) {
+                    total[0] += addAll(batch);
+                    batch.clear();
+                }
+            });
+        }
+        total[0] += addAll(batch);
+        log.info("Rebuilt active session counters from {} tokens in {} ms",
+                total[0], TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public void sessionStarted(String jti, UserRole role, String department, LocalDateTime expiresAt) {
+        afterCommit(() -> addAll(List.of(new ActiveSessionDto(jti, role, department, expiresAt))));
+    }
+
+    public void sessionEnded(String jti) {
+        sessionsEnded(List.of(jti));
+    }
+
+    public void sessionsEnded(Collection<String> jtis) {
+        if (jtis.isEmpty()) {
+            return;
+        }
+        List<String> ended = List.copyOf(jtis);
+        afterCommit(() -> removeAll(ended));
+    }
+
+    public ActiveSessionStatsDto getStats() {
+        if (useRedis()) {
+            try {
+                return redisStats();
+            } catch (RuntimeException e) {
+                markRedisDown(e);
+            }
+        }
+        return localStats();
+    }
+
+    /**
+     * Brings Redis back in line after an outage: removes the sessions that ended while it was unreachable,
+     * then rebuilds from the database to add the ones that started. Does nothing unless a Redis call has
+     * failed since the last resync.
+     */
+    @Scheduled(fixedDelayString = "${session-stats.resync-interval-ms:30000}")
+    @Transactional(readOnly = true)
+    public void resync() {
+        if (!resyncPending || !useRedis()) {
+            return;
+        }
+        try {
+            redisTemplate.execute((RedisCallback<String>) RedisConnection::ping);
+        } catch (RuntimeException e) {
+            markRedisDown(e);
+            return;
+        }
+        // A failure while resyncing sets the flag again, so the next run retries
+        resyncPending = false;
+        redisDown = false;
+        log.info("Redis session counters available again, resyncing from the database");
+        List<String> ended = List.copyOf(endedWhileRedisDown);
+        endedWhileRedisDown.removeAll(ended);
+        removeAll(ended);
+        rebuild();
+    }
+
+    /**
+     * Drops expired sessions. Counts already ignore them; this only keeps the sets from growing.
+     */
+    @Scheduled(fixedDelayString = "${session-stats.prune-interval-ms:300000}")
+    public void pruneExpired() {
+        long now = System.currentTimeMillis();
+        localSessions.values().removeIf(session -> session.expiresAtMillis() <= now);
+        if (!useRedis()) {
+            return;
+        }
+        try {
+            Set<String> expired = redisTemplate.opsForZSet().rangeByScore(ALL_KEY, Double.NEGATIVE_INFINITY, now);
+            if (expired != null && !expired.isEmpty()) {
+                redisTemplate.opsForHash().delete(META_KEY, expired.toArray());
+            }
+            List<String> departments = departments();
+            for (String key : countedKeys(departments)) {
+                redisTemplate.opsForZSet().removeRangeByScore(key, Double.NEGATIVE_INFINITY, now);
+            }
+            // Departments first seen on other replicas get their gauge here
+            departments.forEach(this::registerDepartmentGauge);
+        } catch (RuntimeException e) {
+            markRedisDown(e);
+        }
+    }
+
+    private long addAll(List<ActiveSessionDto> sessions) {
+        if (sessions.isEmpty()) {
+            return 0;
+        }
+        for (ActiveSessionDto session : sessions) {
+            String department = departmentOf(session.getDepartment());
+            localSessions.put(session.getTokenJti(), new LocalSession(
+                    session.getRole(), department, toEpochMillis(session.getExpiresAt())));
+            registerDepartmentGauge(department);
+        }
+        if (useRedis()) {
+            try {
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection redis = (StringRedisConnection) connection;
+                    for (ActiveSessionDto session : sessions) {
+                        String jti = session.getTokenJti();
+                        String department = departmentOf(session.getDepartment());
+                        double score = toEpochMillis(session.getExpiresAt());
+                        redis.zAdd(ALL_KEY, score, jti);
+                        redis.zAdd(roleKey(session.getRole().name()), score, jti);
+                        redis.zAdd(departmentKey(department), score, jti);
+                        redis.sAdd(DEPARTMENTS_KEY, department);
+                        redis.hSet(META_KEY, jti, session.getRole().name() + "|" + department);
+                    }
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                markRedisDown(e);
+            }
+        }
+        return sessions.size();
+    }
+
+    private void removeAll(List<String> jtis) {
+        jtis.forEach(localSessions::remove);
+        if (jtis.isEmpty() || !redisEnabled) {
+            return;
+        }
+        if (!useRedis()) {
+            endedWhileRedisDown.addAll(jtis);
+            return;
+        }
+        try {
+            List<Object> metadata = redisTemplate.opsForHash().multiGet(META_KEY, new ArrayList<>(jtis));
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (int i = 0; i < jtis.size(); i++) {
+                    String jti = jtis.get(i);
+                    redis.zRem(ALL_KEY, jti);
+                    if (metadata.get(i) instanceof String meta) {
+                        int separator = meta.indexOf('|');
+                        redis.zRem(roleKey(meta.substring(0, separator)), jti);
+                        redis.zRem(departmentKey(meta.substring(separator + 1)), jti);
+                    }
+                    redis.hDel(META_KEY, jti);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            endedWhileRedisDown.addAll(jtis);
+            markRedisDown(e);
+        }
+    }
+
+    private ActiveSessionStatsDto redisStats() {
+        List<String> departments = departments();
+        List<String> keys = countedKeys(departments);
+        double now = System.currentTimeMillis();
+        List<Object> counts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (String key : keys) {
+                redis.zCount(key, now, Double.POSITIVE_INFINITY);
+            }
+            return null;
+        });
+        if (redisDown) {
+            redisDown = false;
+            log.info("Redis session counters available again");
+        }
+
+        Map<String, Long> byRole = new LinkedHashMap<>();
+        UserRole[] roles = UserRole.values();
+        for (int i = 0; i < roles.length; i++) {
+            byRole.put(roles[i].name(), toLong(counts.get(1 + i)));
+        }
+        Map<String, Long> byDepartment = new TreeMap<>();
+        for (int i = 0; i < departments.size(); i++) {
+            long count = toLong(counts.get(1 + roles.length + i));
+            if (count > 0) {
+                byDepartment.put(departments.get(i), count);
+            }
+        }
+        return ActiveSessionStatsDto.builder()
+                .total(toLong(counts.get(0)))
+                .byRole(byRole)
+                .byDepartment(byDepartment)
+                .source("redis")
+                .build();
+    }
+
+    private ActiveSessionStatsDto localStats() {
+        long now = System.currentTimeMillis();
+        Map<String, Long> byRole = new LinkedHashMap<>();
+        for (UserRole role : UserRole.values()) {
+            byRole.put(role.name(), 0L);
+        }
+        Map<String, Long> byDepartment = new TreeMap<>();
+        long total = 0;
+        for (LocalSession session : localSessions.values()) {
+            if (session.expiresAtMillis() > now) {
+                total++;
+                byRole.merge(session.role().name(), 1L, Long::sum);
+                byDepartment.merge(session.department(), 1L, Long::sum);
+            }
+        }
+        return ActiveSessionStatsDto.builder()
+                .total(total)
+                .byRole(byRole)
+                .byDepartment(byDepartment)
+                .source("local")
+                .build();
+    }
+
+    /**
+     * Stats for the gauges, refreshed at most every {@code session-stats.gauge-cache-ms} so a scrape
+     * costs one pipelined Redis call rather than one per gauge.
+     */
+    private ActiveSessionStatsDto cachedStats() {
+        ActiveSessionStatsDto stats = cachedStats;
+        if (stats == null || System.nanoTime() - cachedStatsAtNanos > TimeUnit.MILLISECONDS.toNanos(gaugeCacheMs)) {
+            stats = getStats();
+            cachedStats = stats;
+            cachedStatsAtNanos = System.nanoTime();
+        }
+        return stats;
+    }
+
+    private void registerDepartmentGauge(String department) {
+        if (departmentGauges.add(department)) {
+            Gauge.builder("sessions.active.by.department", this,
+                            counter -> counter.cachedStats().getByDepartment().getOrDefault(department, 0L))
+                    .description("Active sessions per department")
+                    .tag("department", department)
+                    .register(meterRegistry);
+        }
+    }
+
+    private List<String> departments() {
+        Set<String> members = redisTemplate.opsForSet().members(DEPARTMENTS_KEY);
+        return members != null ? new ArrayList<>(new TreeSet<>(members)) : List.of();
+    }
+
+    /** Total key first, then one key per role, then one per department. */
+    private static List<String> countedKeys(List<String> departments) {
+        List<String> keys = new ArrayList<>();
+        keys.add(ALL_KEY);
+        for (UserRole role : UserRole.values()) {
+            keys.add(roleKey(role.name()));
+        }
+        departments.forEach(department -> keys.add(departmentKey(department)));
+        return keys;
+    }
+
+    private boolean useRedis() {
+        return redisEnabled && !(redisDown && System.nanoTime() - redisRetryAtNanos < 0);
+    }
+
+    private void markRedisDown(RuntimeException e) {
+        if (!redisDown) {
+            log.warn("Redis session counters unavailable, counting this node's sessions only: {}", e.getMessage());
+        }
+        redisRetryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(redisRetryAfterMs);
+        redisDown = true;
+        resyncPending = true;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static String roleKey(String role) {
+        return KEY_PREFIX + "role:" + role;
+    }
+
+    private static String departmentKey(String department) {
+        return KEY_PREFIX + "department:" + department;
+    }
+
+    private static String departmentOf(String department) {
+        return department == null || department.isBlank() ? NO_DEPARTMENT : department;
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    private record LocalSession(UserRole role, String department, long expiresAtMillis) {
+    }
+}
@@ -0,0 +1,28 @@
+-- Flyway V13 migration: database-enforced absence overlap detection
+
+-- btree_gist lets the exclusion constraint combine user_id equality with range overlap in one GiST index
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Existing double bookings would make the constraint fail to build; report them instead of guessing which to drop
+DO $$
+DECLARE
+    overlapping INTEGER;
+BEGIN
+    SELECT COUNT(*) INTO overlapping
+    FROM absence_requests a
+    JOIN absence_requests b ON a.user_id = b.user_id AND a.id < b.id
+    WHERE a.status IN ('PENDING', 'APPROVED')
+      AND b.status IN ('PENDING', 'APPROVED')
+      AND daterange(a.start_date, a.end_date, '[]') && daterange(b.start_date, b.end_date, '[]');
+
+    IF overlapping > 0 THEN
+        RAISE EXCEPTION '% pairs of pending/approved absence requests overlap; reject or adjust them before migrating', overlapping;
+    END IF;
+END $$;
+
+-- No user may hold two pending/approved absences sharing a day (end_date is inclusive).
+-- The backing GiST index on (user_id, daterange) also serves per-user and team overlap queries.
+ALTER TABLE absence_requests
+    ADD CONSTRAINT absence_requests_no_overlap
+    EXCLUDE USING gist (user_id WITH =, daterange(start_date, end_date, '[]') WITH &&)
+    WHERE (status IN ('PENDING', 'APPROVED'));
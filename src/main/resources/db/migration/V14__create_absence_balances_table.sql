@@ -0,0 +1,29 @@
+-- Flyway V14 migration: per-user, per-year, per-type absence day totals
+-- Kept up to date by AbsenceBalanceService; recomputed from absence_requests by its rebuild job.
+
+CREATE TABLE IF NOT EXISTS absence_balances (
+    user_id UUID NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    balance_year INTEGER NOT NULL,
+    type VARCHAR(50) NOT NULL,
+    requested_days INTEGER NOT NULL DEFAULT 0,
+    pending_days INTEGER NOT NULL DEFAULT 0,
+    approved_days INTEGER NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (user_id, balance_year, type)
+);
+
+-- Seed from existing requests, splitting requests that cross a year boundary
+INSERT INTO absence_balances (user_id, balance_year, type, requested_days, pending_days, approved_days)
+SELECT a.user_id,
+       d.balance_year,
+       a.type,
+       SUM(d.days),
+       SUM(CASE WHEN a.status = 'PENDING' THEN d.days ELSE 0 END),
+       SUM(CASE WHEN a.status = 'APPROVED' THEN d.days ELSE 0 END)
+FROM absence_requests a
+CROSS JOIN LATERAL (
+    SELECT EXTRACT(YEAR FROM day)::INTEGER AS balance_year, COUNT(*)::INTEGER AS days
+    FROM generate_series(a.start_date, a.end_date, INTERVAL '1 day') AS day
+    GROUP BY 1
+) d
+GROUP BY a.user_id, d.balance_year, a.type;
@@ -0,0 +1,4 @@
+-- Optimistic locking for absence request and feedback state transitions.
+-- A constant default is stored in the catalog, so existing rows are not rewritten.
+ALTER TABLE absence_requests ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE feedback ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
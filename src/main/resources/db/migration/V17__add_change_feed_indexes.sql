@@ -0,0 +1,15 @@
+-- Change feed: keyset scans over (updated_at, id) per table
+CREATE INDEX idx_users_updated_at_id ON users (updated_at, id);
+CREATE INDEX idx_absence_updated_at_id ON absence_requests (updated_at, id);
+CREATE INDEX idx_feedback_updated_at_id ON feedback (updated_at, id);
+
+-- Tombstones for deleted rows, so the change feed can report deletes
+CREATE TABLE deleted_records (
+    id BIGSERIAL PRIMARY KEY,
+    entity_type VARCHAR(50) NOT NULL,
+    entity_id VARCHAR(64) NOT NULL,
+    deleted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_deleted_records_type_id ON deleted_records (entity_type, id);
+CREATE INDEX idx_deleted_records_deleted_at ON deleted_records (deleted_at);
@@ -0,0 +1,45 @@
+-- Token bucket shared by all replicas.
+-- KEYS[1] bucket hash, ARGV[1] capacity, ARGV[2] refill period (ms), ARGV[3] tokens requested,
+-- ARGV[4] minimum tokens to grant. Fewer than the minimum means nothing is taken.
+-- The bucket is refilled to capacity once per elapsed period, matching Bucket4j's intervally refill.
+-- Returns {granted, remaining, millisUntilRefill, periodStart}.
+local capacity = tonumber(ARGV[1])
+local period = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+local minimum = tonumber(ARGV[4] or '1')
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+else
+    local periods = math.floor((now - ts) / period)
+    if periods > 0 then
+        tokens = capacity
+        ts = ts + periods * period
+    end
+end
+
+-- The capacity may have been lowered since the bucket was last filled
+tokens = math.min(tokens, capacity)
+
+local granted = 0
+if tokens >= minimum then
+    granted = math.min(requested, tokens)
+end
+tokens = tokens - granted
+
+redis.call('HSET', KEYS[1], 'tokens', tokens, 'ts', ts)
+redis.call('PEXPIRE', KEYS[1], period * 2)
+
+local wait = 0
+if granted == 0 then
+    wait = ts + period - now
+end
+return {granted, tokens, wait, ts}
@@ -0,0 +1,19 @@
+-- Puts leased tokens that were never used back into the shared bucket.
+-- KEYS[1] bucket hash, ARGV[1] capacity, ARGV[2] tokens returned, ARGV[3] start of the period they were taken in.
+-- Tokens from an earlier period are dropped, since the bucket has been refilled since. The bucket never exceeds
+-- its capacity. Returns the tokens now in the bucket, or -1 when nothing was returned.
+local capacity = tonumber(ARGV[1])
+local returned = tonumber(ARGV[2])
+local periodStart = tonumber(ARGV[3])
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+
+if tokens == nil or ts == nil or ts ~= periodStart then
+    return -1
+end
+
+tokens = math.min(tokens + returned, capacity)
+redis.call('HSET', KEYS[1], 'tokens', tokens)
+return tokens
@@ -0,0 +1,141 @@
+package com.example.hrcore.aspect;
+
+import com.example.hrcore.metrics.RequestMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.Signature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("MetricsAspect Tests")
+class MetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MetricsAspect metricsAspect;
+    private ProceedingJoinPoint joinPoint;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metricsAspect = new MetricsAspect(meterRegistry,
+                new Duration[]{Duration.ofMillis(100), Duration.ofSeconds(1)}, true);
+
+        joinPoint = mock(ProceedingJoinPoint.class);
+        Signature signature = mock(Signature.class);
+        when(joinPoint.getTarget()).thenReturn(new SampleController());
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getName()).thenReturn("search");
+
+        response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), response));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        RequestMetrics.end();
+    }
+
+    @Test
+    @DisplayName("Should record the DB, Redis and remote breakdown of a request")
+    void testRecordsBreakdown() throws Throwable {
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            RequestMetrics.recordSql(TimeUnit.MILLISECONDS.toNanos(3));
+            RequestMetrics.recordSql(TimeUnit.MILLISECONDS.toNanos(2));
+            RequestMetrics.recordRedis(TimeUnit.MILLISECONDS.toNanos(1));
+            RequestMetrics.recordRemote(TimeUnit.MILLISECONDS.toNanos(40));
+            return "ok";
+        });
+
+        Object result = metricsAspect.recordMetrics(joinPoint);
+
+        assertThat(result).isEqualTo("ok");
+        DistributionSummary statements = meterRegistry.get("api.request.sql.statements")
+                .tags("class", "SampleController", "method", "search").summary();
+        assertThat(statements.totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("api.request.db").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5);
+        assertThat(meterRegistry.get("api.request.redis").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(1);
+        assertThat(meterRegistry.get("api.request.remote").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(40);
+        assertThat(response.getHeader("Server-Timing")).contains("db;dur=5.0;desc=\"2 statements\"", "remote;dur=40.0");
+        assertThat(RequestMetrics.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should include work recorded before the controller when the request filter opened the breakdown")
+    void testIncludesWorkBeforeController() throws Throwable {
+        RequestMetrics opened = RequestMetrics.begin();
+        RequestMetrics.recordRedis("rate-limit script", TimeUnit.MILLISECONDS.toNanos(2));
+        RequestMetrics.recordSql(TimeUnit.MILLISECONDS.toNanos(4));
+        when(joinPoint.proceed()).thenAnswer(invocation -> {
+            RequestMetrics.recordSql(TimeUnit.MILLISECONDS.toNanos(1));
+            return "ok";
+        });
+
+        metricsAspect.recordMetrics(joinPoint);
+
+        assertThat(meterRegistry.get("api.request.redis").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(2);
+        assertThat(meterRegistry.get("api.request.db").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(5);
+        assertThat(meterRegistry.get("api.request.sql.statements").summary().totalAmount()).isEqualTo(2);
+        assertThat(RequestMetrics.current()).isSameAs(opened);
+    }
+
+    @Test
+    @DisplayName("Should record a nested controller call once, as part of the outer call")
+    void testNestedControllerCall() throws Throwable {
+        when(joinPoint.proceed())
+                .thenAnswer(invocation -> metricsAspect.recordMetrics(joinPoint))
+                .thenReturn("ok");
+
+        metricsAspect.recordMetrics(joinPoint);
+
+        assertThat(meterRegistry.get("api.request").tag("status", "success").timer().count()).isEqualTo(1);
+        assertThat(RequestMetrics.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reuse cached meters and publish SLO buckets")
+    void testReusesMeters() throws Throwable {
+        when(joinPoint.proceed()).thenReturn("ok");
+
+        metricsAspect.recordMetrics(joinPoint);
+        metricsAspect.recordMetrics(joinPoint);
+
+        Timer timer = meterRegistry.get("api.request").tag("status", "success").timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(meterRegistry.find("api.request").timers()).hasSize(2);
+        assertThat(timer.takeSnapshot().histogramCounts())
+                .extracting(bucket -> bucket.bucket(TimeUnit.MILLISECONDS))
+                .contains(100.0, 1000.0);
+    }
+
+    @Test
+    @DisplayName("Should record failed requests with error status and rethrow")
+    void testRecordsErrors() throws Throwable {
+        when(joinPoint.proceed()).thenThrow(new IllegalStateException("boom"));
+
+        assertThatThrownBy(() -> metricsAspect.recordMetrics(joinPoint))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get("api.request").tag("status", "error").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("api.request").tag("status", "success").timer().count()).isZero();
+        assertThat(RequestMetrics.current()).isNull();
+    }
+
+    private static class SampleController {
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.hrcore.config;
+
+import com.example.hrcore.dto.CalendarAbsenceDto;
+import com.example.hrcore.dto.CalendarDayDto;
+import com.example.hrcore.dto.TeamCalendarDto;
+import com.example.hrcore.entity.enums.AbsenceRequestStatus;
+import com.example.hrcore.entity.enums.AbsenceRequestType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("CacheConfig Tests")
+class CacheConfigTest {
+
+    @Test
+    @DisplayName("Team calendar months read back from Redis as TeamCalendarDto")
+    void testTeamCalendarRoundTrip() {
+        CalendarAbsenceDto absence = CalendarAbsenceDto.builder()
+                .requestId(7L)
+                .userId(UUID.randomUUID())
+                .firstName("Ana")
+                .lastName("Popescu")
+                .type(AbsenceRequestType.VACATION)
+                .status(AbsenceRequestStatus.APPROVED)
+                .startDate(LocalDate.of(2025, 3, 3))
+                .endDate(LocalDate.of(2025, 3, 4))
+                .build();
+        TeamCalendarDto month = TeamCalendarDto.builder()
+                .team("department:Engineering")
+                .startDate(LocalDate.of(2025, 3, 1))
+                .endDate(LocalDate.of(2025, 3, 31))
+                .absences(List.of(absence))
+                .days(List.of(new CalendarDayDto(LocalDate.of(2025, 3, 3), 1, 0, List.of(7L))))
+                .build();
+
+        RedisCacheConfiguration config = CacheConfig.teamCalendarConfig(
+                RedisCacheConfiguration.defaultCacheConfig(), new CacheConfig().redisObjectMapper());
+        @SuppressWarnings("unchecked")
+        SerializationPair<Object> values = (SerializationPair<Object>) config.getValueSerializationPair();
+        ByteBuffer stored = values.write(month);
+        Object read = values.read(stored);
+
+        assertThat(read).isInstanceOf(TeamCalendarDto.class).isEqualTo(month);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.hrcore.config;
+
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RateLimitConfig Tests")
+class RateLimitConfigTest {
+
+    private static final long MAX_CLIENTS = 10_000;
+    private static final int DISTINCT_CLIENTS = 2_000_000;
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitConfig rateLimitConfig;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitConfig = new RateLimitConfig(100, 60_000, MAX_CLIENTS, 120_000, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Same client key resolves to the same bucket")
+    void testSameKeyReturnsSameBucket() {
+        Bucket first = rateLimitConfig.resolveBucket("10.0.0.1:42");
+        first.tryConsume(1);
+
+        Bucket second = rateLimitConfig.resolveBucket("10.0.0.1:42");
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.getAvailableTokens()).isEqualTo(99);
+    }
+
+    @Test
+    @DisplayName("Millions of distinct clients keep the bucket registry bounded")
+    void testMillionsOfClientsStayBounded() {
+        for (int i = 0; i < DISTINCT_CLIENTS; i++) {
+            rateLimitConfig.resolveBucket("client-" + i).tryConsume(1);
+        }
+        rateLimitConfig.getRateLimitBuckets().cleanUp();
+
+        assertThat(rateLimitConfig.getRateLimitBuckets().estimatedSize()).isLessThanOrEqualTo(MAX_CLIENTS);
+        assertThat(rateLimitConfig.getRateLimitBuckets().stats().evictionCount())
+                .isGreaterThanOrEqualTo(DISTINCT_CLIENTS - MAX_CLIENTS);
+        assertThat(meterRegistry.get("cache.size").tag("cache", "rateLimitBuckets").gauge().value())
+                .isLessThanOrEqualTo(MAX_CLIENTS);
+    }
+}
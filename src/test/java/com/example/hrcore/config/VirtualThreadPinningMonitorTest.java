@@ -0,0 +1,88 @@
+package com.example.hrcore.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("VirtualThreadPinningMonitor Tests")
+class VirtualThreadPinningMonitorTest {
+
+    private static final String METER = "jvm.threads.virtual.pinned";
+    private static final String LONG_PIN_FRAME = VirtualThreadPinningMonitorTest.class.getName() + ".pinLong";
+    private static final String SHORT_PIN_FRAME = VirtualThreadPinningMonitorTest.class.getName() + ".pinShort";
+
+    private final Object lock = new Object();
+
+    private SimpleMeterRegistry meterRegistry;
+    private VirtualThreadPinningMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new VirtualThreadPinningMonitor(meterRegistry);
+        ReflectionTestUtils.setField(monitor, "thresholdMs", 50L);
+        monitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.stop();
+    }
+
+    @Test
+    @DisplayName("Pins over the threshold are counted under the first application frame, shorter ones are not")
+    void testThresholdAndFrameTag() throws Exception {
+        Thread.ofVirtual().start(this::pinShort).join();
+        Thread.ofVirtual().start(this::pinLong).join();
+
+        Counter counter = awaitCounter(LONG_PIN_FRAME);
+
+        assertThat(counter.count()).isEqualTo(1.0);
+        assertThat(meterRegistry.find(METER).tag("frame", SHORT_PIN_FRAME).counter()).isNull();
+        assertThat(meterRegistry.find(METER).counters()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Stopping the monitor closes the recording")
+    void testStop() {
+        assertThat(monitor.isRunning()).isTrue();
+
+        monitor.stop();
+
+        assertThat(monitor.isRunning()).isFalse();
+    }
+
+    private void pinShort() {
+        synchronized (lock) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+    }
+
+    private void pinLong() {
+        synchronized (lock) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+        }
+    }
+
+    private Counter awaitCounter(String frame) throws InterruptedException {
+        // JFR streams events in chunks, roughly once a second
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            Counter counter = meterRegistry.find(METER).tag("frame", frame).counter();
+            if (counter != null && counter.count() > 0) {
+                return counter;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("No pinned event recorded for " + frame);
+    }
+}
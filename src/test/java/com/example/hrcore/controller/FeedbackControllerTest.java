@@ -5,10 +5,13 @@ import com.example.hrcore.entity.Feedback;
 import com.example.hrcore.entity.User;
 import com.example.hrcore.entity.enums.FeedbackStatus;
 import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.metrics.QueryCountAssert;
+import com.example.hrcore.metrics.QueryCounter;
 import com.example.hrcore.repository.FeedbackRepository;
 import com.example.hrcore.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,12 +20,15 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -49,6 +55,12 @@ class FeedbackControllerTest {
     @Autowired
     private FeedbackRepository feedbackRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private User manager;
     private User employee1;
     private User employee2;
@@ -317,6 +329,33 @@ class FeedbackControllerTest {
                 .andExpect(jsonPath("$.status", is("APPROVED")));
     }
 
+    @Test
+    @WithMockUser(username = "manager@hrcore.com", roles = {"MANAGER"})
+    @DisplayName("Manager approving feedback - should stay within its query budget")
+    void approveFeedback_asManager_queryBudget() throws Exception {
+        Feedback feedback = feedbackRepository.save(Feedback.builder()
+                .fromUserId(employee1.getId())
+                .toUserId(employee2.getId())
+                .content("Constructive feedback")
+                .status(FeedbackStatus.PENDING)
+                .build());
+
+        // Start from an empty persistence context and flush inside the counted block: the test transaction
+        // would otherwise serve the read from memory and defer the writes past the count
+        entityManager.flush();
+        entityManager.clear();
+        QueryCounter queries = QueryCountAssert.recording(() -> {
+            mockMvc.perform(put("/api/v1/feedback/{feedbackId}/approve", feedback.getId()))
+                    .andExpect(status().isOk());
+            entityManager.flush();
+        });
+
+        // Current user, feedback, recipient (authorization, reused by the mapper), author, update, outbox insert
+        QueryCountAssert.assertThat(queries)
+                .hasAtMost(6)
+                .hasNoStatementRepeatedMoreThan(2);
+    }
+
     @Test
     @WithMockUser(username = "manager@hrcore.com", roles = {"MANAGER"})
     @DisplayName("Manager approving already approved feedback - should fail")
@@ -455,4 +494,43 @@ class FeedbackControllerTest {
                 .andExpect(jsonPath("$.content", hasSize(1)))
                 .andExpect(jsonPath("$.content[0].status", is("APPROVED")));
     }
+
+    // ========== CHANGE FEED ==========
+
+    @Test
+    @WithMockUser(username = "admin@hrcore.com", roles = {"SUPER_ADMIN"})
+    @DisplayName("Feedback change feed loads the referenced users in one query per page")
+    void getChanges_queryBudget() throws Exception {
+        userRepository.save(User.builder()
+                .email("admin@hrcore.com")
+                .firstName("Super")
+                .lastName("Admin")
+                .role(UserRole.SUPER_ADMIN)
+                .department("IT")
+                .build());
+        User[] users = {manager, employee1, employee2};
+        for (int i = 0; i < 12; i++) {
+            feedbackRepository.save(Feedback.builder()
+                    .fromUserId(users[i % 3].getId())
+                    .toUserId(users[(i + 1) % 3].getId())
+                    .content("Feedback " + i)
+                    .status(FeedbackStatus.PENDING)
+                    .build());
+        }
+        entityManager.flush();
+        // Older than the settle time, so the feed returns them
+        jdbcTemplate.update("UPDATE feedback SET updated_at = ?", LocalDateTime.now().minusMinutes(1));
+        entityManager.clear();
+
+        QueryCounter queries = QueryCountAssert.recording(() ->
+                mockMvc.perform(get("/api/v1/feedback/changes").param("limit", "100"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$.items", hasSize(12)))
+                        .andExpect(jsonPath("$.items[*].fromUser.firstName", hasItem("Jane"))));
+
+        // Feedback page, tombstones, and the three referenced users in one query instead of one each
+        QueryCountAssert.assertThat(queries)
+                .hasAtMost(3)
+                .hasNoRepeatedStatements();
+    }
 }
@@ -0,0 +1,192 @@
+package com.example.hrcore.controller;
+
+import com.example.hrcore.config.TestSecurityConfig;
+import com.example.hrcore.entity.User;
+import com.example.hrcore.entity.ValidToken;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.metrics.QueryCountAssert;
+import com.example.hrcore.metrics.QueryCounter;
+import com.example.hrcore.repository.UserRepository;
+import com.example.hrcore.repository.ValidTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Not transactional: the streaming endpoint reads on another thread and must see committed rows.
+ */
+@SpringBootTest(properties = {"spring.main.allow-bean-definition-overriding=true"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+@DisplayName("LoggedUsersController Integration Tests")
+class LoggedUsersControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ValidTokenRepository validTokenRepository;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        validTokenRepository.deleteAll();
+        alice = userRepository.save(User.builder()
+                .email("alice.logged@hrcore.com")
+                .firstName("Alice")
+                .lastName("Anders")
+                .role(UserRole.EMPLOYEE)
+                .build());
+        bob = userRepository.save(User.builder()
+                .email("bob.logged@hrcore.com")
+                .firstName("Bob")
+                .lastName("Brown")
+                .role(UserRole.MANAGER)
+                .build());
+
+        LocalDateTime now = LocalDateTime.now();
+        saveToken(alice.getId(), now.minusHours(3), now.plusHours(1));
+        saveToken(bob.getId(), now.minusHours(2), now.plusHours(1));
+        saveToken(alice.getId(), now.minusHours(1), now.plusHours(1));
+        saveToken(UUID.randomUUID(), now.minusMinutes(30), now.plusHours(1));
+        saveToken(bob.getId(), now.minusDays(2), now.minusDays(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        validTokenRepository.deleteAll();
+        userRepository.deleteAll(List.of(alice, bob));
+    }
+
+    private void saveToken(UUID userId, LocalDateTime issuedAt, LocalDateTime expiresAt) {
+        validTokenRepository.save(ValidToken.builder()
+                .tokenJti(UUID.randomUUID().toString())
+                .userId(userId)
+                .userRole(UserRole.EMPLOYEE)
+                .keycloakSubject("subject")
+                .issuedAt(issuedAt)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@hrcore.com", roles = {"SUPER_ADMIN"})
+    @DisplayName("Listing logged users - one query, newest session first, same response fields")
+    void getAllLoggedInUsers_singleQuery() throws Exception {
+        QueryCounter queries = QueryCountAssert.recording(() ->
+                mockMvc.perform(get("/api/v1/admin/logged-users"))
+                        .andExpect(status().isOk())
+                        .andExpect(jsonPath("$", hasSize(4)))
+                        .andExpect(jsonPath("$[0].email", is("N/A")))
+                        .andExpect(jsonPath("$[1].email", is("alice.logged@hrcore.com")))
+                        .andExpect(jsonPath("$[1].firstName", is("Alice")))
+                        .andExpect(jsonPath("$[1].userId", is(alice.getId().toString())))
+                        .andExpect(jsonPath("$[1].tokenId").isNumber())
+                        .andExpect(jsonPath("$[1].issuedAt").exists())
+                        .andExpect(jsonPath("$[1].expiresAt").exists())
+                        .andExpect(jsonPath("$[2].lastName", is("Brown"))));
+
+        QueryCountAssert.assertThat(queries).hasExactly(1);
+    }
+
+    @Test
+    @WithMockUser(username = "admin@hrcore.com", roles = {"SUPER_ADMIN"})
+    @DisplayName("Listing logged users by page - sorted slice with total count header")
+    void getAllLoggedInUsers_paged() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/logged-users")
+                        .param("page", "0")
+                        .param("size", "2")
+                        .param("sortBy", "issuedAt")
+                        .param("sortDirection", "ASC"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "4"))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].email", is("alice.logged@hrcore.com")))
+                .andExpect(jsonPath("$[1].email", is("bob.logged@hrcore.com")));
+    }
+
+    @Test
+    @WithMockUser(username = "admin@hrcore.com", roles = {"SUPER_ADMIN"})
+    @DisplayName("Listing logged users with an unknown sort field - should fail")
+    void getAllLoggedInUsers_unknownSort_shouldFail() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/logged-users").param("sortBy", "idToken"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "employee@hrcore.com", roles = {"EMPLOYEE"})
+    @DisplayName("Employee listing logged users - should fail")
+    void getAllLoggedInUsers_asEmployee_shouldFail() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/logged-users"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@hrcore.com", roles = {"SUPER_ADMIN"})
+    @DisplayName("Streaming logged users - one JSON object per line")
+    void streamLoggedInUsers_ndjson() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/admin/logged-users/stream").param("sortBy", "issuedAt"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.strip().split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[1]).contains("\"email\":\"alice.logged@hrcore.com\"", "\"tokenId\":");
+    }
+
+    @Test
+    @WithMockUser(username = "admin@hrcore.com", roles = {"SUPER_ADMIN"})
+    @DisplayName("Cleaning up expired tokens - accepted and run in the background")
+    void cleanupExpiredTokens_shouldBeAccepted() throws Exception {
+        mockMvc.perform(delete("/api/v1/admin/logged-users/cleanup"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.message", is("Expired token cleanup started")));
+    }
+
+    @Test
+    @WithMockUser(username = "employee@hrcore.com", roles = {"EMPLOYEE"})
+    @DisplayName("Employee cleaning up expired tokens - should fail")
+    void cleanupExpiredTokens_asEmployee_shouldFail() throws Exception {
+        mockMvc.perform(delete("/api/v1/admin/logged-users/cleanup"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@hrcore.com", roles = {"SUPER_ADMIN"})
+    @DisplayName("Streaming logged users with an unknown sort field - should fail before streaming")
+    void streamLoggedInUsers_unknownSort_shouldFail() throws Exception {
+        mockMvc.perform(get("/api/v1/admin/logged-users/stream").param("sortBy", "idToken"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -7,6 +7,7 @@ import com.example.hrcore.entity.User;
 import com.example.hrcore.entity.enums.UserRole;
 import com.example.hrcore.repository.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,11 +16,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
@@ -42,6 +48,12 @@ class ProfileControllerIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private User superAdmin;
     private User manager;
     private User employee1;
@@ -320,6 +332,26 @@ class ProfileControllerIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @WithMockUser(username = "admin@hrcore.com", roles = {"SUPER_ADMIN"})
+    @DisplayName("Deleting a manager clears the reports' manager and moves their updatedAt for the change feed")
+    void deleteProfile_managerWithReports_shouldTouchReports() throws Exception {
+        LocalDateTime lastSynced = LocalDateTime.now().minusDays(1);
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE users SET updated_at = ? WHERE manager_id = ?", lastSynced, manager.getId());
+        entityManager.clear();
+
+        mockMvc.perform(delete("/api/v1/profiles/{userId}", manager.getId()))
+                .andExpect(status().isNoContent());
+        entityManager.flush();
+        entityManager.clear();
+
+        for (User report : userRepository.findAllById(List.of(employee1.getId(), employee2.getId()))) {
+            assertThat(report.getManager()).isNull();
+            assertThat(report.getUpdatedAt()).isAfter(lastSynced);
+        }
+    }
+
     @Test
     @WithMockUser(username = "employee1@hrcore.com", roles = {"EMPLOYEE"})
     @DisplayName("EMPLOYEE trying to delete profile - should fail")
@@ -0,0 +1,130 @@
+package com.example.hrcore.controller;
+
+import com.example.hrcore.config.TestSecurityConfig;
+import com.example.hrcore.entity.AbsenceRequest;
+import com.example.hrcore.entity.User;
+import com.example.hrcore.entity.enums.AbsenceRequestStatus;
+import com.example.hrcore.entity.enums.AbsenceRequestType;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.repository.AbsenceRequestRepository;
+import com.example.hrcore.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Team calendar months cached in an in-memory cache (there is no Redis in tests) while profiles change.
+ */
+@SpringBootTest(properties = {"spring.main.allow-bean-definition-overriding=true", "spring.cache.type=simple"})
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+@Import(TestSecurityConfig.class)
+@DisplayName("Team calendar cache Integration Tests")
+class TeamCalendarCacheIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AbsenceRequestRepository absenceRequestRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private User oldManager;
+    private User newManager;
+    private User employee;
+    private LocalDate startDate;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        absenceRequestRepository.deleteAll();
+        userRepository.deleteAll();
+
+        userRepository.save(User.builder()
+                .email("admin@hrcore.com")
+                .firstName("Super")
+                .lastName("Admin")
+                .role(UserRole.SUPER_ADMIN)
+                .department("IT")
+                .build());
+        oldManager = userRepository.save(User.builder()
+                .email("manager1@hrcore.com")
+                .firstName("John")
+                .lastName("Manager")
+                .role(UserRole.MANAGER)
+                .department("Engineering")
+                .build());
+        newManager = userRepository.save(User.builder()
+                .email("manager2@hrcore.com")
+                .firstName("Mary")
+                .lastName("Manager")
+                .role(UserRole.MANAGER)
+                .department("Engineering")
+                .build());
+        employee = userRepository.save(User.builder()
+                .email("employee@hrcore.com")
+                .firstName("Jane")
+                .lastName("Employee")
+                .role(UserRole.EMPLOYEE)
+                .department("Engineering")
+                .manager(oldManager)
+                .build());
+
+        startDate = LocalDate.now().plusDays(10);
+        absenceRequestRepository.save(AbsenceRequest.builder()
+                .userId(employee.getId())
+                .createdById(employee.getId())
+                .startDate(startDate)
+                .endDate(startDate.plusDays(2))
+                .type(AbsenceRequestType.VACATION)
+                .status(AbsenceRequestStatus.APPROVED)
+                .build());
+    }
+
+    private ResultActions calendarOf(UUID managerId) throws Exception {
+        return mockMvc.perform(get("/api/v1/absence-requests/calendar")
+                        .param("managerId", managerId.toString())
+                        .param("startDate", startDate.toString())
+                        .param("endDate", startDate.plusDays(2).toString()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@hrcore.com", roles = {"SUPER_ADMIN"})
+    @DisplayName("Reassigning a report moves their absences to the new manager's cached calendar")
+    void assignManager_shouldEvictTeamCalendar() throws Exception {
+        calendarOf(oldManager.getId()).andExpect(jsonPath("$.absences[*].userId", contains(employee.getId().toString())));
+        calendarOf(newManager.getId()).andExpect(jsonPath("$.absences", empty()));
+
+        mockMvc.perform(put("/api/v1/profiles/{userId}/manager/{managerId}", employee.getId(), newManager.getId()))
+                .andExpect(status().is2xxSuccessful());
+
+        calendarOf(oldManager.getId()).andExpect(jsonPath("$.absences", empty()));
+        calendarOf(newManager.getId())
+                .andExpect(jsonPath("$.absences[*].userId", contains(employee.getId().toString())))
+                .andExpect(jsonPath("$.days[0].approvedCount", is(1)));
+    }
+}
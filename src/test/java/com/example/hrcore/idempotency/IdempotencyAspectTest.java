@@ -0,0 +1,130 @@
+package com.example.hrcore.idempotency;
+
+import com.example.hrcore.exception.ConflictException;
+import com.example.hrcore.exception.InvalidOperationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("IdempotencyAspect Tests")
+class IdempotencyAspectTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private InMemoryStore store;
+    private IdempotencyAspect aspect;
+    private MockHttpServletRequest request;
+    private ProceedingJoinPoint joinPoint;
+
+    /**
+     * Same claim semantics as the Redis store, kept in a map.
+     */
+    private static class InMemoryStore extends IdempotencyStore {
+
+        private final Map<String, IdempotencyRecord> records = new ConcurrentHashMap<>();
+
+        InMemoryStore(ObjectMapper objectMapper) {
+            super(null, objectMapper, Duration.ofMinutes(10), Duration.ofSeconds(30));
+        }
+
+        @Override
+        public Optional<IdempotencyRecord> claim(String key, String fingerprint) {
+            return Optional.ofNullable(records.putIfAbsent(key, new IdempotencyRecord(fingerprint, null, null)));
+        }
+
+        @Override
+        public void complete(String key, IdempotencyRecord record) {
+            records.put(key, record);
+        }
+
+        @Override
+        public void release(String key) {
+            records.remove(key);
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Throwable {
+        store = new InMemoryStore(objectMapper);
+        aspect = new IdempotencyAspect(store, objectMapper);
+        request = new MockHttpServletRequest("PUT", "/api/v1/absence-requests/7/approve");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{7L});
+        when(joinPoint.proceed()).thenReturn(ResponseEntity.ok(Map.of("id", 7, "status", "APPROVED")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("Retry with the same key replays the first response without running the operation")
+    void testReplaysStoredResponse() throws Throwable {
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "retry-1");
+
+        aspect.handleIdempotencyKey(joinPoint, null);
+        ResponseEntity<?> replayed = (ResponseEntity<?>) aspect.handleIdempotencyKey(joinPoint, null);
+
+        verify(joinPoint, times(1)).proceed();
+        assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(replayed.getHeaders().getFirst(IdempotencyAspect.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(objectMapper.valueToTree(replayed.getBody()).get("status").asText()).isEqualTo("APPROVED");
+    }
+
+    @Test
+    @DisplayName("Retry while the first request is running gets a conflict")
+    void testInProgressConflict() throws Throwable {
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "retry-2");
+        when(joinPoint.proceed()).thenAnswer(invocation -> aspect.handleIdempotencyKey(joinPoint, null));
+
+        assertThatThrownBy(() -> aspect.handleIdempotencyKey(joinPoint, null))
+                .isInstanceOf(ConflictException.class);
+        assertThat(store.records).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Same key on a different request is rejected")
+    void testKeyReusedForDifferentRequest() throws Throwable {
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "retry-3");
+        aspect.handleIdempotencyKey(joinPoint, null);
+
+        when(joinPoint.getArgs()).thenReturn(new Object[]{8L});
+
+        assertThatThrownBy(() -> aspect.handleIdempotencyKey(joinPoint, null))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Failed request releases its key and requests without a key are untouched")
+    void testFailureReleasesKey() throws Throwable {
+        request.addHeader(IdempotencyAspect.IDEMPOTENCY_KEY_HEADER, "retry-4");
+        when(joinPoint.proceed()).thenThrow(new InvalidOperationException("approve absence request", "not pending"));
+
+        assertThatThrownBy(() -> aspect.handleIdempotencyKey(joinPoint, null))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThat(store.records).isEmpty();
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(
+                new MockHttpServletRequest("PUT", "/api/v1/absence-requests/7/approve")));
+        assertThatThrownBy(() -> aspect.handleIdempotencyKey(joinPoint, null))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThat(store.records).isEmpty();
+    }
+}
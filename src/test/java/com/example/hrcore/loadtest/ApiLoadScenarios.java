@@ -0,0 +1,256 @@
+package com.example.hrcore.loadtest;
+
+import com.example.hrcore.datagen.DataGeneratorProperties;
+import com.example.hrcore.datagen.GeneratedOrg;
+import com.example.hrcore.datagen.OrgDataGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * End-to-end load test against the real Spring context, backed by in-memory H2 and a Keycloak stub.
+ * <p>
+ * Not part of the regular test run. Start it with {@code ./mvnw -Pload-test test} and tune it with
+ * system properties, e.g. {@code -Dloadtest.users=5000 -Dloadtest.concurrency=64 -Dloadtest.keycloak-latency-ms=500}.
+ * A closed workload of {@code loadtest.concurrency} clients runs a mix of logins, profile searches,
+ * absence searches and approvals, then prints per-endpoint p50/p95/p99 and throughput.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@DisplayName("API load scenarios")
+class ApiLoadScenarios {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 2_000);
+    private static final int ABSENCES_PER_USER = Integer.getInteger("loadtest.absences-per-user", 10);
+    private static final int FEEDBACK_PER_USER = Integer.getInteger("loadtest.feedback-per-user", 10);
+    private static final int SESSIONS = Integer.getInteger("loadtest.sessions", 200);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 32);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 30);
+    private static final int KEYCLOAK_LATENCY_MS = Integer.getInteger("loadtest.keycloak-latency-ms", 0);
+
+    private static final String[] SEARCH_TERMS = {"son", "an", "ma", "ez", "li", "engineering", "sales"};
+
+    private static final KeycloakStub KEYCLOAK = startKeycloak();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final LatencyRecorder recorder = new LatencyRecorder();
+
+    @DynamicPropertySource
+    static void keycloakProperties(DynamicPropertyRegistry registry) {
+        registry.add("keycloak.auth-server-url", KEYCLOAK::baseUrl);
+        registry.add("keycloak.auth-server-url-internal", KEYCLOAK::baseUrl);
+        registry.add("keycloak.realm", () -> KeycloakStub.REALM);
+    }
+
+    @AfterAll
+    static void stopKeycloak() {
+        KEYCLOAK.close();
+    }
+
+    @Test
+    @DisplayName("Mixed workload reports latency percentiles per endpoint")
+    void mixedWorkload() throws Exception {
+        long seedStart = System.nanoTime();
+        DataGeneratorProperties properties = new DataGeneratorProperties();
+        properties.setUsers(USERS);
+        properties.setLevels(Math.min(properties.getLevels(), USERS));
+        properties.setAbsencesPerUser(ABSENCES_PER_USER);
+        properties.setFeedbackPerUser(FEEDBACK_PER_USER);
+        properties.setBatchSize(1_000);
+        GeneratedOrg org = new OrgDataGenerator(jdbcTemplate, properties).generate();
+        Map<UUID, Deque<Long>> pendingByManager = pendingAbsencesByManager();
+        System.out.printf("Seeded %d users, %d absences, %d feedback in %d ms%n",
+                org.users().size(), org.absences(), org.feedback(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+
+        KEYCLOAK.setLatency(Duration.ofMillis(KEYCLOAK_LATENCY_MS));
+
+        List<Session> sessions = login(org);
+        assertThat(sessions).as("logged in sessions").isNotEmpty();
+
+        List<Session> managers = sessions.stream().filter(Session::manager).toList();
+        List<GeneratedOrg.GeneratedUser> loginPool = new ArrayList<>(org.withRole("EMPLOYEE"));
+        Collections.shuffle(loginPool);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY)) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                clients.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        int roll = random.nextInt(100);
+                        Session session = sessions.get(random.nextInt(sessions.size()));
+                        if (roll < 5) {
+                            login(loginPool.get(random.nextInt(loginPool.size())));
+                        } else if (roll < 45) {
+                            searchProfiles(session);
+                        } else if (roll < 85) {
+                            searchAbsences(session);
+                        } else if (!managers.isEmpty()) {
+                            approve(managers.get(random.nextInt(managers.size())), pendingByManager);
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        System.out.printf("%nLoad test: %d clients for %.1f s, Keycloak latency %d ms%n%s%n",
+                CONCURRENCY, elapsedSeconds, KEYCLOAK_LATENCY_MS, recorder.report(elapsedSeconds));
+        assertThat(recorder.successCount("profile search")).isPositive();
+        assertThat(recorder.successCount("absence search")).isPositive();
+    }
+
+    private List<Session> login(GeneratedOrg org) {
+        List<GeneratedOrg.GeneratedUser> users = new ArrayList<>(org.withRole("MANAGER"));
+        users.addAll(org.withRole("EMPLOYEE"));
+        int sessionCount = Math.min(SESSIONS, users.size());
+
+        List<Session> sessions = Collections.synchronizedList(new ArrayList<>());
+        try (ExecutorService loginClients = Executors.newFixedThreadPool(CONCURRENCY)) {
+            users.stream()
+                    .limit(sessionCount)
+                    .forEach(user -> loginClients.submit(() -> {
+                        Session session = login(user);
+                        if (session != null) {
+                            sessions.add(session);
+                        }
+                    }));
+        }
+        return sessions;
+    }
+
+    private Session login(GeneratedOrg.GeneratedUser user) {
+        HttpRequest request = json(HttpRequest.newBuilder(uri("/api/v1/auth/callback")), null)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"code\":\"" + user.email() + "\"}"))
+                .build();
+        HttpResponse<String> response = send("login", request);
+        if (response == null || response.statusCode() != 200) {
+            return null;
+        }
+        try {
+            JsonNode body = objectMapper.readTree(response.body());
+            return new Session(user, body.get("token").asText(), "MANAGER".equals(user.role()));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private void searchProfiles(Session session) {
+        String term = SEARCH_TERMS[ThreadLocalRandom.current().nextInt(SEARCH_TERMS.length)];
+        String body = "{\"search\":\"" + term + "\",\"page\":0,\"size\":20}";
+        send("profile search", json(HttpRequest.newBuilder(uri("/api/v1/profiles/search")), session)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    private void searchAbsences(Session session) {
+        String body = session.manager()
+                ? "{\"managerId\":\"" + session.user().id() + "\",\"status\":\"PENDING\",\"page\":0,\"size\":20}"
+                : "{\"page\":0,\"size\":20}";
+        send("absence search", json(HttpRequest.newBuilder(uri("/api/v1/absence-requests/search")), session)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build());
+    }
+
+    private void approve(Session manager, Map<UUID, Deque<Long>> pendingByManager) {
+        Deque<Long> pending = pendingByManager.get(manager.user().id());
+        Long requestId = pending != null ? pending.poll() : null;
+        if (requestId == null) {
+            return;
+        }
+        send("absence approve", json(HttpRequest.newBuilder(uri("/api/v1/absence-requests/" + requestId + "/approve")), manager)
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build());
+    }
+
+    private Map<UUID, Deque<Long>> pendingAbsencesByManager() {
+        Map<UUID, Deque<Long>> pending = new ConcurrentHashMap<>();
+        jdbcTemplate.query("SELECT a.id, u.manager_id FROM absence_requests a JOIN users u ON u.id = a.user_id "
+                        + "WHERE a.status = 'PENDING' AND u.manager_id IS NOT NULL",
+                rs -> {
+                    pending.computeIfAbsent(rs.getObject("manager_id", UUID.class), k -> new ConcurrentLinkedDeque<>())
+                            .add(rs.getLong("id"));
+                });
+        return pending;
+    }
+
+    private HttpRequest.Builder json(HttpRequest.Builder builder, Session session) {
+        builder.header("Content-Type", "application/json")
+                .header("User-Agent", "hrcore-load-test")
+                .timeout(Duration.ofSeconds(30));
+        if (session != null) {
+            builder.header("Authorization", "Bearer " + session.token());
+        }
+        return builder;
+    }
+
+    private HttpResponse<String> send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(endpoint, System.nanoTime() - start, response.statusCode());
+            return response;
+        } catch (Exception e) {
+            recorder.record(endpoint, System.nanoTime() - start, 0);
+            return null;
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static KeycloakStub startKeycloak() {
+        try {
+            return new KeycloakStub();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not start Keycloak stub", e);
+        }
+    }
+
+    private record Session(GeneratedOrg.GeneratedUser user, String token, boolean manager) {
+    }
+}
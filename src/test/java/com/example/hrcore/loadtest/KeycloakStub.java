@@ -0,0 +1,150 @@
+package com.example.hrcore.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process stand-in for the Keycloak endpoints the backend calls: token exchange, JWKS,
+ * revocation and logout. Tokens are real RS256 JWTs signed with a key published on the JWKS endpoint.
+ * <p>
+ * The authorization code is taken as the user's email, so any seeded user can log in.
+ * {@link #setLatency(Duration)} delays every response to simulate a slow identity provider.
+ */
+class KeycloakStub implements AutoCloseable {
+
+    static final String REALM = "hrcore";
+
+    private final HttpServer server;
+    private final RSAKey signingKey;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private volatile Duration latency = Duration.ZERO;
+
+    KeycloakStub() throws IOException, JOSEException {
+        signingKey = new RSAKeyGenerator(2048).keyID("load-test").generate();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+
+        String openIdConnect = "/realms/" + REALM + "/protocol/openid-connect";
+        server.createContext(openIdConnect + "/token", this::token);
+        server.createContext(openIdConnect + "/certs", exchange ->
+                respond(exchange, 200, new JWKSet(signingKey.toPublicJWK()).toString()));
+        server.createContext(openIdConnect + "/revoke", exchange -> respond(exchange, 200, ""));
+        server.createContext(openIdConnect + "/logout", exchange -> respond(exchange, 204, null));
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    void setLatency(Duration latency) {
+        this.latency = latency;
+    }
+
+    private void token(HttpExchange exchange) throws IOException {
+        Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        String email = form.get("code");
+        if (email == null || email.isBlank()) {
+            respond(exchange, 400, "{\"error\":\"invalid_grant\"}");
+            return;
+        }
+
+        try {
+            Instant now = Instant.now();
+            JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                    .jwtID(UUID.randomUUID().toString())
+                    .subject(UUID.nameUUIDFromBytes(email.getBytes(StandardCharsets.UTF_8)).toString())
+                    .issuer(baseUrl() + "/realms/" + REALM)
+                    .audience("account")
+                    .issueTime(Date.from(now))
+                    .expirationTime(Date.from(now.plus(Duration.ofHours(1))))
+                    .claim("typ", "Bearer")
+                    .claim("azp", "hrcore-app")
+                    .claim("email", email)
+                    .claim("preferred_username", email)
+                    .claim("realm_access", Map.of("roles", List.of("offline_access")))
+                    .build();
+            String accessToken = sign(claims);
+            String idToken = sign(new JWTClaimsSet.Builder(claims).jwtID(UUID.randomUUID().toString()).claim("typ", "ID").build());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("access_token", accessToken);
+            response.put("id_token", idToken);
+            response.put("refresh_token", UUID.randomUUID().toString());
+            response.put("token_type", "Bearer");
+            response.put("expires_in", 3600);
+            respond(exchange, 200, objectMapper.writeValueAsString(response));
+        } catch (JOSEException e) {
+            respond(exchange, 500, "{\"error\":\"" + e.getMessage() + "\"}");
+        }
+    }
+
+    private String sign(JWTClaimsSet claims) throws JOSEException {
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(signingKey));
+        return jwt.serialize();
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        try {
+            if (!latency.isZero()) {
+                Thread.sleep(latency);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.hrcore.loadtest;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per-endpoint latencies and renders p50/p95/p99 and throughput.
+ */
+class LatencyRecorder {
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long nanos, int status) {
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, k -> new Endpoint());
+        stats.latencies.add(nanos);
+        if (status >= 400 || status == 0) {
+            stats.errors.increment();
+            stats.statuses.computeIfAbsent(status, k -> new LongAdder()).increment();
+        }
+    }
+
+    long successCount(String endpoint) {
+        Endpoint stats = endpoints.get(endpoint);
+        return stats == null ? 0 : stats.latencies.size() - stats.errors.sum();
+    }
+
+    String report(double elapsedSeconds) {
+        StringBuilder out = new StringBuilder(String.format("%-24s %8s %8s %10s %9s %9s %9s %9s  %s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "error statuses"));
+        new TreeMap<>(endpoints).forEach((name, stats) -> {
+            long[] sorted = stats.latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            out.append(String.format("%-24s %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f  %s%n",
+                    name,
+                    sorted.length,
+                    stats.errors.sum(),
+                    sorted.length / elapsedSeconds,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.95),
+                    percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0,
+                    stats.statuses));
+        });
+        return out.toString();
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static final class Endpoint {
+        private final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        private final LongAdder errors = new LongAdder();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    }
+}
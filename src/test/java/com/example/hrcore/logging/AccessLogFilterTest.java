@@ -0,0 +1,113 @@
+package com.example.hrcore.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AccessLogFilter Tests")
+class AccessLogFilterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Logger accessLogger;
+    private ListAppender<ILoggingEvent> appender;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        accessLogger = (Logger) LoggerFactory.getLogger("access");
+        appender = new ListAppender<>();
+        appender.start();
+        accessLogger.addAppender(appender);
+        request = new MockHttpServletRequest("GET", "/api/v1/profiles/me");
+        response = new MockHttpServletResponse();
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+    }
+
+    private FilterChain respondingWith(int status) {
+        return (req, res) -> ((MockHttpServletResponse) res).setStatus(status);
+    }
+
+    @Test
+    @DisplayName("Should write one JSON line with the correlation ID and user")
+    void testWritesJsonLine() throws Exception {
+        UUID userId = UUID.randomUUID();
+        request.addHeader(AccessLogFilter.CORRELATION_ID_HEADER, "abc-123");
+        AtomicReference<String> mdcDuringRequest = new AtomicReference<>();
+        FilterChain chain = (req, res) -> {
+            mdcDuringRequest.set(MDC.get(AccessLogFilter.CORRELATION_ID_MDC_KEY));
+            req.setAttribute(AccessLogFilter.USER_ID_ATTRIBUTE, userId);
+        };
+
+        new AccessLogFilter(1.0, 1000, 400).doFilter(request, response, chain);
+
+        assertThat(appender.list).hasSize(1);
+        JsonNode entry = objectMapper.readTree(appender.list.get(0).getFormattedMessage());
+        assertThat(entry.get("correlationId").asText()).isEqualTo("abc-123");
+        assertThat(entry.get("method").asText()).isEqualTo("GET");
+        assertThat(entry.get("path").asText()).isEqualTo("/api/v1/profiles/me");
+        assertThat(entry.get("status").asInt()).isEqualTo(200);
+        assertThat(entry.get("userId").asText()).isEqualTo(userId.toString());
+        assertThat(response.getHeader(AccessLogFilter.CORRELATION_ID_HEADER)).isEqualTo("abc-123");
+        assertThat(mdcDuringRequest.get()).isEqualTo("abc-123");
+        assertThat(MDC.get(AccessLogFilter.CORRELATION_ID_MDC_KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should replace a malformed correlation ID")
+    void testReplacesMalformedCorrelationId() throws Exception {
+        request.addHeader(AccessLogFilter.CORRELATION_ID_HEADER, "bad id\n{\"injected\":true}");
+
+        new AccessLogFilter(1.0, 1000, 400).doFilter(request, response, respondingWith(200));
+
+        assertThat(response.getHeader(AccessLogFilter.CORRELATION_ID_HEADER)).matches("[0-9a-f-]{36}");
+    }
+
+    @Test
+    @DisplayName("Should drop unsampled successes but always log errors and slow requests")
+    void testSampling() throws Exception {
+        new AccessLogFilter(0.0, 1000, 400).doFilter(request, response, respondingWith(200));
+        assertThat(appender.list).isEmpty();
+
+        new AccessLogFilter(0.0, 1000, 400).doFilter(request, new MockHttpServletResponse(), respondingWith(404));
+        assertThat(appender.list).hasSize(1);
+
+        new AccessLogFilter(0.0, 0, 400).doFilter(request, new MockHttpServletResponse(), respondingWith(200));
+        assertThat(appender.list).hasSize(2);
+        assertThat(objectMapper.readTree(appender.list.get(1).getFormattedMessage()).get("slow").asBoolean()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should log an exception escaping the chain as a 500")
+    void testLogsExceptions() {
+        FilterChain failing = (req, res) -> {
+            throw new IllegalStateException("boom");
+        };
+
+        assertThatThrownBy(() -> new AccessLogFilter(0.0, 1000, 400).doFilter(request, response, failing))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getFormattedMessage()).contains("\"status\":500", "\"error\":\"IllegalStateException\"");
+    }
+}
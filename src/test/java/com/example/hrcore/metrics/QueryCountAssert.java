@@ -0,0 +1,83 @@
+package com.example.hrcore.metrics;
+
+import org.assertj.core.api.AbstractAssert;
+
+import java.util.Map;
+
+/**
+ * Assertions on the Hibernate statements run by a block of test code, e.g. a MockMvc call:
+ * <pre>{@code
+ * QueryCounter queries = QueryCountAssert.recording(() -> mockMvc.perform(get("/api/v1/...")));
+ * QueryCountAssert.assertThat(queries).hasAtMost(4).hasNoRepeatedStatements();
+ * }</pre>
+ */
+public class QueryCountAssert extends AbstractAssert<QueryCountAssert, QueryCounter> {
+
+    private QueryCountAssert(QueryCounter actual) {
+        super(actual, QueryCountAssert.class);
+    }
+
+    public static QueryCountAssert assertThat(QueryCounter actual) {
+        return new QueryCountAssert(actual);
+    }
+
+    /**
+     * Runs {@code block} with a fresh counter and returns it. The counter is opened before MockMvc's filter
+     * chain, so it also covers statements run by the security filters.
+     */
+    public static QueryCounter recording(ThrowingRunnable block) throws Exception {
+        QueryCounter counter = QueryCounter.begin();
+        try {
+            block.run();
+            return counter;
+        } finally {
+            QueryCounter.end();
+        }
+    }
+
+    public QueryCountAssert hasAtMost(int maxStatements) {
+        isNotNull();
+        if (actual.getTotal() > maxStatements) {
+            failWithMessage("Expected at most <%d> SQL statements but <%d> ran:%n%s",
+                    maxStatements, actual.getTotal(), describe());
+        }
+        return this;
+    }
+
+    public QueryCountAssert hasExactly(int statements) {
+        isNotNull();
+        if (actual.getTotal() != statements) {
+            failWithMessage("Expected <%d> SQL statements but <%d> ran:%n%s", statements, actual.getTotal(), describe());
+        }
+        return this;
+    }
+
+    /**
+     * Fails when any statement ran more than once, the usual sign of an N+1.
+     */
+    public QueryCountAssert hasNoRepeatedStatements() {
+        return hasNoStatementRepeatedMoreThan(1);
+    }
+
+    public QueryCountAssert hasNoStatementRepeatedMoreThan(int times) {
+        isNotNull();
+        actual.mostRepeated()
+                .filter(entry -> entry.getValue() > times)
+                .ifPresent(entry -> failWithMessage("Expected no statement to run more than <%d> times but <%s> ran <%d> times:%n%s",
+                        times, entry.getKey(), entry.getValue(), describe()));
+        return this;
+    }
+
+    private String describe() {
+        StringBuilder description = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : actual.getStatements().entrySet()) {
+            description.append(String.format("  %3dx %s%n", entry.getValue(), entry.getKey()));
+        }
+        return description.toString();
+    }
+
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
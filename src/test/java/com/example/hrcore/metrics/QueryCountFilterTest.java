@@ -0,0 +1,77 @@
+package com.example.hrcore.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("QueryCountFilter Tests")
+class QueryCountFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private QueryCountFilter filter;
+    private QueryCountInspector inspector;
+    private MockHttpServletRequest request;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new QueryCountFilter(meterRegistry, 10, 3);
+        inspector = new QueryCountInspector();
+        request = new MockHttpServletRequest("GET", "/api/v1/logged-users");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/logged-users");
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryCounter.end();
+    }
+
+    private FilterChain running(String... statements) {
+        return (req, res) -> {
+            for (String sql : statements) {
+                inspector.inspect(sql);
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Should record statements per request tagged by route")
+    void testRecordsStatementsPerRequest() throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(), running("select a", "select b"));
+
+        assertThat(meterRegistry.get("hibernate.request.statements")
+                .tags("method", "GET", "uri", "/api/v1/logged-users").summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.find("hibernate.request.n-plus-one").counter()).isNull();
+        assertThat(QueryCounter.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should flag a statement repeated past the threshold as N+1")
+    void testFlagsRepeatedStatements() throws Exception {
+        filter.doFilter(request, new MockHttpServletResponse(),
+                running("select tokens", "select user where id=?", "select user where id=?", "select user where id=?"));
+
+        assertThat(meterRegistry.get("hibernate.request.n-plus-one")
+                .tags("uri", "/api/v1/logged-users").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should leave a counter opened by a test in place for assertions")
+    void testKeepsOuterCounter() throws Exception {
+        QueryCounter queries = QueryCountAssert.recording(() ->
+                filter.doFilter(request, new MockHttpServletResponse(), running("select a", "select a")));
+
+        QueryCountAssert.assertThat(queries).hasExactly(2).hasNoStatementRepeatedMoreThan(2);
+        assertThatThrownBy(() -> QueryCountAssert.assertThat(queries).hasNoRepeatedStatements())
+                .isInstanceOf(AssertionError.class)
+                .hasMessageContaining("select a");
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.hrcore.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RequestMetricsFilter Tests")
+class RequestMetricsFilterTest {
+
+    private final RequestMetricsFilter filter = new RequestMetricsFilter();
+
+    @AfterEach
+    void tearDown() {
+        RequestMetrics.end();
+    }
+
+    @Test
+    @DisplayName("Should collect for the whole filter chain and close the collector afterwards")
+    void testCollectsAcrossChain() throws Exception {
+        AtomicReference<RequestMetrics> seen = new AtomicReference<>();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/profiles"), new MockHttpServletResponse(),
+                (req, res) -> {
+                    RequestMetrics.recordRedis("rate-limit script", TimeUnit.MILLISECONDS.toNanos(1));
+                    RequestMetrics.recordSql(TimeUnit.MILLISECONDS.toNanos(2));
+                    seen.set(RequestMetrics.current());
+                });
+
+        assertThat(seen.get()).isNotNull();
+        assertThat(seen.get().getRedisCalls()).isEqualTo(1);
+        assertThat(seen.get().getSqlStatements()).isEqualTo(1);
+        assertThat(RequestMetrics.current()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should leave a collector opened by an outer caller in place")
+    void testKeepsOuterCollector() throws Exception {
+        RequestMetrics outer = RequestMetrics.begin();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/profiles"), new MockHttpServletResponse(),
+                (req, res) -> RequestMetrics.recordSql(TimeUnit.MILLISECONDS.toNanos(2)));
+
+        assertThat(RequestMetrics.current()).isSameAs(outer);
+        assertThat(outer.getSqlStatements()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.hrcore.metrics;
+
+import com.example.hrcore.interceptor.LoggingInterceptor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SlowRequestLog Tests")
+class SlowRequestLogTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestMetrics.end();
+    }
+
+    private static SlowRequest slowRequest(String route) {
+        return new SlowRequest(Instant.now(), null, "GET", route, 200, 600, 0, 0, 0, 0, 0, 0, List.of(), null);
+    }
+
+    @Test
+    @DisplayName("Should keep only the newest entries once the buffer wraps")
+    void testRingBufferWraps() {
+        SlowRequestLog slowRequestLog = new SlowRequestLog(500, 3);
+
+        for (int i = 1; i <= 5; i++) {
+            slowRequestLog.record(slowRequest("/r" + i));
+        }
+
+        assertThat(slowRequestLog.recent()).extracting(SlowRequest::route).containsExactly("/r5", "/r4", "/r3");
+        assertThat(slowRequestLog.getRecorded()).isEqualTo(5);
+
+        slowRequestLog.clear();
+        assertThat(slowRequestLog.recent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep the slowest spans, slowest first")
+    void testTopSpans() {
+        RequestMetrics metrics = RequestMetrics.begin();
+        for (int i = 1; i <= RequestMetrics.TOP_SPANS + 3; i++) {
+            RequestMetrics.recordSql("select " + i, TimeUnit.MILLISECONDS.toNanos(i));
+        }
+        RequestMetrics.recordRemote("GET keycloak/token", TimeUnit.MILLISECONDS.toNanos(50));
+        RequestMetrics.recordCacheLookup(true);
+        RequestMetrics.recordCacheLookup(false);
+
+        assertThat(metrics.getTopSpans()).extracting(RequestMetrics.Span::description)
+                .containsExactly("GET keycloak/token", "select 8", "select 7", "select 6", "select 5");
+        assertThat(metrics.getSqlStatements()).isEqualTo(8);
+        assertThat(metrics.getCacheHits()).isEqualTo(1);
+        assertThat(metrics.getCacheMisses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should capture requests over the threshold with their breakdown")
+    void testInterceptorCapturesSlowRequest() throws Exception {
+        SlowRequestLog slowRequestLog = new SlowRequestLog(0, 10);
+        LoggingInterceptor interceptor = new LoggingInterceptor(slowRequestLog);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/absence-requests/123");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/absence-requests/{id}");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, new Object());
+        RequestMetrics breakdown = RequestMetrics.begin();
+        RequestMetrics.recordSql("select a from absence_requests a", TimeUnit.MILLISECONDS.toNanos(7));
+        request.setAttribute(RequestMetrics.REQUEST_ATTRIBUTE, breakdown);
+        interceptor.afterCompletion(request, response, new Object(), null);
+
+        assertThat(slowRequestLog.recent()).singleElement().satisfies(slow -> {
+            assertThat(slow.route()).isEqualTo("/api/v1/absence-requests/{id}");
+            assertThat(slow.status()).isEqualTo(200);
+            assertThat(slow.sqlStatements()).isEqualTo(1);
+            assertThat(slow.topSpans()).singleElement()
+                    .extracting(SlowRequest.Span::description).isEqualTo("select a from absence_requests a");
+        });
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.hrcore.notification;
+
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("NotificationEmitters Tests")
+class NotificationEmittersTest {
+
+    private static final int EVENTS = 20;
+
+    private final List<String> written = new CopyOnWriteArrayList<>();
+    private final CountDownLatch allWritten = new CountDownLatch(EVENTS + 1);
+
+    private final NotificationEmitters emitters = new NotificationEmitters(
+            new SimpleMeterRegistry(), Duration.ofMinutes(1), Duration.ofSeconds(5)) {
+        @Override
+        SseEmitter newEmitter(long timeoutMs) {
+            return new RecordingEmitter(timeoutMs);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        emitters.close();
+    }
+
+    @Test
+    @DisplayName("Events for one stream are written in the order they were sent, even behind a slow write")
+    void testWritesInOrder() throws InterruptedException {
+        SseEmitter emitter = emitters.register(UUID.randomUUID(), true);
+        for (int i = 0; i < EVENTS; i++) {
+            emitters.send(emitter, new Notification(null, "e" + i, JsonNodeFactory.instance.numberNode(i)));
+        }
+
+        assertThat(allWritten.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(written.getFirst()).isEqualTo("connected");
+        assertThat(written.subList(1, written.size()))
+                .containsExactlyElementsOf(IntStream.range(0, EVENTS).mapToObj(i -> "e" + i).toList());
+    }
+
+    @Test
+    @DisplayName("A failed write drops the stream and the rest of its queue")
+    void testFailedWriteDropsStream() throws InterruptedException {
+        SseEmitter emitter = emitters.register(UUID.randomUUID(), true);
+        ((RecordingEmitter) emitter).failing = true;
+        emitters.send(emitter, new Notification(null, "e0", JsonNodeFactory.instance.numberNode(0)));
+
+        assertThat(allWritten.await(500, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(emitters.size()).isZero();
+        assertThat(emitters.hasManagers()).isFalse();
+    }
+
+    private class RecordingEmitter extends SseEmitter {
+
+        volatile boolean failing;
+
+        RecordingEmitter(long timeoutMs) {
+            super(timeoutMs);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            String text = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining());
+            if (written.isEmpty()) {
+                // The first write is slow, so later events would overtake it if writes were not serialized
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            written.add(text.contains(":connected") ? "connected" : text.replaceAll("(?s).*event:(\\S+).*", "$1"));
+            allWritten.countDown();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.hrcore.notification;
+
+import com.example.hrcore.entity.enums.AbsenceRequestStatus;
+import com.example.hrcore.entity.enums.FeedbackStatus;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.event.AbsenceRequestChangedEvent;
+import com.example.hrcore.event.FeedbackChangedEvent;
+import com.example.hrcore.repository.AbsenceRequestRepository;
+import com.example.hrcore.repository.FeedbackRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationService Tests")
+class NotificationServiceTest {
+
+    @Mock
+    private AbsenceRequestRepository absenceRequestRepository;
+
+    @Mock
+    private FeedbackRepository feedbackRepository;
+
+    @Mock
+    private NotificationEmitters emitters;
+
+    @Mock
+    private NotificationBroker broker;
+
+    private NotificationService notificationService;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = new NotificationService(absenceRequestRepository, feedbackRepository, emitters, broker,
+                new ObjectMapper().registerModule(new JavaTimeModule()), 5000);
+    }
+
+    @Test
+    @DisplayName("A decided request notifies its author and the pending counts are published once per interval")
+    void testStatusChangeAndCoalescedCounts() {
+        UUID employeeId = UUID.randomUUID();
+        LocalDate day = LocalDate.of(2030, 5, 1);
+        when(absenceRequestRepository.countByStatus(AbsenceRequestStatus.PENDING)).thenReturn(3L);
+        when(feedbackRepository.countByStatus(FeedbackStatus.PENDING)).thenReturn(1L);
+
+        notificationService.onAbsenceRequestChanged(new AbsenceRequestChangedEvent(7L, employeeId, day, day, AbsenceRequestStatus.APPROVED));
+        notificationService.onAbsenceRequestChanged(new AbsenceRequestChangedEvent(8L, employeeId, day, day, AbsenceRequestStatus.PENDING));
+        notificationService.onFeedbackChanged(new FeedbackChangedEvent(9L, UUID.randomUUID(), employeeId, FeedbackStatus.PENDING));
+
+        ArgumentCaptor<Notification> published = ArgumentCaptor.forClass(Notification.class);
+        verify(broker).publish(published.capture());
+        assertThat(published.getValue().userId()).isEqualTo(employeeId);
+        assertThat(published.getValue().event()).isEqualTo(Notification.STATUS_CHANGED);
+        assertThat(published.getValue().data().get("id").asText()).isEqualTo("7");
+        assertThat(published.getValue().data().get("status").asText()).isEqualTo("APPROVED");
+
+        notificationService.publishPendingCounts();
+        notificationService.publishPendingCounts();
+
+        verify(broker, times(2)).publish(published.capture());
+        Notification counts = published.getValue();
+        assertThat(counts.isForManagers()).isTrue();
+        assertThat(counts.data().get("absenceRequests").asLong()).isEqualTo(3L);
+        assertThat(counts.data().get("feedback").asLong()).isEqualTo(1L);
+        verify(absenceRequestRepository, times(1)).countByStatus(any());
+    }
+
+    @Test
+    @DisplayName("Managers get the pending counts on connect, reused while recent; employees do not")
+    void testSubscribe() {
+        SseEmitter emitter = new SseEmitter();
+        when(emitters.register(any(UUID.class), anyBoolean())).thenReturn(emitter);
+        when(absenceRequestRepository.countByStatus(AbsenceRequestStatus.PENDING)).thenReturn(2L);
+        when(feedbackRepository.countByStatus(FeedbackStatus.PENDING)).thenReturn(0L);
+
+        notificationService.subscribe(UUID.randomUUID(), UserRole.EMPLOYEE);
+        notificationService.subscribe(UUID.randomUUID(), UserRole.MANAGER);
+        notificationService.subscribe(UUID.randomUUID(), UserRole.SUPER_ADMIN);
+
+        verify(emitters, times(2)).send(eq(emitter), argThat(n -> n.event().equals(Notification.PENDING_COUNTS)));
+        verify(absenceRequestRepository, times(1)).countByStatus(any());
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.hrcore.notification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationSubscriber Tests")
+class NotificationSubscriberTest {
+
+    @Mock
+    private RedisMessageListenerContainer container;
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    @InjectMocks
+    private NotificationSubscriber subscriber;
+
+    @Test
+    @DisplayName("The container stays stopped while Redis is down and starts once it answers")
+    void testStartsWhenRedisAvailable() {
+        when(connectionFactory.getConnection())
+                .thenThrow(new RedisConnectionFailureException("Connection refused"))
+                .thenReturn(connection);
+
+        assertThatCode(() -> subscriber.subscribe()).doesNotThrowAnyException();
+        verify(container, never()).start();
+
+        subscriber.subscribe();
+        verify(connection).ping();
+        verify(container).start();
+    }
+
+    @Test
+    @DisplayName("A running container is left alone")
+    void testAlreadySubscribed() {
+        when(container.isRunning()).thenReturn(true);
+
+        subscriber.subscribe();
+
+        verifyNoInteractions(connectionFactory);
+    }
+}
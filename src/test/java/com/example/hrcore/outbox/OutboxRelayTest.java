@@ -0,0 +1,98 @@
+package com.example.hrcore.outbox;
+
+import com.example.hrcore.entity.OutboxEvent;
+import com.example.hrcore.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OutboxRelay Tests")
+class OutboxRelayTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxSink sink;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        relay = new OutboxRelay(outboxEventRepository, sink, jdbcTemplate, transactionManager, meterRegistry,
+                2, 3, Duration.ofDays(7));
+    }
+
+    private OutboxEvent event(long id) {
+        return OutboxEvent.builder()
+                .id(id)
+                .aggregateType("AbsenceRequest")
+                .aggregateId(String.valueOf(id))
+                .eventType("AbsenceRequestApproved")
+                .payload("{}")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Publishes a batch and marks it published")
+    void testRelayBatch() {
+        when(outboxEventRepository.findUnpublishedBatch(any(Pageable.class))).thenReturn(List.of(event(7L)));
+
+        relay.relay();
+
+        verify(sink).publish(argThat(messages -> messages.size() == 1
+                && messages.get(0).id() == 7L && messages.get(0).eventType().equals("AbsenceRequestApproved")));
+        verify(outboxEventRepository).markPublished(eq(List.of(7L)), any(LocalDateTime.class));
+        assertThat(meterRegistry.counter("outbox.events.published").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Full batches are drained up to the per-run limit")
+    void testDrainsUpToLimit() {
+        when(outboxEventRepository.findUnpublishedBatch(any(Pageable.class)))
+                .thenReturn(List.of(event(1L), event(2L)));
+
+        relay.relay();
+
+        verify(sink, times(3)).publish(anyList());
+        assertThat(meterRegistry.counter("outbox.events.published").count()).isEqualTo(6.0);
+    }
+
+    @Test
+    @DisplayName("A failed publish leaves the batch unpublished for the next run")
+    void testFailedPublishIsRetried() {
+        when(outboxEventRepository.findUnpublishedBatch(any(Pageable.class))).thenReturn(List.of(event(1L)));
+        doThrow(new IllegalStateException("stream unavailable")).when(sink).publish(anyList());
+
+        assertThatCode(() -> relay.relay()).doesNotThrowAnyException();
+
+        verify(outboxEventRepository, never()).markPublished(anyCollection(), any());
+        verify(transactionManager).rollback(any());
+        assertThat(meterRegistry.counter("outbox.relay.failures").count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.hrcore.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("AdaptiveConcurrencyLimiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private AdaptiveConcurrencyLimiter.Settings settings;
+
+    @BeforeEach
+    void setUp() {
+        settings = new AdaptiveConcurrencyLimiter.Settings();
+        settings.setInitialLimit(20);
+        settings.setMinLimit(4);
+        settings.setMaxLimit(100);
+    }
+
+    private void runBatch(AdaptiveConcurrencyLimiter limiter, int concurrency, long latencyMs) {
+        int acquired = 0;
+        for (int i = 0; i < concurrency; i++) {
+            if (limiter.tryAcquire()) {
+                acquired++;
+            }
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(latencyMs), true);
+        }
+    }
+
+    @Test
+    @DisplayName("Requests beyond the limit are rejected until a slot is released")
+    void testRejectsBeyondLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(10), true);
+
+        assertThat(limiter.getInflight()).isEqualTo(19);
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Limit grows while latency stays at the baseline under load")
+    void testLimitGrowsWithStableLatency() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+
+        for (int i = 0; i < 50; i++) {
+            runBatch(limiter, limiter.getLimit(), 10);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(20);
+    }
+
+    @Test
+    @DisplayName("Limit shrinks towards the minimum when latency climbs")
+    void testLimitShrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+        for (int i = 0; i < 20; i++) {
+            runBatch(limiter, limiter.getLimit(), 10);
+        }
+        int before = limiter.getLimit();
+
+        for (int i = 0; i < 20; i++) {
+            runBatch(limiter, limiter.getLimit(), 200);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(before);
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Failed requests release their slot without moving the limit")
+    void testFailedRequestsDoNotAdjustLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+
+        limiter.tryAcquire();
+        limiter.release(TimeUnit.SECONDS.toNanos(30), false);
+
+        assertThat(limiter.getInflight()).isZero();
+        assertThat(limiter.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("Expensive requests take as many slots as they cost, capped at the minimum limit")
+    void testCostWeightedSlots() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(settings);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(4)).isTrue();
+        }
+        assertThat(limiter.tryAcquire(1)).isFalse();
+
+        limiter.release("POST /search", 4, TimeUnit.MILLISECONDS.toNanos(10), true);
+        assertThat(limiter.getInflight()).isEqualTo(16);
+        // Costs above the minimum limit take the minimum limit
+        assertThat(limiter.tryAcquire(10)).isTrue();
+        assertThat(limiter.getInflight()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("More traffic on a slower route does not shrink the limit when each route keeps its latency")
+    void testTrafficMixShift() {
+        AdaptiveConcurrencyLimiter perRoute = new AdaptiveConcurrencyLimiter(settings);
+        AdaptiveConcurrencyLimiter shared = new AdaptiveConcurrencyLimiter(settings);
+        // Mostly fast reads by id, a few searches
+        for (int i = 0; i < 200; i++) {
+            boolean search = i % 10 == 0;
+            feed(perRoute, search ? "search" : "get", search ? 100 : 10);
+            feed(shared, "", search ? 100 : 10);
+        }
+        int perRouteBefore = perRoute.getLimit();
+        int sharedBefore = shared.getLimit();
+
+        // Then only searches, at their usual latency
+        for (int i = 0; i < 50; i++) {
+            feed(perRoute, "search", 100);
+            feed(shared, "", 100);
+        }
+
+        assertThat(perRoute.getLimit()).isGreaterThanOrEqualTo(perRouteBefore);
+        assertThat(shared.getLimit()).isLessThan(sharedBefore);
+    }
+
+    /** One request on a fully used limiter. */
+    private void feed(AdaptiveConcurrencyLimiter limiter, String route, long latencyMs) {
+        while (limiter.tryAcquire()) {
+            // Fill the limit so the limiter is allowed to adjust
+        }
+        limiter.release(route, 1, TimeUnit.MILLISECONDS.toNanos(latencyMs), true);
+        while (limiter.getInflight() > 0) {
+            limiter.release(-1, false);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.hrcore.ratelimit;
+
+import com.example.hrcore.config.RateLimitConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("DistributedRateLimiter Tests")
+class DistributedRateLimiterTest {
+
+    private static final long CAPACITY = 100;
+    private static final long REFILL_PERIOD_MS = 60_000;
+    private static final long LEASE_SIZE = 10;
+
+    private RedisTokenBucket redisTokenBucket;
+    private DistributedRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        redisTokenBucket = mock(RedisTokenBucket.class);
+        RateLimitConfig rateLimitConfig = new RateLimitConfig(CAPACITY, REFILL_PERIOD_MS, 1_000, 120_000,
+                new SimpleMeterRegistry());
+        limiter = new DistributedRateLimiter(redisTokenBucket, rateLimitConfig, 1_000, 60_000);
+        ReflectionTestUtils.setField(limiter, "redisEnabled", true);
+        ReflectionTestUtils.setField(limiter, "leaseSize", LEASE_SIZE);
+        ReflectionTestUtils.setField(limiter, "redisRetryAfterMs", 60_000L);
+    }
+
+    private void grantFromRedis(long granted, long remaining) {
+        when(redisTokenBucket.take(eq("client"), eq(CAPACITY), eq(REFILL_PERIOD_MS), anyLong(), anyLong()))
+                .thenReturn(new RedisTokenBucket.Grant(granted, remaining, 0, 0));
+    }
+
+    @Test
+    @DisplayName("Should lease a batch of tokens from Redis and serve the next requests from it")
+    void testServesFromLease() {
+        grantFromRedis(LEASE_SIZE, 90);
+
+        for (int i = 0; i < LEASE_SIZE; i++) {
+            assertThat(limiter.tryConsume("client").consumed()).isTrue();
+        }
+        verify(redisTokenBucket, times(1)).take("client", CAPACITY, REFILL_PERIOD_MS, LEASE_SIZE, 1);
+
+        assertThat(limiter.tryConsume("client").consumed()).isTrue();
+        verify(redisTokenBucket, times(2)).take(anyString(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject and drop the lease when Redis grants nothing")
+    void testRejectsWhenBucketEmpty() {
+        when(redisTokenBucket.take(anyString(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .thenReturn(new RedisTokenBucket.Grant(0, 0, 1_500, 0));
+
+        RateLimitResult result = limiter.tryConsume("client");
+
+        assertThat(result.consumed()).isFalse();
+        assertThat(result.nanosToWaitForRefill()).isEqualTo(1_500_000_000L);
+    }
+
+    @Test
+    @DisplayName("Grants fetched by threads that ran out of the lease together are added, not overwritten")
+    void testConcurrentRefillKeepsTokens() {
+        // While the first request waits for Redis, another request for the same client fetches its own grant
+        AtomicInteger calls = new AtomicInteger();
+        when(redisTokenBucket.take(anyString(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .thenAnswer(invocation -> {
+                    if (calls.getAndIncrement() == 0) {
+                        assertThat(limiter.tryConsume("client").consumed()).isTrue();
+                    }
+                    return new RedisTokenBucket.Grant(LEASE_SIZE, 80, 0, 0);
+                });
+
+        assertThat(limiter.tryConsume("client").consumed()).isTrue();
+
+        // Both grants leased 9 tokens each
+        for (int i = 0; i < 2 * (LEASE_SIZE - 1); i++) {
+            assertThat(limiter.tryConsume("client").consumed()).isTrue();
+        }
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("A client below its quota whose requests are further apart than the lease TTL is never denied")
+    void testReturnsUnusedLeaseTokens() throws InterruptedException {
+        DistributedRateLimiter shortLeases = new DistributedRateLimiter(redisTokenBucket,
+                new RateLimitConfig(CAPACITY, REFILL_PERIOD_MS, 1_000, 120_000, new SimpleMeterRegistry()), 1_000, 20);
+        ReflectionTestUtils.setField(shortLeases, "redisEnabled", true);
+        ReflectionTestUtils.setField(shortLeases, "leaseSize", LEASE_SIZE);
+
+        // Shared bucket that is not refilled during the test
+        AtomicLong bucket = new AtomicLong(CAPACITY);
+        when(redisTokenBucket.take(anyString(), anyLong(), anyLong(), anyLong(), anyLong())).thenAnswer(invocation -> {
+            long requested = invocation.getArgument(3);
+            long minimum = invocation.getArgument(4);
+            long[] granted = {0};
+            long remaining = bucket.updateAndGet(tokens -> {
+                granted[0] = tokens >= minimum ? Math.min(requested, tokens) : 0;
+                return tokens - granted[0];
+            });
+            return new RedisTokenBucket.Grant(granted[0], remaining, granted[0] == 0 ? 1_000 : 0, 0);
+        });
+        doAnswer(invocation -> {
+            long returned = invocation.getArgument(2);
+            bucket.updateAndGet(tokens -> Math.min(tokens + returned, CAPACITY));
+            return null;
+        }).when(redisTokenBucket).giveBack(eq("client"), eq(CAPACITY), anyLong(), eq(0L));
+
+        // 40 requests, well under the quota of 100, each on a fresh lease
+        for (int i = 0; i < 40; i++) {
+            assertThat(shortLeases.tryConsume("client").consumed()).as("request %d", i + 1).isTrue();
+            Thread.sleep(40);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bucket.get() != CAPACITY - 40 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(bucket).hasValue(CAPACITY - 40);
+    }
+
+    @Test
+    @DisplayName("Should fall back to local buckets while Redis is down and not retry before the back-off")
+    void testFallsBackToLocalBuckets() {
+        when(redisTokenBucket.take(anyString(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"));
+
+        RateLimitResult first = limiter.tryConsume("client");
+        RateLimitResult second = limiter.tryConsume("client");
+
+        assertThat(first.consumed()).isTrue();
+        assertThat(first.remainingTokens()).isEqualTo(CAPACITY - 1);
+        assertThat(second.remainingTokens()).isEqualTo(CAPACITY - 2);
+        verify(redisTokenBucket, times(1)).take(anyString(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should go back to Redis once the back-off has passed and Redis answers again")
+    void testRecoversWhenRedisReturns() {
+        ReflectionTestUtils.setField(limiter, "redisRetryAfterMs", 0L);
+        when(redisTokenBucket.take(anyString(), anyLong(), anyLong(), anyLong(), anyLong()))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"))
+                .thenReturn(new RedisTokenBucket.Grant(LEASE_SIZE, 90, 0, 0));
+
+        assertThat(limiter.tryConsume("client").remainingTokens()).isEqualTo(CAPACITY - 1);
+
+        RateLimitResult recovered = limiter.tryConsume("client");
+
+        assertThat(recovered.consumed()).isTrue();
+        assertThat(recovered.remainingTokens()).isEqualTo(90 + LEASE_SIZE - 1);
+        assertThat(limiter.tryConsume("client").consumed()).isTrue();
+        verify(redisTokenBucket, times(2)).take(anyString(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should use only local buckets when Redis rate limiting is disabled")
+    void testRedisDisabled() {
+        ReflectionTestUtils.setField(limiter, "redisEnabled", false);
+
+        assertThat(limiter.tryConsume("client").remainingTokens()).isEqualTo(CAPACITY - 1);
+        verifyNoInteractions(redisTokenBucket);
+    }
+}
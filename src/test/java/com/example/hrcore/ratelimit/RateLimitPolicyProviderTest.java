@@ -0,0 +1,88 @@
+package com.example.hrcore.ratelimit;
+
+import com.example.hrcore.config.RateLimitConfig;
+import com.example.hrcore.entity.enums.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RateLimitPolicyProvider Tests")
+class RateLimitPolicyProviderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MockEnvironment environment;
+    private RateLimitConfig rateLimitConfig;
+
+    @BeforeEach
+    void setUp() {
+        environment = new MockEnvironment()
+                .withProperty("rate-limit.capacity", "50")
+                .withProperty("rate-limit.role-quotas.MANAGER", "200")
+                .withProperty("rate-limit.routes[0].pattern", "/api/**/search")
+                .withProperty("rate-limit.routes[0].method", "POST")
+                .withProperty("rate-limit.routes[0].cost", "5");
+        rateLimitConfig = new RateLimitConfig(50, 60_000, 1_000, 120_000, new SimpleMeterRegistry());
+    }
+
+    private RateLimitPolicyProvider provider(String policyFile) {
+        RateLimitPolicyProvider provider = new RateLimitPolicyProvider(environment, rateLimitConfig);
+        ReflectionTestUtils.setField(provider, "policyFile", policyFile);
+        provider.init();
+        return provider;
+    }
+
+    @Test
+    @DisplayName("Quotas and route costs are bound from the application properties")
+    void testPolicyBoundFromEnvironment() {
+        RateLimitPolicy policy = provider("").getPolicy();
+
+        assertThat(policy.quotaFor(UserRole.MANAGER)).isEqualTo(200);
+        assertThat(policy.quotaFor(UserRole.EMPLOYEE)).isEqualTo(50);
+        assertThat(policy.quotaFor(null)).isEqualTo(50);
+        assertThat(policy.costOf("POST", "/api/v1/profiles/search")).isEqualTo(5);
+        assertThat(policy.costOf("GET", "/api/v1/profiles/search")).isEqualTo(1);
+        assertThat(policy.costOf("GET", "/api/v1/profiles")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Changes to the policy file are picked up without a restart")
+    void testPolicyFileReloaded() throws Exception {
+        Path file = tempDir.resolve("rate-limits.properties");
+        Files.writeString(file, "rate-limit.role-quotas.MANAGER=300\n");
+        RateLimitPolicyProvider provider = provider(file.toString());
+
+        assertThat(provider.getPolicy().quotaFor(UserRole.MANAGER)).isEqualTo(300);
+        assertThat(provider.getPolicy().costOf("POST", "/api/v1/feedback/search")).isEqualTo(5);
+
+        rateLimitConfig.resolveBucket("user:1");
+        Files.writeString(file, "rate-limit.role-quotas.MANAGER=400\nrate-limit.routes[0].pattern=/api/**\nrate-limit.routes[0].cost=3\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 1_000));
+        provider.reloadIfChanged();
+
+        assertThat(provider.getPolicy().quotaFor(UserRole.MANAGER)).isEqualTo(400);
+        assertThat(provider.getPolicy().costOf("GET", "/api/v1/profiles")).isEqualTo(3);
+        assertThat(rateLimitConfig.getRateLimitBuckets().asMap()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("An unreadable policy file keeps the current policy")
+    void testMissingPolicyFileKeepsPolicy() {
+        RateLimitPolicyProvider provider = provider(tempDir.resolve("missing.properties").toString());
+
+        provider.reloadIfChanged();
+
+        assertThat(provider.getPolicy().quotaFor(UserRole.MANAGER)).isEqualTo(200);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.hrcore.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.jedis.JedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+/**
+ * Runs {@code scripts/token_bucket.lua} against a real Redis, e.g. the one from docker-compose.
+ * Skipped when no Redis answers on {@code REDIS_HOST}:{@code REDIS_PORT} (default localhost:6379).
+ */
+@DisplayName("RedisTokenBucket Tests")
+class RedisTokenBucketTest {
+
+    private JedisConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private RedisTokenBucket bucket;
+    private String key;
+
+    @BeforeEach
+    void setUp() {
+        String host = System.getenv().getOrDefault("REDIS_HOST", "localhost");
+        int port = Integer.parseInt(System.getenv().getOrDefault("REDIS_PORT", "6379"));
+        connectionFactory = new JedisConnectionFactory(new RedisStandaloneConfiguration(host, port));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        assumeTrue(redisAvailable(), "No Redis at " + host + ":" + port);
+
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        bucket = new RedisTokenBucket(redisTemplate);
+        key = "test-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (redisTemplate != null) {
+            redisTemplate.delete("rate-limit:" + key);
+        }
+        connectionFactory.destroy();
+    }
+
+    private boolean redisAvailable() {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Test
+    @DisplayName("Should grant the requested tokens from a new bucket filled to capacity")
+    void testGrantsFromNewBucket() {
+        RedisTokenBucket.Grant grant = bucket.take(key, 5, 60_000, 3, 1);
+
+        assertThat(grant.granted()).isEqualTo(3);
+        assertThat(grant.remaining()).isEqualTo(2);
+        assertThat(grant.millisUntilRefill()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should grant nothing below the minimum and a partial batch at or above it")
+    void testMinimumGrant() {
+        bucket.take(key, 5, 60_000, 3, 1);
+
+        RedisTokenBucket.Grant belowMinimum = bucket.take(key, 5, 60_000, 5, 3);
+        RedisTokenBucket.Grant partial = bucket.take(key, 5, 60_000, 5, 2);
+
+        assertThat(belowMinimum.granted()).isZero();
+        assertThat(belowMinimum.remaining()).isEqualTo(2);
+        assertThat(belowMinimum.millisUntilRefill()).isBetween(1L, 60_000L);
+        assertThat(partial.granted()).isEqualTo(2);
+        assertThat(partial.remaining()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should refill to capacity once the period has elapsed")
+    void testRefillsAfterPeriod() throws InterruptedException {
+        bucket.take(key, 3, 200, 3, 1);
+        RedisTokenBucket.Grant empty = bucket.take(key, 3, 200, 1, 1);
+
+        Thread.sleep(250);
+        RedisTokenBucket.Grant refilled = bucket.take(key, 3, 200, 3, 1);
+
+        assertThat(empty.granted()).isZero();
+        assertThat(empty.millisUntilRefill()).isBetween(1L, 200L);
+        assertThat(refilled.granted()).isEqualTo(3);
+        assertThat(refilled.remaining()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should cap the stored tokens when the capacity is lowered")
+    void testLoweredCapacity() {
+        bucket.take(key, 10, 60_000, 1, 1);
+
+        RedisTokenBucket.Grant grant = bucket.take(key, 4, 60_000, 1, 1);
+
+        assertThat(grant.granted()).isEqualTo(1);
+        assertThat(grant.remaining()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should take back unused tokens up to the capacity, but not into a later period")
+    void testGiveBack() throws InterruptedException {
+        RedisTokenBucket.Grant grant = bucket.take(key, 5, 60_000, 4, 1);
+
+        bucket.giveBack(key, 5, 3, grant.periodStart());
+        bucket.giveBack(key, 5, 10, grant.periodStart());
+
+        assertThat(bucket.take(key, 5, 60_000, 1, 1).remaining()).isEqualTo(4);
+
+        RedisTokenBucket.Grant shortPeriod = bucket.take(key + "-short", 3, 100, 3, 1);
+        Thread.sleep(150);
+        bucket.take(key + "-short", 3, 100, 2, 1);
+        bucket.giveBack(key + "-short", 3, 3, shortPeriod.periodStart());
+
+        assertThat(bucket.take(key + "-short", 3, 100, 1, 1).remaining()).isZero();
+        redisTemplate.delete("rate-limit:" + key + "-short");
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.hrcore.service;
+
+import com.example.hrcore.dto.AbsenceBalanceDto;
+import com.example.hrcore.dto.AbsenceRequestOperationContext;
+import com.example.hrcore.entity.AbsenceBalance;
+import com.example.hrcore.entity.enums.AbsenceRequestStatus;
+import com.example.hrcore.entity.enums.AbsenceRequestType;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.exception.UnauthorizedException;
+import com.example.hrcore.repository.AbsenceBalanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AbsenceBalanceService Tests")
+class AbsenceBalanceServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private AbsenceBalanceRepository absenceBalanceRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AbsenceBalanceService absenceBalanceService;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        absenceBalanceService = new AbsenceBalanceService(jdbcTemplate, absenceBalanceRepository, transactionManager, 1000);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("New request spanning New Year is split per year")
+    void testDeltasSplitAcrossYears() {
+        List<AbsenceBalanceService.Delta> deltas = AbsenceBalanceService.deltas(userId, AbsenceRequestType.VACATION,
+                LocalDate.of(2030, 12, 29), LocalDate.of(2031, 1, 2), true, null, AbsenceRequestStatus.PENDING);
+
+        assertThat(deltas).containsExactly(
+                new AbsenceBalanceService.Delta(new AbsenceBalance.Key(userId, 2030, AbsenceRequestType.VACATION), 3, 3, 0),
+                new AbsenceBalanceService.Delta(new AbsenceBalance.Key(userId, 2031, AbsenceRequestType.VACATION), 2, 2, 0));
+    }
+
+    @Test
+    @DisplayName("Status change moves days between buckets without touching requested")
+    void testDeltasStatusChange() {
+        LocalDate start = LocalDate.of(2030, 6, 10);
+        AbsenceBalance.Key key = new AbsenceBalance.Key(userId, 2030, AbsenceRequestType.SICK);
+
+        assertThat(AbsenceBalanceService.deltas(userId, AbsenceRequestType.SICK, start, start.plusDays(4),
+                false, AbsenceRequestStatus.PENDING, AbsenceRequestStatus.APPROVED))
+                .containsExactly(new AbsenceBalanceService.Delta(key, 0, -5, 5));
+        assertThat(AbsenceBalanceService.deltas(userId, AbsenceRequestType.SICK, start, start.plusDays(4),
+                false, AbsenceRequestStatus.APPROVED, AbsenceRequestStatus.REJECTED))
+                .containsExactly(new AbsenceBalanceService.Delta(key, 0, 0, -5));
+    }
+
+    @Test
+    @DisplayName("Balances list every type, with zeros where nothing was requested")
+    void testGetBalancesFillsMissingTypes() {
+        AbsenceBalance vacation = AbsenceBalance.builder()
+                .id(new AbsenceBalance.Key(userId, 2030, AbsenceRequestType.VACATION))
+                .requestedDays(8)
+                .pendingDays(3)
+                .approvedDays(5)
+                .updatedAt(LocalDateTime.now())
+                .build();
+        when(absenceBalanceRepository.findByUserAndYear(userId, 2030)).thenReturn(List.of(vacation));
+
+        AbsenceRequestOperationContext context = AbsenceRequestOperationContext.builder()
+                .currentUserId(userId)
+                .currentUserRole(UserRole.EMPLOYEE)
+                .build();
+        List<AbsenceBalanceDto> balances = absenceBalanceService.getBalances(userId, 2030, context);
+
+        assertThat(balances).extracting(AbsenceBalanceDto::getType).containsExactly(AbsenceRequestType.values());
+        assertThat(balances).extracting(AbsenceBalanceDto::getApprovedDays).containsExactly(5, 0, 0);
+        assertThat(balances.get(0).getPendingDays()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Employee cannot view another user's balances")
+    void testEmployeeCannotViewOthers() {
+        AbsenceRequestOperationContext context = AbsenceRequestOperationContext.builder()
+                .currentUserId(UUID.randomUUID())
+                .currentUserRole(UserRole.EMPLOYEE)
+                .build();
+
+        assertThatThrownBy(() -> absenceBalanceService.getBalances(userId, 2030, context))
+                .isInstanceOf(UnauthorizedException.class);
+        verifyNoInteractions(absenceBalanceRepository);
+    }
+}
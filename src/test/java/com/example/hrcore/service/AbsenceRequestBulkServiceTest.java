@@ -0,0 +1,147 @@
+package com.example.hrcore.service;
+
+import com.example.hrcore.dto.AbsenceRequestOperationContext;
+import com.example.hrcore.dto.BulkAbsenceDecisionRequest;
+import com.example.hrcore.dto.BulkAbsenceDecisionResultDto;
+import com.example.hrcore.dto.BulkAbsenceDecisionResultDto.Outcome;
+import com.example.hrcore.entity.AbsenceRequest;
+import com.example.hrcore.entity.User;
+import com.example.hrcore.entity.enums.AbsenceRequestStatus;
+import com.example.hrcore.entity.enums.AbsenceRequestType;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.event.AbsenceRequestChangedEvent;
+import com.example.hrcore.exception.InvalidOperationException;
+import com.example.hrcore.repository.AbsenceRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AbsenceRequestBulkService Tests")
+class AbsenceRequestBulkServiceTest {
+
+    @Mock
+    private AbsenceRequestRepository absenceRequestRepository;
+
+    @Mock
+    private AbsenceBalanceService absenceBalanceService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @InjectMocks
+    private AbsenceRequestBulkService absenceRequestBulkService;
+
+    private User manager;
+    private User ownReport;
+    private User otherReport;
+    private AbsenceRequestOperationContext managerContext;
+
+    @BeforeEach
+    void setUp() {
+        manager = User.builder().id(UUID.randomUUID()).role(UserRole.MANAGER).build();
+        ownReport = User.builder().id(UUID.randomUUID()).role(UserRole.EMPLOYEE).build();
+        ownReport.setManager(manager);
+        otherReport = User.builder().id(UUID.randomUUID()).role(UserRole.EMPLOYEE).build();
+        otherReport.setManager(User.builder().id(UUID.randomUUID()).role(UserRole.MANAGER).build());
+        managerContext = AbsenceRequestOperationContext.builder()
+                .currentUserId(manager.getId())
+                .currentUserRole(UserRole.MANAGER)
+                .build();
+    }
+
+    private AbsenceRequest request(long id, User user, AbsenceRequestStatus status) {
+        return AbsenceRequest.builder()
+                .id(id)
+                .userId(user.getId())
+                .user(user)
+                .startDate(LocalDate.now().plusDays(7))
+                .endDate(LocalDate.now().plusDays(9))
+                .type(AbsenceRequestType.VACATION)
+                .status(status)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Bulk approve reports an outcome per id and updates only eligible requests")
+    void testBulkApproveOutcomes() {
+        AbsenceRequest pending = request(1L, ownReport, AbsenceRequestStatus.PENDING);
+        AbsenceRequest raced = request(2L, ownReport, AbsenceRequestStatus.PENDING);
+        AbsenceRequest decided = request(3L, ownReport, AbsenceRequestStatus.REJECTED);
+        AbsenceRequest foreign = request(4L, otherReport, AbsenceRequestStatus.PENDING);
+        when(absenceRequestRepository.findAllWithUserByIdIn(any()))
+                .thenReturn(List.of(pending, raced, decided, foreign));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0});
+
+        BulkAbsenceDecisionRequest decision = BulkAbsenceDecisionRequest.builder()
+                .requestIds(List.of(1L, 2L, 3L, 4L, 5L, 1L))
+                .action("approve")
+                .build();
+        List<BulkAbsenceDecisionResultDto> results = absenceRequestBulkService.decide(decision, managerContext);
+
+        assertThat(results).extracting(BulkAbsenceDecisionResultDto::getRequestId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(results).extracting(BulkAbsenceDecisionResultDto::getOutcome).containsExactly(
+                Outcome.APPROVED, Outcome.NOT_PENDING, Outcome.NOT_PENDING, Outcome.FORBIDDEN, Outcome.NOT_FOUND);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+        verify(absenceBalanceService).recordStatusChanges(List.of(pending),
+                AbsenceRequestStatus.PENDING, AbsenceRequestStatus.APPROVED);
+        verify(eventPublisher, times(1)).publishEvent(any(AbsenceRequestChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Bulk approve reads back the rows the driver reported as SUCCESS_NO_INFO")
+    void testBulkApproveSuccessNoInfo() {
+        AbsenceRequest pending = request(1L, ownReport, AbsenceRequestStatus.PENDING);
+        AbsenceRequest raced = request(2L, ownReport, AbsenceRequestStatus.PENDING);
+        when(absenceRequestRepository.findAllWithUserByIdIn(any())).thenReturn(List.of(pending, raced));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class))).thenReturn(List.of(1L));
+
+        BulkAbsenceDecisionRequest decision = BulkAbsenceDecisionRequest.builder()
+                .requestIds(List.of(1L, 2L))
+                .action("APPROVE")
+                .build();
+        List<BulkAbsenceDecisionResultDto> results = absenceRequestBulkService.decide(decision, managerContext);
+
+        assertThat(results).extracting(BulkAbsenceDecisionResultDto::getOutcome)
+                .containsExactly(Outcome.APPROVED, Outcome.NOT_PENDING);
+        verify(absenceBalanceService).recordStatusChanges(List.of(pending),
+                AbsenceRequestStatus.PENDING, AbsenceRequestStatus.APPROVED);
+        verify(eventPublisher, times(1)).publishEvent(any(AbsenceRequestChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Bulk reject requires a reason")
+    void testBulkRejectRequiresReason() {
+        BulkAbsenceDecisionRequest decision = BulkAbsenceDecisionRequest.builder()
+                .requestIds(List.of(1L))
+                .action("REJECT")
+                .build();
+
+        assertThatThrownBy(() -> absenceRequestBulkService.decide(decision, managerContext))
+                .isInstanceOf(InvalidOperationException.class);
+        verifyNoInteractions(absenceRequestRepository, jdbcTemplate);
+    }
+}
@@ -10,6 +10,7 @@ import com.example.hrcore.entity.User;
 import com.example.hrcore.entity.enums.AbsenceRequestStatus;
 import com.example.hrcore.entity.enums.AbsenceRequestType;
 import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.event.AbsenceRequestChangedEvent;
 import com.example.hrcore.exception.InvalidOperationException;
 import com.example.hrcore.exception.UnauthorizedException;
 import com.example.hrcore.exception.UserNotFoundException;
@@ -23,6 +24,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -31,6 +34,7 @@ import org.springframework.data.jpa.domain.Specification;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.*;
@@ -50,6 +54,15 @@ class AbsenceRequestServiceTest {
     @Mock
     private AbsenceRequestMapper mapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AbsenceBalanceService absenceBalanceService;
+
+    @Mock
+    private OutboxService outboxService;
+
     @InjectMocks
     private AbsenceRequestService absenceRequestService;
 
@@ -272,7 +285,7 @@ class AbsenceRequestServiceTest {
     @DisplayName("Direct manager can approve pending request")
     void testDirectManagerCanApproveRequest() {
         when(absenceRequestRepository.findById(1L)).thenReturn(Optional.of(pendingRequest));
-        when(userRepository.findById(employeeId)).thenReturn(Optional.of(employee));
+        when(userRepository.existsByIdAndManagerId(employeeId, managerId)).thenReturn(true);
         when(absenceRequestRepository.save(any(AbsenceRequest.class))).thenReturn(approvedRequest);
         when(mapper.toDto(approvedRequest)).thenReturn(requestDto);
 
@@ -288,6 +301,8 @@ class AbsenceRequestServiceTest {
                 request.getStatus() == AbsenceRequestStatus.APPROVED &&
                 request.getApproverId().equals(managerId)
         ));
+        verify(absenceBalanceService).recordStatusChange(approvedRequest, AbsenceRequestStatus.PENDING, AbsenceRequestStatus.APPROVED);
+        verify(eventPublisher).publishEvent(any(AbsenceRequestChangedEvent.class));
     }
 
     @Test
@@ -315,7 +330,7 @@ class AbsenceRequestServiceTest {
     void testNonDirectManagerCannotApproveRequest() {
         UUID anotherManagerId = UUID.randomUUID();
         when(absenceRequestRepository.findById(1L)).thenReturn(Optional.of(pendingRequest));
-        when(userRepository.findById(employeeId)).thenReturn(Optional.of(employee));
+        when(userRepository.existsByIdAndManagerId(employeeId, anotherManagerId)).thenReturn(false);
 
         AbsenceRequestOperationContext context = AbsenceRequestOperationContext.builder()
                 .currentUserId(anotherManagerId)
@@ -359,7 +374,7 @@ class AbsenceRequestServiceTest {
     @DisplayName("Direct manager can reject pending request")
     void testDirectManagerCanRejectRequest() {
         when(absenceRequestRepository.findById(1L)).thenReturn(Optional.of(pendingRequest));
-        when(userRepository.findById(employeeId)).thenReturn(Optional.of(employee));
+        when(userRepository.existsByIdAndManagerId(employeeId, managerId)).thenReturn(true);
         AbsenceRequest rejectedRequest = AbsenceRequest.builder()
                 .id(1L)
                 .status(AbsenceRequestStatus.REJECTED)
@@ -460,6 +475,7 @@ class AbsenceRequestServiceTest {
         when(absenceRequestRepository.findByUserIdOrderByStartDateDesc(eq(employeeId), any(Pageable.class)))
                 .thenReturn(page);
         when(mapper.toPageResponse(page)).thenReturn(pageResponse);
+        when(userRepository.findReportIdsAmong(managerId, Set.of(employeeId))).thenReturn(Set.of(employeeId));
 
         AbsenceRequestOperationContext context = AbsenceRequestOperationContext.builder()
                 .currentUserId(managerId)
@@ -469,7 +485,9 @@ class AbsenceRequestServiceTest {
         PageResponse<AbsenceRequestDto> result = absenceRequestService.getUserRequests(employeeId, 0, 10, context);
 
         assertThat(result).isNotNull();
+        assertThat(result.getContent()).allMatch(AbsenceRequestDto::getCanApprove);
         verify(absenceRequestRepository).findByUserIdOrderByStartDateDesc(eq(employeeId), any(Pageable.class));
+        verify(userRepository, never()).findById(any());
     }
 
     @Test
@@ -520,7 +538,7 @@ class AbsenceRequestServiceTest {
     @DisplayName("Check conflicts for overlapping requests")
     void testCheckConflicts() {
         Page<AbsenceRequest> page = new PageImpl<>(List.of(pendingRequest));
-        when(absenceRequestRepository.findAll(any(Specification.class), any(Pageable.class)))
+        when(absenceRequestRepository.findOverlapping(eq(employeeId), any(LocalDate.class), any(LocalDate.class), any(Pageable.class)))
                 .thenReturn(page);
         when(mapper.toPageResponse(page)).thenReturn(pageResponse);
 
@@ -539,7 +557,73 @@ class AbsenceRequestServiceTest {
         );
 
         assertThat(result).isNotNull();
-        verify(absenceRequestRepository).findAll(any(Specification.class), any(Pageable.class));
+        verify(absenceRequestRepository).findOverlapping(eq(employeeId), any(LocalDate.class), any(LocalDate.class), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Cannot submit a request overlapping an existing one")
+    void testCannotSubmitOverlappingRequest() {
+        when(userRepository.existsById(employeeId)).thenReturn(true);
+        when(absenceRequestRepository.existsOverlapping(eq(employeeId), any(LocalDate.class), any(LocalDate.class), isNull()))
+                .thenReturn(true);
+
+        AbsenceRequestOperationContext context = AbsenceRequestOperationContext.builder()
+                .currentUserId(employeeId)
+                .currentUserRole(UserRole.EMPLOYEE)
+                .build();
+
+        assertThatThrownBy(() -> absenceRequestService.submitRequest(
+                employeeId,
+                LocalDate.now().plusDays(10),
+                LocalDate.now().plusDays(15),
+                "VACATION",
+                "Holiday",
+                context
+        ))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessageContaining("overlap");
+
+        verify(absenceRequestRepository, never()).save(any(AbsenceRequest.class));
+    }
+
+    @Test
+    @DisplayName("Overlap constraint violation is reported as an invalid operation")
+    void testSubmitRaceHitsOverlapConstraint() {
+        when(userRepository.existsById(employeeId)).thenReturn(true);
+        when(absenceRequestRepository.save(any(AbsenceRequest.class))).thenThrow(new DataIntegrityViolationException(
+                "conflicting key value violates exclusion constraint \"" + AbsenceRequestService.NO_OVERLAP_CONSTRAINT + "\""));
+
+        AbsenceRequestOperationContext context = AbsenceRequestOperationContext.builder()
+                .currentUserId(employeeId)
+                .currentUserRole(UserRole.EMPLOYEE)
+                .build();
+
+        assertThatThrownBy(() -> absenceRequestService.submitRequest(
+                employeeId,
+                LocalDate.now().plusDays(10),
+                LocalDate.now().plusDays(15),
+                "VACATION",
+                "Holiday",
+                context
+        ))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    @DisplayName("Manager cannot check another manager's team conflicts")
+    void testManagerCannotCheckOtherTeamConflicts() {
+        AbsenceRequestOperationContext context = AbsenceRequestOperationContext.builder()
+                .currentUserId(managerId)
+                .currentUserRole(UserRole.MANAGER)
+                .build();
+
+        assertThatThrownBy(() -> absenceRequestService.checkTeamConflicts(
+                UUID.randomUUID(),
+                LocalDate.now(),
+                LocalDate.now().plusDays(30),
+                context
+        ))
+                .isInstanceOf(UnauthorizedException.class);
     }
 
     @Test
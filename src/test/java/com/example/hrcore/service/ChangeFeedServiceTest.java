@@ -0,0 +1,129 @@
+package com.example.hrcore.service;
+
+import com.example.hrcore.dto.AbsenceRequestDto;
+import com.example.hrcore.dto.ChangeCursor;
+import com.example.hrcore.dto.ChangeFeedDto;
+import com.example.hrcore.entity.AbsenceRequest;
+import com.example.hrcore.entity.DeletedRecord;
+import com.example.hrcore.exception.InvalidOperationException;
+import com.example.hrcore.mapper.AbsenceRequestMapper;
+import com.example.hrcore.mapper.FeedbackMapper;
+import com.example.hrcore.mapper.UserMapper;
+import com.example.hrcore.repository.AbsenceRequestRepository;
+import com.example.hrcore.repository.DeletedRecordRepository;
+import com.example.hrcore.repository.FeedbackRepository;
+import com.example.hrcore.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ChangeFeedService Tests")
+class ChangeFeedServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AbsenceRequestRepository absenceRequestRepository;
+
+    @Mock
+    private FeedbackRepository feedbackRepository;
+
+    @Mock
+    private DeletedRecordRepository deletedRecordRepository;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private AbsenceRequestMapper absenceRequestMapper;
+
+    @Mock
+    private FeedbackMapper feedbackMapper;
+
+    @Mock
+    private PurgeService purgeService;
+
+    private ChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+        changeFeedService = new ChangeFeedService(userRepository, absenceRequestRepository, feedbackRepository,
+                deletedRecordRepository, userMapper, absenceRequestMapper, feedbackMapper, purgeService,
+                Duration.ofSeconds(5), Duration.ofDays(90), 1000);
+    }
+
+    private AbsenceRequest request(long id, LocalDateTime updatedAt) {
+        AbsenceRequest request = AbsenceRequest.builder().id(id).build();
+        request.setUpdatedAt(updatedAt);
+        return request;
+    }
+
+    @Test
+    @DisplayName("First sync reads from the beginning and returns a cursor after the last row and tombstone")
+    void testInitialSync() {
+        LocalDateTime updatedAt = LocalDateTime.of(2030, 1, 1, 12, 0);
+        List<AbsenceRequest> rows = List.of(request(3L, updatedAt), request(9L, updatedAt));
+        when(absenceRequestRepository.findChangedSince(eq(LocalDateTime.of(1970, 1, 1, 0, 0)), eq(0L),
+                any(LocalDateTime.class), any(Pageable.class))).thenReturn(rows);
+        when(deletedRecordRepository.findSince(eq(DeletedRecord.ABSENCE_REQUEST), eq(0L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of(DeletedRecord.builder().id(4L).entityId("2").build()));
+        when(absenceRequestMapper.toDtoList(rows)).thenReturn(List.of(new AbsenceRequestDto(), new AbsenceRequestDto()));
+
+        ChangeFeedDto<AbsenceRequestDto> changes = changeFeedService.getAbsenceRequestChanges(null, 2);
+
+        assertThat(changes.getItems()).hasSize(2);
+        assertThat(changes.getDeletedIds()).containsExactly("2");
+        assertThat(changes.isHasMore()).isFalse();
+        ChangeCursor next = ChangeCursor.decode(changes.getNextCursor());
+        assertThat(next.updatedAt()).isEqualTo(updatedAt);
+        assertThat(next.id()).isEqualTo("9");
+        assertThat(next.tombstoneId()).isEqualTo(4L);
+    }
+
+    @Test
+    @DisplayName("A full page reports more and resumes after its last row")
+    void testHasMore() {
+        LocalDateTime since = LocalDateTime.of(2030, 1, 1, 12, 0);
+        String cursor = new ChangeCursor(since, "5", 7L, LocalDateTime.now()).encode();
+        List<AbsenceRequest> rows = List.of(request(6L, since), request(8L, since.plusSeconds(1)));
+        when(absenceRequestRepository.findChangedSince(eq(since), eq(5L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(rows);
+        when(deletedRecordRepository.findSince(eq(DeletedRecord.ABSENCE_REQUEST), eq(7L), any(LocalDateTime.class), any(Pageable.class)))
+                .thenReturn(List.of());
+        when(absenceRequestMapper.toDtoList(rows.subList(0, 1))).thenReturn(List.of(new AbsenceRequestDto()));
+
+        ChangeFeedDto<AbsenceRequestDto> changes = changeFeedService.getAbsenceRequestChanges(cursor, 1);
+
+        assertThat(changes.isHasMore()).isTrue();
+        ChangeCursor next = ChangeCursor.decode(changes.getNextCursor());
+        assertThat(next.id()).isEqualTo("6");
+        assertThat(next.tombstoneId()).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Malformed and expired cursors are rejected")
+    void testRejectsBadCursors() {
+        String expired = new ChangeCursor(LocalDateTime.now(), "1", 0L, LocalDateTime.now().minusDays(91)).encode();
+
+        assertThatThrownBy(() -> changeFeedService.getFeedbackChanges("not-a-cursor", 10))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> changeFeedService.getFeedbackChanges(expired, 10))
+                .isInstanceOf(InvalidOperationException.class)
+                .hasMessageContaining("retention");
+        verifyNoInteractions(feedbackRepository);
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.hrcore.service;
+
+import com.example.hrcore.dto.BulkFeedbackModerationRequest;
+import com.example.hrcore.dto.BulkFeedbackModerationResultDto;
+import com.example.hrcore.dto.BulkFeedbackModerationResultDto.Outcome;
+import com.example.hrcore.dto.FeedbackOperationContext;
+import com.example.hrcore.entity.Feedback;
+import com.example.hrcore.entity.User;
+import com.example.hrcore.entity.enums.FeedbackStatus;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.exception.InvalidOperationException;
+import com.example.hrcore.exception.UnauthorizedException;
+import com.example.hrcore.repository.FeedbackRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("FeedbackModerationService Tests")
+class FeedbackModerationServiceTest {
+
+    @Mock
+    private FeedbackRepository feedbackRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private FeedbackModerationService feedbackModerationService;
+
+    private User manager;
+    private User ownReport;
+    private User otherReport;
+    private FeedbackOperationContext managerContext;
+
+    @BeforeEach
+    void setUp() {
+        manager = User.builder().id(UUID.randomUUID()).role(UserRole.MANAGER).build();
+        ownReport = User.builder().id(UUID.randomUUID()).role(UserRole.EMPLOYEE).build();
+        ownReport.setManager(manager);
+        otherReport = User.builder().id(UUID.randomUUID()).role(UserRole.EMPLOYEE).build();
+        managerContext = FeedbackOperationContext.builder()
+                .currentUserId(manager.getId())
+                .currentUserRole(UserRole.MANAGER)
+                .build();
+    }
+
+    private Feedback feedback(long id, User recipient, FeedbackStatus status) {
+        return Feedback.builder()
+                .id(id)
+                .fromUserId(UUID.randomUUID())
+                .toUserId(recipient.getId())
+                .toUser(recipient)
+                .content("Great work")
+                .status(status)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Bulk moderation reports an outcome per id and loses races gracefully")
+    void testBulkModerationOutcomes() {
+        when(feedbackRepository.findAllWithRecipientByIdIn(any())).thenReturn(List.of(
+                feedback(1L, ownReport, FeedbackStatus.PENDING),
+                feedback(2L, ownReport, FeedbackStatus.PENDING),
+                feedback(3L, ownReport, FeedbackStatus.APPROVED),
+                feedback(4L, otherReport, FeedbackStatus.PENDING)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[]{1, 0});
+
+        BulkFeedbackModerationRequest moderation = BulkFeedbackModerationRequest.builder()
+                .feedbackIds(List.of(4L, 1L, 2L, 3L, 5L))
+                .action("reject")
+                .build();
+        List<BulkFeedbackModerationResultDto> results = feedbackModerationService.moderate(moderation, managerContext);
+
+        assertThat(results).extracting(BulkFeedbackModerationResultDto::getFeedbackId).containsExactly(4L, 1L, 2L, 3L, 5L);
+        assertThat(results).extracting(BulkFeedbackModerationResultDto::getOutcome).containsExactly(
+                Outcome.FORBIDDEN, Outcome.REJECTED, Outcome.NOT_PENDING, Outcome.NOT_PENDING, Outcome.NOT_FOUND);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Bulk moderation reads back the items the driver reported as SUCCESS_NO_INFO")
+    void testBulkModerationSuccessNoInfo() {
+        when(feedbackRepository.findAllWithRecipientByIdIn(any())).thenReturn(List.of(
+                feedback(1L, ownReport, FeedbackStatus.PENDING),
+                feedback(2L, ownReport, FeedbackStatus.PENDING)));
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenReturn(new int[]{Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO});
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any(Object[].class))).thenReturn(List.of(2L));
+
+        BulkFeedbackModerationRequest moderation = BulkFeedbackModerationRequest.builder()
+                .feedbackIds(List.of(1L, 2L))
+                .action("APPROVE")
+                .build();
+        List<BulkFeedbackModerationResultDto> results = feedbackModerationService.moderate(moderation, managerContext);
+
+        assertThat(results).extracting(BulkFeedbackModerationResultDto::getOutcome)
+                .containsExactly(Outcome.NOT_PENDING, Outcome.APPROVED);
+        verify(outboxService, times(1)).record(eq(OutboxService.FEEDBACK), eq(2L), eq("FeedbackApproved"), any());
+    }
+
+    @Test
+    @DisplayName("Unknown action is rejected")
+    void testInvalidAction() {
+        BulkFeedbackModerationRequest moderation = BulkFeedbackModerationRequest.builder()
+                .feedbackIds(List.of(1L))
+                .action("ARCHIVE")
+                .build();
+
+        assertThatThrownBy(() -> feedbackModerationService.moderate(moderation, managerContext))
+                .isInstanceOf(InvalidOperationException.class);
+        verifyNoInteractions(feedbackRepository, jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Employee cannot moderate feedback")
+    void testEmployeeCannotModerate() {
+        FeedbackOperationContext employeeContext = FeedbackOperationContext.builder()
+                .currentUserId(ownReport.getId())
+                .currentUserRole(UserRole.EMPLOYEE)
+                .build();
+        BulkFeedbackModerationRequest moderation = BulkFeedbackModerationRequest.builder()
+                .feedbackIds(List.of(1L))
+                .action("APPROVE")
+                .build();
+
+        assertThatThrownBy(() -> feedbackModerationService.moderate(moderation, employeeContext))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.hrcore.service;
+
+import com.example.hrcore.dto.PurgeResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs the purge SQL against an in-memory H2 table.
+ */
+@DisplayName("PurgeService Tests")
+class PurgeServiceTest {
+
+    private static final PurgeService.PurgeTarget TARGET = new PurgeService.PurgeTarget("expiring_rows", "expires_at");
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2025, 6, 1, 0, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private PurgeService purgeService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:purge;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE expiring_rows (id BIGINT PRIMARY KEY, expires_at TIMESTAMP NOT NULL)");
+        meterRegistry = new SimpleMeterRegistry();
+        purgeService = new PurgeService(jdbcTemplate, meterRegistry);
+        configure(10, 0, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE expiring_rows");
+    }
+
+    private void configure(int batchSize, long pauseMs, long budgetMs) {
+        ReflectionTestUtils.setField(purgeService, "batchSize", batchSize);
+        ReflectionTestUtils.setField(purgeService, "pauseBetweenBatchesMs", pauseMs);
+        ReflectionTestUtils.setField(purgeService, "timeBudgetMs", budgetMs);
+    }
+
+    /**
+     * Inserts ids 1..{@code count}; every fifth row has not expired yet.
+     */
+    private void insertRows(int count) {
+        for (long id = 1; id <= count; id++) {
+            LocalDateTime expiresAt = id % 5 == 0 ? CUTOFF.plusDays(1) : CUTOFF.minusDays(1);
+            jdbcTemplate.update("INSERT INTO expiring_rows (id, expires_at) VALUES (?, ?)", id, expiresAt);
+        }
+    }
+
+    private long remaining() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expiring_rows", Long.class);
+    }
+
+    @Test
+    @DisplayName("Should delete expired rows in batches of at most batchSize and keep the rest")
+    void testBatchBoundaries() {
+        insertRows(50);
+
+        PurgeResult result = purgeService.purge(TARGET, CUTOFF);
+
+        // 40 expired rows in batches of 10 expired ids each
+        assertThat(result.getRowsDeleted()).isEqualTo(40);
+        assertThat(result.getBatches()).isEqualTo(4);
+        assertThat(result.isBudgetExhausted()).isFalse();
+        assertThat(remaining()).isEqualTo(10);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM expiring_rows WHERE expires_at < ?",
+                Long.class, CUTOFF)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should handle a last batch smaller than batchSize and an empty table")
+    void testPartialAndEmptyBatches() {
+        insertRows(13);
+
+        PurgeResult result = purgeService.purge(TARGET, CUTOFF);
+        PurgeResult again = purgeService.purge(TARGET, CUTOFF);
+
+        assertThat(result.getRowsDeleted()).isEqualTo(11);
+        assertThat(result.getBatches()).isEqualTo(2);
+        assertThat(again.getRowsDeleted()).isZero();
+        assertThat(again.getBatches()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should stop after the batch that spends the time budget and resume on the next run")
+    void testStopsWhenBudgetExhausted() {
+        insertRows(50);
+        configure(10, 0, 0);
+
+        PurgeResult first = purgeService.purge(TARGET, CUTOFF);
+
+        assertThat(first.isBudgetExhausted()).isTrue();
+        assertThat(first.getBatches()).isEqualTo(1);
+        assertThat(first.getRowsDeleted()).isEqualTo(10);
+
+        configure(10, 0, 60_000);
+        PurgeResult second = purgeService.purge(TARGET, CUTOFF);
+
+        assertThat(second.getRowsDeleted()).isEqualTo(30);
+        assertThat(remaining()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Should skip a second purge of the same table while one is running")
+    void testRejectsConcurrentRun() throws Exception {
+        insertRows(50);
+        configure(10, 200, 60_000);
+
+        CompletableFuture<PurgeResult> running = CompletableFuture.supplyAsync(() -> purgeService.purge(TARGET, CUTOFF));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!purgeService.isRunning(TARGET) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(purgeService.isRunning(TARGET)).isTrue();
+
+        PurgeResult skipped = purgeService.purge(TARGET, CUTOFF);
+
+        assertThat(skipped.getTarget()).isEqualTo("expiring_rows");
+        assertThat(skipped.getRowsDeleted()).isZero();
+        assertThat(skipped.getBatches()).isZero();
+        assertThat(running.get(10, TimeUnit.SECONDS).getRowsDeleted()).isEqualTo(40);
+        assertThat(purgeService.isRunning(TARGET)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should record deleted rows, batches and duration tagged by table and outcome")
+    void testRecordsMeters() {
+        insertRows(50);
+        purgeService.purge(TARGET, CUTOFF);
+        configure(10, 0, 0);
+        jdbcTemplate.update("INSERT INTO expiring_rows (id, expires_at) VALUES (?, ?)", 100L, CUTOFF.minusDays(1));
+        purgeService.purge(TARGET, CUTOFF);
+
+        assertThat(meterRegistry.get("purge.rows.deleted").tag("table", "expiring_rows").counter().count())
+                .isEqualTo(41);
+        assertThat(meterRegistry.get("purge.batches").tag("table", "expiring_rows").counter().count())
+                .isEqualTo(5);
+        assertThat(meterRegistry.get("purge.duration").tags("table", "expiring_rows", "outcome", "completed")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("purge.duration").tags("table", "expiring_rows", "outcome", "budget_exhausted")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject table and column names that are not plain identifiers")
+    void testRejectsUnsafeTarget() {
+        assertThatThrownBy(() -> new PurgeService.PurgeTarget("tokens; DROP TABLE users", "expires_at"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
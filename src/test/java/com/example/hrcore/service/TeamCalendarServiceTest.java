@@ -0,0 +1,112 @@
+package com.example.hrcore.service;
+
+import com.example.hrcore.dto.AbsenceRequestOperationContext;
+import com.example.hrcore.dto.CalendarAbsenceDto;
+import com.example.hrcore.dto.CalendarDayDto;
+import com.example.hrcore.dto.TeamCalendarDto;
+import com.example.hrcore.entity.User;
+import com.example.hrcore.entity.enums.AbsenceRequestStatus;
+import com.example.hrcore.entity.enums.AbsenceRequestType;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.event.AbsenceRequestChangedEvent;
+import com.example.hrcore.exception.UnauthorizedException;
+import com.example.hrcore.repository.AbsenceRequestRepository;
+import com.example.hrcore.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TeamCalendarService Tests")
+class TeamCalendarServiceTest {
+
+    @Mock
+    private AbsenceRequestRepository absenceRequestRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TeamCalendarService teamCalendarService;
+
+    private UUID managerId;
+    private UUID employeeId;
+    private AbsenceRequestOperationContext managerContext;
+
+    @BeforeEach
+    void setUp() {
+        teamCalendarService = new TeamCalendarService(absenceRequestRepository, userRepository,
+                new ConcurrentMapCacheManager(TeamCalendarService.CACHE_NAME));
+        managerId = UUID.randomUUID();
+        employeeId = UUID.randomUUID();
+        managerContext = AbsenceRequestOperationContext.builder()
+                .currentUserId(managerId)
+                .currentUserRole(UserRole.MANAGER)
+                .build();
+    }
+
+    private CalendarAbsenceDto absence(long id, AbsenceRequestStatus status, LocalDate start, LocalDate end) {
+        return new CalendarAbsenceDto(id, employeeId, "Jane", "Employee", AbsenceRequestType.VACATION, status, start, end);
+    }
+
+    @Test
+    @DisplayName("Sweep counts approved and pending absences per day")
+    void testSweep() {
+        LocalDate first = LocalDate.of(2030, 3, 1);
+        List<CalendarAbsenceDto> absences = List.of(
+                absence(1L, AbsenceRequestStatus.APPROVED, first.minusDays(3), first.plusDays(1)),
+                absence(2L, AbsenceRequestStatus.PENDING, first.plusDays(1), first.plusDays(2)));
+
+        List<CalendarDayDto> days = TeamCalendarService.sweep(absences, first, first.plusDays(3));
+
+        assertThat(days).extracting(CalendarDayDto::getApprovedCount).containsExactly(1, 1, 0, 0);
+        assertThat(days).extracting(CalendarDayDto::getPendingCount).containsExactly(0, 1, 1, 0);
+        assertThat(days.get(1).getRequestIds()).containsExactly(1L, 2L);
+        assertThat(days.get(3).getRequestIds()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Months are cached until a request in them changes")
+    void testMonthCachedAndEvicted() {
+        LocalDate start = LocalDate.of(2030, 3, 10);
+        when(absenceRequestRepository.findCalendarByManager(eq(managerId), any(LocalDate.class), any(LocalDate.class)))
+                .thenReturn(List.of(absence(1L, AbsenceRequestStatus.APPROVED, start, start.plusDays(2))));
+
+        TeamCalendarDto calendar = teamCalendarService.getCalendar(null, null, start, start.plusDays(6), managerContext);
+        teamCalendarService.getCalendar(null, null, start.minusDays(5), start, managerContext);
+
+        assertThat(calendar.getDays()).hasSize(7);
+        assertThat(calendar.getAbsences()).extracting(CalendarAbsenceDto::getRequestId).containsExactly(1L);
+        verify(absenceRequestRepository, times(1)).findCalendarByManager(any(), any(), any());
+
+        User manager = User.builder().id(managerId).build();
+        User employee = User.builder().id(employeeId).department("Engineering").build();
+        employee.setManager(manager);
+        when(userRepository.findById(employeeId)).thenReturn(Optional.of(employee));
+        teamCalendarService.onAbsenceRequestChanged(new AbsenceRequestChangedEvent(
+                2L, employeeId, start, start, AbsenceRequestStatus.PENDING));
+
+        teamCalendarService.getCalendar(null, null, start, start, managerContext);
+        verify(absenceRequestRepository, times(2)).findCalendarByManager(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Manager cannot view another manager's team")
+    void testManagerCannotViewOtherTeam() {
+        assertThatThrownBy(() -> teamCalendarService.getCalendar(
+                UUID.randomUUID(), null, LocalDate.now(), LocalDate.now().plusDays(7), managerContext))
+                .isInstanceOf(UnauthorizedException.class);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.hrcore.service;
+
+import com.example.hrcore.dto.PurgeResult;
+import com.example.hrcore.repository.ValidTokenRepository;
+import com.example.hrcore.session.ActiveSessionCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenService Tests")
+class TokenServiceTest {
+
+    private static final PurgeService.PurgeTarget VALID_TOKENS =
+            new PurgeService.PurgeTarget("valid_tokens", "expires_at");
+    private static final PurgeService.PurgeTarget INVALID_TOKENS =
+            new PurgeService.PurgeTarget("invalid_tokens", "expires_at");
+
+    @Mock
+    private ValidTokenRepository validTokenRepository;
+
+    @Mock
+    private PurgeService purgeService;
+
+    @Mock
+    private ActiveSessionCounter activeSessionCounter;
+
+    @InjectMocks
+    private TokenService tokenService;
+
+    private static PurgeResult result(String table, long rows) {
+        return PurgeResult.builder().target(table).rowsDeleted(rows).batches(1).build();
+    }
+
+    @Test
+    @DisplayName("Cleanup should purge valid and invalid tokens with the same cutoff")
+    void testCleanupPurgesBothTables() {
+        when(purgeService.purge(eq(VALID_TOKENS), any()))
+                .thenReturn(result("valid_tokens", 3));
+        when(purgeService.purge(eq(INVALID_TOKENS), any()))
+                .thenReturn(result("invalid_tokens", 2));
+
+        List<PurgeResult> results = tokenService.cleanupExpiredTokens();
+
+        assertThat(results).extracting(PurgeResult::getTarget).containsExactly("valid_tokens", "invalid_tokens");
+        assertThat(results).extracting(PurgeResult::getRowsDeleted).containsExactly(3L, 2L);
+        ArgumentCaptor<LocalDateTime> cutoffs = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(purgeService, times(2)).purge(any(), cutoffs.capture());
+        assertThat(cutoffs.getAllValues().get(0)).isEqualTo(cutoffs.getAllValues().get(1));
+    }
+
+    @Test
+    @DisplayName("Async cleanup should complete with the purge results")
+    void testCleanupAsync() {
+        when(purgeService.purge(any(), any())).thenReturn(result("valid_tokens", 4), result("invalid_tokens", 0));
+
+        CompletableFuture<List<PurgeResult>> future = tokenService.cleanupExpiredTokensAsync();
+
+        assertThat(future).isCompleted();
+        assertThat(future.join()).extracting(PurgeResult::getRowsDeleted).containsExactly(4L, 0L);
+    }
+
+    @Test
+    @DisplayName("Cleanup is running while either table is being purged")
+    void testIsCleanupRunning() {
+        when(purgeService.isRunning(eq(VALID_TOKENS))).thenReturn(false);
+        when(purgeService.isRunning(eq(INVALID_TOKENS))).thenReturn(true);
+
+        assertThat(tokenService.isCleanupRunning()).isTrue();
+    }
+}
@@ -0,0 +1,186 @@
+package com.example.hrcore.session;
+
+import com.example.hrcore.dto.ActiveSessionDto;
+import com.example.hrcore.dto.ActiveSessionStatsDto;
+import com.example.hrcore.entity.enums.UserRole;
+import com.example.hrcore.repository.ValidTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ActiveSessionCounter Tests")
+class ActiveSessionCounterTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValidTokenRepository validTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ActiveSessionCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        counter = new ActiveSessionCounter(redisTemplate, validTokenRepository, meterRegistry);
+        ReflectionTestUtils.setField(counter, "redisEnabled", false);
+        ReflectionTestUtils.setField(counter, "gaugeCacheMs", 0L);
+        counter.registerGauges();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should count sessions in total, per role and per department")
+    void testCountsSessions() {
+        LocalDateTime inAnHour = LocalDateTime.now().plusHours(1);
+        counter.sessionStarted("a", UserRole.EMPLOYEE, "Engineering", inAnHour);
+        counter.sessionStarted("b", UserRole.EMPLOYEE, "Engineering", inAnHour);
+        counter.sessionStarted("c", UserRole.MANAGER, null, inAnHour);
+        counter.sessionStarted("d", UserRole.EMPLOYEE, "Sales", LocalDateTime.now().minusMinutes(1));
+
+        ActiveSessionStatsDto stats = counter.getStats();
+
+        assertThat(stats.getTotal()).isEqualTo(3);
+        assertThat(stats.getByRole()).containsEntry("EMPLOYEE", 2L).containsEntry("MANAGER", 1L).containsEntry("SUPER_ADMIN", 0L);
+        assertThat(stats.getByDepartment()).containsEntry("Engineering", 2L).containsEntry("Unassigned", 1L)
+                .doesNotContainKey("Sales");
+        assertThat(stats.getSource()).isEqualTo("local");
+        assertThat(meterRegistry.get("sessions.active").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("sessions.active.by.role").tag("role", "EMPLOYEE").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("sessions.active.by.department").tag("department", "Engineering").gauge().value())
+                .isEqualTo(2);
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("Should stop counting invalidated sessions")
+    void testSessionEnded() {
+        LocalDateTime inAnHour = LocalDateTime.now().plusHours(1);
+        counter.sessionStarted("a", UserRole.EMPLOYEE, "Engineering", inAnHour);
+        counter.sessionStarted("b", UserRole.EMPLOYEE, "Engineering", inAnHour);
+        counter.sessionStarted("c", UserRole.MANAGER, "Engineering", inAnHour);
+
+        counter.sessionEnded("a");
+        counter.sessionsEnded(List.of("b", "c"));
+
+        assertThat(counter.getStats().getTotal()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should apply changes only after the surrounding transaction commits")
+    void testWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        counter.sessionStarted("a", UserRole.EMPLOYEE, "Engineering", LocalDateTime.now().plusHours(1));
+
+        assertThat(counter.getStats().getTotal()).isZero();
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(counter.getStats().getTotal()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should rebuild the counters from unexpired tokens")
+    void testRebuild() {
+        LocalDateTime inAnHour = LocalDateTime.now().plusHours(1);
+        when(validTokenRepository.streamActiveSessions(any())).thenReturn(Stream.of(
+                new ActiveSessionDto("a", UserRole.EMPLOYEE, "Sales", inAnHour),
+                new ActiveSessionDto("b", UserRole.SUPER_ADMIN, null, inAnHour)));
+
+        counter.rebuild();
+
+        ActiveSessionStatsDto stats = counter.getStats();
+        assertThat(stats.getTotal()).isEqualTo(2);
+        assertThat(stats.getByRole()).containsEntry("SUPER_ADMIN", 1L);
+        assertThat(stats.getByDepartment()).containsEntry("Sales", 1L);
+    }
+
+    @Test
+    @DisplayName("Should resync Redis with the sessions started and ended while it was unreachable")
+    @SuppressWarnings("unchecked")
+    void testResyncAfterRedisOutage() {
+        ReflectionTestUtils.setField(counter, "redisEnabled", true);
+        ReflectionTestUtils.setField(counter, "redisRetryAfterMs", 60_000L);
+        LocalDateTime inAnHour = LocalDateTime.now().plusHours(1);
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"))
+                .thenReturn(List.of());
+
+        counter.sessionStarted("a", UserRole.EMPLOYEE, "Sales", inAnHour);
+        counter.sessionEnded("b");
+
+        // Back-off over and Redis answers again
+        HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.multiGet(eq("sessions:active:meta"), any())).thenReturn(Arrays.asList((Object) null));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn("PONG");
+        when(validTokenRepository.streamActiveSessions(any())).thenReturn(Stream.of(
+                new ActiveSessionDto("a", UserRole.EMPLOYEE, "Sales", inAnHour)));
+        ReflectionTestUtils.setField(counter, "redisRetryAtNanos", System.nanoTime());
+
+        counter.resync();
+        counter.resync();
+
+        verify(hashOperations).multiGet("sessions:active:meta", List.of("b"));
+        verify(validTokenRepository, times(1)).streamActiveSessions(any());
+        // The failed add, the replayed removal and the rebuild
+        verify(redisTemplate, times(3)).executePipelined(any(RedisCallback.class));
+        verify(redisTemplate, times(1)).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("Should keep the resync pending while Redis still does not answer")
+    @SuppressWarnings("unchecked")
+    void testResyncWaitsForRedis() {
+        ReflectionTestUtils.setField(counter, "redisEnabled", true);
+        ReflectionTestUtils.setField(counter, "redisRetryAfterMs", 0L);
+        LocalDateTime inAnHour = LocalDateTime.now().plusHours(1);
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"))
+                .thenReturn(List.of());
+        when(redisTemplate.execute(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("Connection refused"))
+                .thenReturn("PONG");
+        when(validTokenRepository.streamActiveSessions(any())).thenReturn(Stream.of(
+                new ActiveSessionDto("a", UserRole.EMPLOYEE, "Sales", inAnHour)));
+
+        counter.sessionStarted("a", UserRole.EMPLOYEE, "Sales", inAnHour);
+        counter.resync();
+
+        verifyNoInteractions(validTokenRepository);
+
+        counter.resync();
+
+        verify(validTokenRepository).streamActiveSessions(any());
+        verify(redisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+    }
+}